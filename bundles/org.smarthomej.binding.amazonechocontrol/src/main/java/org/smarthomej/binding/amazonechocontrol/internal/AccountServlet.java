@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import javax.net.ssl.HttpsURLConnection;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -33,6 +32,8 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentResponse;
 import org.openhab.core.thing.Thing;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
@@ -81,12 +82,15 @@ public class AccountServlet extends HttpServlet {
     private final String id;
     private @Nullable Connection connectionToInitialize;
     private final Gson gson;
+    private final HttpClient httpClient;
 
-    public AccountServlet(HttpService httpService, String id, AccountHandler account, Gson gson) {
+    public AccountServlet(HttpService httpService, String id, AccountHandler account, Gson gson,
+            HttpClient httpClient) {
         this.httpService = httpService;
         this.account = account;
         this.id = id;
         this.gson = gson;
+        this.httpClient = httpClient;
 
         try {
             servletUrlWithoutRoot = "amazonechocontrol/" + URLEncoder.encode(id, StandardCharsets.UTF_8);
@@ -103,7 +107,7 @@ public class AccountServlet extends HttpServlet {
         if (oldConnection == null) {
             oldConnection = account.findConnection();
         }
-        return new Connection(oldConnection, this.gson);
+        return new Connection(oldConnection, this.gson, httpClient);
     }
 
     public void dispose() {
@@ -156,7 +160,7 @@ public class AccountServlet extends HttpServlet {
             }
             String domain = domainArray[0];
             String loginData = connection.getLoginData().serializeLoginData();
-            Connection newConnection = new Connection(null, this.gson);
+            Connection newConnection = new Connection(null, this.gson, httpClient);
             if (newConnection.tryRestoreLogin(loginData, domain)) {
                 account.setConnection(newConnection);
             }
@@ -287,7 +291,7 @@ public class AccountServlet extends HttpServlet {
                 }
                 // handle commands
                 if ("/newdevice".equals(baseUrl) || "/newdevice/".equals(baseUrl)) {
-                    this.connectionToInitialize = new Connection(null, this.gson);
+                    this.connectionToInitialize = new Connection(null, this.gson, httpClient);
                     this.account.setConnection(null);
                     resp.sendRedirect(this.servletUrl);
                     return;
@@ -622,17 +626,17 @@ public class AccountServlet extends HttpServlet {
 
     void handleProxyRequest(Connection connection, HttpServletResponse resp, String verb, String url,
             @Nullable String referer, @Nullable String postData, boolean json, String site) throws IOException {
-        HttpsURLConnection urlConnection;
+        ContentResponse response;
         try {
             Map<String, String> headers = new HashMap<>();
             if (referer != null) {
                 headers.put("Referer", referer);
             }
 
-            urlConnection = connection.makeRequest(verb, url, postData, json, false, headers, 0);
-            if (urlConnection.getResponseCode() == 302) {
+            response = connection.makeRequest(verb, url, postData, json, false, headers, 0);
+            if (response.getStatus() == 302) {
                 {
-                    String location = urlConnection.getHeaderField("location");
+                    String location = response.getHeaders().get("location");
                     if (location.contains("/ap/maplanding")) {
                         try {
                             connection.registerConnectionAsApp(location);
@@ -670,8 +674,7 @@ public class AccountServlet extends HttpServlet {
                     return;
                 }
             }
-            String response = connection.convertStream(urlConnection);
-            returnHtml(connection, resp, response, site);
+            returnHtml(connection, resp, response.getContentAsString(), site);
         } catch (ConnectionException | InterruptedException e) {
             returnError(resp, e.getLocalizedMessage());
         }
@@ -21,6 +21,7 @@ import java.util.Set;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.util.HttpCookieStore;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.openhab.core.storage.Storage;
 import org.openhab.core.storage.StorageService;
@@ -75,6 +76,9 @@ public class AmazonEchoControlHandlerFactory extends BaseThingHandlerFactory {
         this.dynamicCommandDescriptionProvider = dynamicCommandDescriptionProvider;
         this.dynamicStateDescriptionProvider = dynamicStateDescriptionProvider;
         this.httpClient = new HttpClient(new SslContextFactory.Client());
+        // cookies are handled per account by the connection
+        httpClient.setCookieStore(new HttpCookieStore.Empty());
+        httpClient.setFollowRedirects(false);
         this.bindingServlet = new BindingServlet(httpService);
 
         httpClient.start();
@@ -14,13 +14,10 @@
 package org.smarthomej.binding.amazonechocontrol.internal.connection;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.CookieManager;
 import java.net.HttpCookie;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -36,26 +33,32 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
-import java.util.zip.GZIPInputStream;
-
-import javax.net.ssl.HttpsURLConnection;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpContentResponse;
+import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.StringContentProvider;
+import org.eclipse.jetty.http.HttpField;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
@@ -140,7 +143,17 @@ import com.google.gson.JsonSyntaxException;
 public class Connection {
     private static final String THING_THREADPOOL_NAME = "thingHandler";
     private static final long EXPIRES_IN = 432000; // five days
-    private static final Pattern CHARSET_PATTERN = Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]*)");
+    private static final int MAX_RESPONSE_SIZE = 16 * 1024 * 1024;
+    private static final long DEFAULT_REQUEST_TIMEOUT = 15000; // in ms
+    private static final long RETRY_DELAY = 2000; // in ms
+    private static final int SMART_HOME_STATE_REQUESTS_PER_CALL = 50;
+    private static final Map<String, Long> ENDPOINT_TIMEOUTS = Map.of( //
+            "/api/np/", 5000L, // player state is requested often and only useful if up-to-date
+            "/api/media/state", 5000L, //
+            "/api/phoenix/state", 10000L, //
+            "/api/behaviors/preview", 30000L, // sequences may take long to be accepted
+            "/ap/", 30000L, // login
+            "/auth/", 30000L); // app registration and token exchange
     private static final String USER_AGENT = "AmazonWebView/Amazon Alexa/2.2.443692.0/iOS/14.8/iPhone";
 
     private final Logger logger = LoggerFactory.getLogger(Connection.class);
@@ -148,6 +161,7 @@ public class Connection {
     protected final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THING_THREADPOOL_NAME);
 
     private final CookieManager cookieManager = new CookieManager();
+    private final HttpClient httpClient;
     private final Gson gson;
     private final Gson gsonWithNullSerialization;
 
@@ -177,8 +191,9 @@ public class Connection {
         TEXT_COMMAND
     }
 
-    public Connection(@Nullable Connection oldConnection, Gson gson) {
+    public Connection(@Nullable Connection oldConnection, Gson gson, HttpClient httpClient) {
         this.gson = gson;
+        this.httpClient = httpClient;
         if (oldConnection != null) {
             this.loginData = new LoginData(cookieManager, oldConnection.getDeviceId(), oldConnection.getFrc(),
                     oldConnection.getSerial());
@@ -312,13 +327,12 @@ public class Connection {
     }
 
     private @Nullable Authentication tryGetBootstrap() throws ConnectionException {
-        HttpsURLConnection connection = makeRequest("GET", alexaServer + "/api/bootstrap", null, false, false, Map.of(),
-                0);
-        String contentType = connection.getContentType();
+        ContentResponse response = makeRequest("GET", alexaServer + "/api/bootstrap", null, false, false, Map.of(), 0);
+        String mediaType = response.getMediaType();
         try {
-            if (connection.getResponseCode() == 200 && contentType != null
-                    && contentType.toLowerCase().startsWith("application/json")) {
-                String bootstrapResultJson = convertStream(connection);
+            if (response.getStatus() == 200 && mediaType != null
+                    && mediaType.toLowerCase().startsWith("application/json")) {
+                String bootstrapResultJson = response.getContentAsString();
                 JsonBootstrapResult result = parseJson(bootstrapResultJson, JsonBootstrapResult.class);
                 if (result != null) {
                     Authentication authentication = result.authentication;
@@ -334,93 +348,155 @@ public class Connection {
         } catch (JsonSyntaxException | IllegalStateException e) {
             logger.info("No valid json received", e);
             return null;
-        } catch (IOException e) {
-            throw new ConnectionException(e.getMessage(), e);
         }
         return null;
     }
 
-    public String convertStream(HttpsURLConnection connection) throws ConnectionException {
-        try (InputStream input = connection.getInputStream()) {
-            if (input == null) {
-                return "";
-            }
-
-            InputStream readerStream;
-            if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
-                readerStream = new GZIPInputStream(input);
-            } else {
-                readerStream = input;
-            }
-            String contentType = connection.getContentType();
-            String charSet = StandardCharsets.UTF_8.name();
-
-            if (contentType != null) {
-                Matcher m = CHARSET_PATTERN.matcher(contentType);
-                if (m.find()) {
-                    String foundCharset = m.group(1).trim().toUpperCase();
-                    if (!foundCharset.isEmpty()) {
-                        charSet = foundCharset;
-                    }
-                }
-            }
-
-            Scanner inputScanner = new Scanner(readerStream, charSet);
-            Scanner scannerWithoutDelimiter = inputScanner.useDelimiter("\\A");
-            String result = scannerWithoutDelimiter.hasNext() ? scannerWithoutDelimiter.next() : "";
-            inputScanner.close();
-            scannerWithoutDelimiter.close();
-            input.close();
-
-            return result;
-        } catch (IOException e) {
-            throw new ConnectionException(e.getMessage(), e);
-        }
-    }
-
     public String makeRequestAndReturnString(String url) throws ConnectionException {
         return makeRequestAndReturnString("GET", url, null, false, Map.of());
     }
 
     public String makeRequestAndReturnString(String requestMethod, String url, @Nullable String postData, boolean json,
             Map<String, String> customHeaders) throws ConnectionException {
-        HttpsURLConnection connection = makeRequest(requestMethod, url, postData, json, true, customHeaders, 3);
-        String result = convertStream(connection);
+        ContentResponse response = makeRequest(requestMethod, url, postData, json, true, customHeaders, 3);
+        String result = response.getContentAsString();
         logger.trace("Result of {} {}:{}", requestMethod, url, result);
         return result;
     }
 
-    public HttpsURLConnection makeRequest(String requestMethod, String url, @Nullable String postData, boolean json,
+    /**
+     * make a request and wait for the result
+     *
+     * @see #makeRequestAsync(String, String, String, boolean, boolean, Map, int)
+     */
+    public ContentResponse makeRequest(String requestMethod, String url, @Nullable String postData, boolean json,
             boolean autoredirect, Map<String, String> customHeaders, int badRequestRepeats) throws ConnectionException {
-        String currentUrl = url;
-        int redirectCounter = 0;
-        int retryCounter = 0;
-        // loop for handling redirect and bad request, using automatic redirect is not
-        // possible, because all response headers must be catched
-        while (true) {
-            int code;
-            HttpsURLConnection connection = null;
+        return waitForResponse(
+                makeRequestAsync(requestMethod, url, postData, json, autoredirect, customHeaders, badRequestRepeats),
+                url, badRequestRepeats);
+    }
+
+    /**
+     * wait for the response of an asynchronous request
+     *
+     * The waiting time is limited, so that a caller is never blocked forever (e.g. if the retry of the request can't
+     * be executed).
+     *
+     * @param future the future of the request
+     * @param url the url of the request
+     * @param badRequestRepeats number of repetitions for failed requests
+     * @return the response
+     * @throws ConnectionException if the request failed or timed out
+     */
+    private ContentResponse waitForResponse(CompletableFuture<ContentResponse> future, String url,
+            int badRequestRepeats) throws ConnectionException {
+        long maximumDuration = (badRequestRepeats + 1) * (getRequestTimeout(url) + RETRY_DELAY);
+        try {
+            return future.get(maximumDuration, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            }
+            throw new ConnectionException("Request failed", cause);
+        } catch (TimeoutException e) {
+            // prevent further repetitions of the request
+            future.cancel(false);
+            throw new ConnectionException("Request to url '" + url + "' timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionException("Request interrupted", e);
+        }
+    }
+
+    /**
+     * make a request without blocking the calling thread
+     *
+     * Redirects are followed (if requested) and failed requests are repeated after a delay. The response headers of
+     * all requests (including redirects) are evaluated for cookies.
+     *
+     * @param requestMethod the HTTP method
+     * @param url the url
+     * @param postData the request content (or <code>null</code> if no content shall be sent)
+     * @param json <code>true</code> if the content is JSON, <code>false</code> for form data
+     * @param autoredirect <code>true</code> if redirects shall be followed
+     * @param customHeaders additional request headers
+     * @param badRequestRepeats number of repetitions for failed requests
+     * @return a future that is completed with the response or exceptionally with a {@link ConnectionException}
+     */
+    public CompletableFuture<ContentResponse> makeRequestAsync(String requestMethod, String url,
+            @Nullable String postData, boolean json, boolean autoredirect, Map<String, String> customHeaders,
+            int badRequestRepeats) {
+        CompletableFuture<ContentResponse> future = new CompletableFuture<>();
+        new RequestExecution(requestMethod, url, postData, json, autoredirect, customHeaders, badRequestRepeats,
+                future).send(url);
+        return future;
+    }
+
+    private long getRequestTimeout(String url) {
+        try {
+            return getRequestTimeout(new URI(url));
+        } catch (URISyntaxException e) {
+            return DEFAULT_REQUEST_TIMEOUT;
+        }
+    }
+
+    private long getRequestTimeout(URI uri) {
+        String path = Objects.requireNonNullElse(uri.getPath(), "");
+        return ENDPOINT_TIMEOUTS.entrySet().stream().filter(e -> path.startsWith(e.getKey())).map(Map.Entry::getValue)
+                .findAny().orElse(DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * The {@link RequestExecution} holds the state of a request over all redirects and repetitions
+     */
+    private class RequestExecution {
+        private final String requestMethod;
+        private final String url;
+        private final @Nullable String postData;
+        private final boolean json;
+        private final boolean autoredirect;
+        private final Map<String, String> customHeaders;
+        private final int badRequestRepeats;
+        private final CompletableFuture<ContentResponse> future;
+
+        private int redirectCounter = 0;
+        private int retryCounter = 0;
+
+        public RequestExecution(String requestMethod, String url, @Nullable String postData, boolean json,
+                boolean autoredirect, Map<String, String> customHeaders, int badRequestRepeats,
+                CompletableFuture<ContentResponse> future) {
+            this.requestMethod = requestMethod;
+            this.url = url;
+            this.postData = postData;
+            this.json = json;
+            this.autoredirect = autoredirect;
+            this.customHeaders = customHeaders;
+            this.badRequestRepeats = badRequestRepeats;
+            this.future = future;
+        }
+
+        private void send(String currentUrl) {
+            if (future.isDone()) {
+                // cancelled because the caller is no longer waiting
+                return;
+            }
             try {
                 logger.debug("Make request to {}", url);
-                connection = (HttpsURLConnection) new URL(currentUrl).openConnection();
-                connection.setRequestMethod(requestMethod);
-                connection.setRequestProperty("Accept-Language", "en-US");
-                if (!customHeaders.containsKey("User-Agent")) {
-                    connection.setRequestProperty("User-Agent", USER_AGENT);
-                }
-                connection.setRequestProperty("Accept-Encoding", "gzip");
-                connection.setRequestProperty("DNT", "1");
-                connection.setRequestProperty("Upgrade-Insecure-Requests", "1");
+                URI uri = new URI(currentUrl);
+                Request request = httpClient.newRequest(uri).method(requestMethod).followRedirects(false)
+                        .timeout(getRequestTimeout(uri), TimeUnit.MILLISECONDS);
+                request.header("Accept-Language", "en-US");
+                request.agent(customHeaders.getOrDefault("User-Agent", USER_AGENT));
+                request.header("DNT", "1");
+                request.header("Upgrade-Insecure-Requests", "1");
                 for (Map.Entry<String, String> header : customHeaders.entrySet()) {
-                    if (!header.getValue().isEmpty()) {
-                        connection.setRequestProperty(header.getKey(), header.getValue());
+                    if (!header.getValue().isEmpty() && !"User-Agent".equals(header.getKey())) {
+                        request.header(header.getKey(), header.getValue());
                     }
                 }
-                connection.setInstanceFollowRedirects(false);
 
                 // add cookies
-                URI uri = connection.getURL().toURI();
-
                 if (!customHeaders.containsKey("Cookie")) {
                     StringBuilder cookieHeaderBuilder = new StringBuilder();
                     for (HttpCookie cookie : cookieManager.getCookieStore().get(uri)) {
@@ -431,107 +507,120 @@ public class Connection {
                         cookieHeaderBuilder.append("=");
                         cookieHeaderBuilder.append(cookie.getValue());
                         if (cookie.getName().equals("csrf")) {
-                            connection.setRequestProperty("csrf", cookie.getValue());
+                            request.header("csrf", cookie.getValue());
                         }
-
                     }
                     if (cookieHeaderBuilder.length() > 0) {
-                        String cookies = cookieHeaderBuilder.toString();
-                        connection.setRequestProperty("Cookie", cookies);
+                        request.header("Cookie", cookieHeaderBuilder.toString());
                     }
                 }
+                String postData = this.postData;
                 if (postData != null) {
                     logger.debug("{}: {}", requestMethod, postData);
-                    // post data
-                    byte[] postDataBytes = postData.getBytes(StandardCharsets.UTF_8);
-                    int postDataLength = postDataBytes.length;
-
-                    connection.setFixedLengthStreamingMode(postDataLength);
-
-                    if (json) {
-                        connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-                    } else {
-                        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-                    }
-                    connection.setRequestProperty("Content-Length", Integer.toString(postDataLength));
+                    String contentType = json ? "application/json; charset=UTF-8"
+                            : "application/x-www-form-urlencoded";
+                    request.content(new StringContentProvider(contentType, postData, StandardCharsets.UTF_8));
                     if ("POST".equals(requestMethod)) {
-                        connection.setRequestProperty("Expect", "100-continue");
+                        request.header("Expect", "100-continue");
                     }
-
-                    connection.setDoOutput(true);
-                    OutputStream outputStream = connection.getOutputStream();
-                    outputStream.write(postDataBytes);
-                    outputStream.close();
                 }
-                // handle result
-                code = connection.getResponseCode();
-                String location = null;
-
-                // handle response headers
-                Map<@Nullable String, List<String>> headerFields = connection.getHeaderFields();
-                for (Map.Entry<@Nullable String, List<String>> header : headerFields.entrySet()) {
-                    String key = header.getKey();
-                    if (key != null && !key.isEmpty()) {
-                        if ("Set-Cookie".equalsIgnoreCase(key)) {
-                            // store cookie
-                            for (String cookieHeader : header.getValue()) {
-                                if (!cookieHeader.isEmpty()) {
-                                    List<HttpCookie> cookies = HttpCookie.parse(cookieHeader);
-                                    for (HttpCookie cookie : cookies) {
-                                        cookieManager.getCookieStore().add(uri, cookie);
-                                    }
-                                }
-                            }
+
+                request.send(new BufferingResponseListener(MAX_RESPONSE_SIZE) {
+                    @Override
+                    public void onComplete(@Nullable Result result) {
+                        if (result == null) {
+                            return;
                         }
-                        if ("Location".equalsIgnoreCase(key)) {
-                            // get redirect location
-                            location = header.getValue().get(0);
-                            if (!location.isEmpty()) {
-                                location = uri.resolve(location).toString();
-                                // check for https
-                                if (location.toLowerCase().startsWith("http://")) {
-                                    // always use https
-                                    location = "https://" + location.substring(7);
-                                    logger.debug("Redirect corrected to {}", location);
-                                }
-                            }
+                        Throwable failure = result.getFailure();
+                        if (failure != null) {
+                            fail(new ConnectionException("Request failed", failure));
+                            return;
                         }
+                        handleResponse(uri, new HttpContentResponse(result.getResponse(), getContent(),
+                                getMediaType(), getEncoding()));
                     }
-                }
-                if (code == 200) {
-                    logger.debug("Call to {} succeeded", url);
-                    return connection;
-                } else if (code == 301 || code == 302 && location != null) {
-                    logger.debug("Redirected to {}", location);
-                    redirectCounter++;
-                    if (redirectCounter > 30) {
-                        throw new ConnectionException("Too many redirects");
+                });
+            } catch (URISyntaxException | RuntimeException e) {
+                fail(new ConnectionException("Request failed", e));
+            }
+        }
+
+        private void handleResponse(URI uri, ContentResponse response) {
+            int code = response.getStatus();
+            String location = null;
+
+            // handle response headers
+            for (HttpField header : response.getHeaders()) {
+                String key = header.getName();
+                if ("Set-Cookie".equalsIgnoreCase(key)) {
+                    // store cookie
+                    String cookieHeader = header.getValue();
+                    if (cookieHeader != null && !cookieHeader.isEmpty()) {
+                        try {
+                            for (HttpCookie cookie : HttpCookie.parse(cookieHeader)) {
+                                cookieManager.getCookieStore().add(uri, cookie);
+                            }
+                        } catch (IllegalArgumentException e) {
+                            logger.debug("Ignoring invalid cookie '{}': {}", cookieHeader, e.getMessage());
+                        }
                     }
-                    currentUrl = location;
-                    if (autoredirect) {
-                        continue; // repeat with new location
+                } else if ("Location".equalsIgnoreCase(key) && location == null) {
+                    // get redirect location
+                    location = header.getValue();
+                    if (location != null && !location.isEmpty()) {
+                        location = uri.resolve(location).toString();
+                        // check for https
+                        if (location.toLowerCase().startsWith("http://")) {
+                            // always use https
+                            location = "https://" + location.substring(7);
+                            logger.debug("Redirect corrected to {}", location);
+                        }
                     }
-                    return connection;
-                } else if (code == 400 && "QUEUE_EXPIRED".equals(connection.getHeaderField("x-amzn-error"))) {
-                    // handle queue expired
-                    throw new ConnectionException("Queue expired");
+                }
+            }
+
+            if (code == 200) {
+                logger.debug("Call to {} succeeded", url);
+                future.complete(response);
+            } else if (code == 301 || code == 302 && location != null) {
+                logger.debug("Redirected to {}", location);
+                redirectCounter++;
+                if (redirectCounter > 30) {
+                    fail(new ConnectionException("Too many redirects"));
+                } else if (autoredirect && location != null) {
+                    send(location); // repeat with new location
                 } else {
-                    logger.debug("Retry call to {}", url);
-                    retryCounter++;
-                    if (retryCounter > badRequestRepeats) {
-                        throw new ConnectionException(requestMethod + " url '" + url + "' failed with code " + code
-                                + ": " + connection.getResponseMessage());
-                    }
-                    Thread.sleep(2000);
+                    future.complete(response);
                 }
-            } catch (Exception e) {
-                if (connection != null) {
-                    connection.disconnect();
+            } else if (code == 400 && "QUEUE_EXPIRED".equals(response.getHeaders().get("x-amzn-error"))) {
+                // handle queue expired
+                fail(new ConnectionException("Queue expired"));
+            } else {
+                logger.debug("Retry call to {}", url);
+                retryCounter++;
+                if (retryCounter > badRequestRepeats) {
+                    fail(new ConnectionException(requestMethod + " url '" + url + "' failed with code " + code + ": "
+                            + response.getReason()));
+                } else {
+                    // the delay is handled by the scheduler of the HTTP client, it does not block a thread of the
+                    // (shared) thing handler pool, which may be exhausted by callers waiting for their responses
+                    try {
+                        if (!httpClient.isRunning()) {
+                            throw new RejectedExecutionException("HTTP client is stopped");
+                        }
+                        httpClient.getScheduler().schedule(() -> send(uri.toString()), RETRY_DELAY,
+                                TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        fail(new ConnectionException("Could not schedule retry", e));
+                    }
                 }
-                logger.debug("Request to url '{}' fails:", url, e);
-                throw new ConnectionException("Request failed", e);
             }
         }
+
+        private void fail(ConnectionException e) {
+            logger.debug("Request to url '{}' fails:", url, e);
+            future.completeExceptionally(e);
+        }
     }
 
     public void registerConnectionAsApp(String oAutRedirectUrl)
@@ -863,43 +952,82 @@ public class Connection {
         return json;
     }
 
+    /**
+     * get the capability states of smart home devices
+     *
+     * Large device lists are split into several requests which are processed in parallel. Devices in failed requests
+     * are missing in the result.
+     *
+     * @param devices the devices that shall be requested
+     * @return a map of appliance ids to capability states
+     * @throws ConnectionException if all requests failed
+     */
     public Map<String, JsonArray> getSmartHomeDeviceStatesJson(Set<SmartHomeBaseDevice> devices)
             throws ConnectionException {
-        JsonObject requestObject = new JsonObject();
-        JsonArray stateRequests = new JsonArray();
+        List<JsonObject> stateRequests = new ArrayList<>();
         Map<String, String> mergedApplianceMap = new HashMap<>();
         for (SmartHomeBaseDevice device : devices) {
             String applianceId = device.findId();
             if (applianceId != null) {
-                JsonObject stateRequest;
                 if (device instanceof JsonSmartHomeDevice
                         && ((JsonSmartHomeDevice) device).mergedApplianceIds != null) {
                     List<String> mergedApplianceIds = Objects
                             .requireNonNullElse(((JsonSmartHomeDevice) device).mergedApplianceIds, List.of());
                     for (String idToMerge : mergedApplianceIds) {
                         mergedApplianceMap.put(idToMerge, applianceId);
-                        stateRequest = new JsonObject();
-                        stateRequest.addProperty("entityId", idToMerge);
-                        stateRequest.addProperty("entityType", "APPLIANCE");
-                        stateRequests.add(stateRequest);
+                        stateRequests.add(createStateRequest(idToMerge));
                     }
                 } else {
-                    stateRequest = new JsonObject();
-                    stateRequest.addProperty("entityId", applianceId);
-                    stateRequest.addProperty("entityType", "APPLIANCE");
-                    stateRequests.add(stateRequest);
+                    stateRequests.add(createStateRequest(applianceId));
                 }
             }
         }
-        requestObject.add("stateRequests", stateRequests);
-        String requestBody = requestObject.toString();
-        String json = makeRequestAndReturnString("POST", alexaServer + "/api/phoenix/state", requestBody, true,
-                Map.of());
-        logger.trace("Requested {} and received {}", requestBody, json);
 
+        List<CompletableFuture<ContentResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < stateRequests.size(); i += SMART_HOME_STATE_REQUESTS_PER_CALL) {
+            JsonArray stateRequestChunk = new JsonArray();
+            stateRequests.subList(i, Math.min(i + SMART_HOME_STATE_REQUESTS_PER_CALL, stateRequests.size()))
+                    .forEach(stateRequestChunk::add);
+            JsonObject requestObject = new JsonObject();
+            requestObject.add("stateRequests", stateRequestChunk);
+            futures.add(makeRequestAsync("POST", alexaServer + "/api/phoenix/state", requestObject.toString(), true,
+                    true, Map.of(), 3));
+        }
+
+        Map<String, JsonArray> result = new HashMap<>();
+        ConnectionException failure = null;
+        for (CompletableFuture<ContentResponse> future : futures) {
+            String json;
+            try {
+                json = waitForResponse(future, alexaServer + "/api/phoenix/state", 3).getContentAsString();
+            } catch (ConnectionException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                failure = e;
+                logger.debug("Requesting smart home device states failed: {}", failure.getMessage());
+                continue;
+            }
+            logger.trace("Received smart home device states {}", json);
+            addSmartHomeDeviceStates(json, mergedApplianceMap, result);
+        }
+        if (failure != null && result.isEmpty()) {
+            throw failure;
+        }
+        return result;
+    }
+
+    private JsonObject createStateRequest(String entityId) {
+        JsonObject stateRequest = new JsonObject();
+        stateRequest.addProperty("entityId", entityId);
+        stateRequest.addProperty("entityType", "APPLIANCE");
+        return stateRequest;
+    }
+
+    private void addSmartHomeDeviceStates(String json, Map<String, String> mergedApplianceMap,
+            Map<String, JsonArray> result) {
         JsonObject responseObject = Objects.requireNonNull(gson.fromJson(json, JsonObject.class));
         JsonArray deviceStates = (JsonArray) responseObject.get("deviceStates");
-        Map<String, JsonArray> result = new HashMap<>();
         for (JsonElement deviceState : deviceStates) {
             JsonObject deviceStateObject = deviceState.getAsJsonObject();
             JsonObject entity = deviceStateObject.get("entity").getAsJsonObject();
@@ -920,7 +1048,6 @@ public class Connection {
                 }
             }
         }
-        return result;
     }
 
     public @Nullable JsonPlayerState getPlayer(Device device) throws ConnectionException {
@@ -71,6 +71,7 @@ import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonCommandPayloa
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushDevice.DopplerId;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushNotificationChange;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonCustomerHistoryRecords.CustomerHistoryRecord;
+import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonCustomerHistoryRecords.CustomerHistoryRecord.VoiceHistoryRecordItem;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonDeviceNotificationState.DeviceNotificationState;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonDevices.Device;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonDoNotDisturb.DoNotDisturbDeviceStatus;
@@ -81,6 +82,8 @@ import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonNotificationS
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonPlaylists;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonPushCommand;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonSmartHomeDevice;
+import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonSmartHomeDeviceAlias;
+import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonSmartHomeGroups.SmartHomeGroup;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.JsonWakeWords.WakeWord;
 import org.smarthomej.binding.amazonechocontrol.internal.jsons.SmartHomeBaseDevice;
 import org.smarthomej.binding.amazonechocontrol.internal.smarthome.SmartHomeDeviceStateGroupUpdateCalculator;
@@ -148,13 +151,14 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
         synchronized (synchronizeConnection) {
             Connection connection = this.connection;
             if (connection == null) {
-                this.connection = new Connection(null, gson);
+                this.connection = new Connection(null, gson, httpClient);
             }
         }
 
         if (accountServlet == null) {
             try {
-                accountServlet = new AccountServlet(httpService, this.getThing().getUID().getId(), this, gson);
+                accountServlet = new AccountServlet(httpService, this.getThing().getUID().getId(), this, gson,
+                        httpClient);
             } catch (IllegalStateException e) {
                 logger.warn("Failed to create account servlet", e);
             }
@@ -808,6 +812,7 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
                 String recordKey = customerHistoryRecord.recordKey;
                 String search = key.registeredUserId + "#" + key.entryId;
                 if (recordKey != null && search.equals(recordKey)) {
+                    refreshSmartHomeDevicesForActivity(customerHistoryRecord);
                     String[] splitRecordKey = recordKey.split("#");
                     if (splitRecordKey.length >= 2) {
                         EchoHandler echoHandler = findEchoHandlerBySerialNumber(splitRecordKey[3]);
@@ -825,6 +830,59 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
         refreshData();
     }
 
+    /**
+     * request a state update for the smart home devices that are addressed in a voice command
+     *
+     * Devices are matched by their name or alias. If no device matches but the command was handled as smart home
+     * command, all devices are updated.
+     *
+     * @param customerHistoryRecord the activity record
+     */
+    private void refreshSmartHomeDevicesForActivity(CustomerHistoryRecord customerHistoryRecord) {
+        if (smartHomeDeviceHandlers.isEmpty()) {
+            return;
+        }
+        List<VoiceHistoryRecordItem> voiceHistoryRecordItems = customerHistoryRecord.voiceHistoryRecordItems;
+        if (voiceHistoryRecordItems == null) {
+            return;
+        }
+        String transcript = voiceHistoryRecordItems.stream()
+                .filter(item -> "CUSTOMER_TRANSCRIPT".equals(item.recordItemType)
+                        || "ASR_REPLACEMENT_TEXT".equals(item.recordItemType))
+                .map(item -> Objects.requireNonNullElse(item.transcriptText, "").toLowerCase())
+                .collect(Collectors.joining(" "));
+
+        Set<String> deviceIds = new HashSet<>();
+        for (SmartHomeDeviceHandler smartHomeDeviceHandler : smartHomeDeviceHandlers) {
+            String id = smartHomeDeviceHandler.getId();
+            SmartHomeBaseDevice device = jsonIdSmartHomeDeviceMapping.get(id);
+            if (device != null && getSmartHomeDeviceNames(device).stream().anyMatch(transcript::contains)) {
+                deviceIds.add(id);
+            }
+        }
+        String domain = customerHistoryRecord.domain;
+        if (deviceIds.isEmpty() && domain != null && domain.toLowerCase().contains("smarthome")) {
+            smartHomeDeviceHandlers.forEach(handler -> deviceIds.add(handler.getId()));
+        }
+        logger.debug("Voice command '{}' requests update of smart home devices {}", transcript, deviceIds);
+        deviceIds.forEach(this::forceDelayedSmartHomeStateUpdate);
+    }
+
+    private Set<String> getSmartHomeDeviceNames(SmartHomeBaseDevice device) {
+        Set<String> names = new HashSet<>();
+        if (device instanceof JsonSmartHomeDevice) {
+            JsonSmartHomeDevice smartHomeDevice = (JsonSmartHomeDevice) device;
+            names.add(Objects.requireNonNullElse(smartHomeDevice.friendlyName, ""));
+            List<JsonSmartHomeDeviceAlias> aliases = smartHomeDevice.aliases;
+            if (aliases != null) {
+                aliases.forEach(alias -> names.add(Objects.requireNonNullElse(alias.friendlyName, "")));
+            }
+        } else if (device instanceof SmartHomeGroup) {
+            names.add(Objects.requireNonNullElse(((SmartHomeGroup) device).applianceGroupName, ""));
+        }
+        return names.stream().filter(name -> !name.isBlank()).map(String::toLowerCase).collect(Collectors.toSet());
+    }
+
     private @Nullable SmartHomeBaseDevice findSmartHomeDeviceJson(SmartHomeDeviceHandler handler) {
         String id = handler.getId();
         if (!id.isEmpty()) {
@@ -899,21 +957,31 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
             this.refreshSmartHomeAfterCommandJob = null;
         }
 
-        deviceUpdates.forEach(this::updateSmartHomeState);
+        if (!deviceUpdates.isEmpty()) {
+            updateSmartHomeState(deviceUpdates);
+        }
     }
 
-    private synchronized void updateSmartHomeState(@Nullable String deviceFilterId) {
+    /**
+     * update the state of smart home devices
+     *
+     * @param deviceFilterIds the ids of the devices that shall be updated or <code>null</code> for a periodic update of
+     *            all devices that are due
+     */
+    private synchronized void updateSmartHomeState(@Nullable Set<String> deviceFilterIds) {
         try {
-            logger.trace("updateSmartHomeState started with deviceFilterId={}", deviceFilterId);
+            logger.trace("updateSmartHomeState started with deviceFilterIds={}", deviceFilterIds);
             Connection connection = this.connection;
             if (connection == null || !connection.getIsLoggedIn()) {
                 return;
             }
             List<SmartHomeBaseDevice> allDevices = getLastKnownSmartHomeDevices();
             Set<SmartHomeBaseDevice> targetDevices = new HashSet<>();
-            if (deviceFilterId != null) {
-                allDevices.stream().filter(d -> deviceFilterId.equals(d.findId())).findFirst()
-                        .ifPresent(targetDevices::add);
+            if (deviceFilterIds != null) {
+                allDevices.stream().filter(d -> deviceFilterIds.contains(d.findId())).forEach(targetDevices::add);
+                if (targetDevices.isEmpty()) {
+                    return;
+                }
             } else {
                 SmartHomeDeviceStateGroupUpdateCalculator smartHomeDeviceStateGroupUpdateCalculator = this.smartHomeDeviceStateGroupUpdateCalculator;
                 if (smartHomeDeviceStateGroupUpdateCalculator == null) {
@@ -928,6 +996,10 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
                     SmartHomeBaseDevice baseDevice = jsonIdSmartHomeDeviceMapping.get(id);
                     devicesToUpdate.addAll(SmartHomeDeviceHandler.getSupportedSmartHomeDevices(baseDevice, allDevices));
                 }
+                // push messages only arrive if the websocket is connected
+                WebSocketConnection webSocketConnection = this.webSocketConnection;
+                smartHomeDeviceStateGroupUpdateCalculator
+                        .setPushUpdatesActive(webSocketConnection != null && !webSocketConnection.isClosed());
                 smartHomeDeviceStateGroupUpdateCalculator.removeDevicesWithNoUpdate(devicesToUpdate);
                 targetDevices.addAll(devicesToUpdate);
                 if (targetDevices.isEmpty()) {
@@ -943,10 +1015,10 @@ public class AccountHandler extends BaseBridgeHandler implements WebSocketComman
                     logger.debug("Device update {} suspended", id);
                     continue;
                 }
-                if (deviceFilterId == null || id.equals(deviceFilterId)) {
+                if (deviceFilterIds == null || deviceFilterIds.contains(id)) {
                     smartHomeDeviceHandler.updateChannelStates(allDevices, applianceIdToCapabilityStates);
                 } else {
-                    logger.trace("Id {} not matching filter {}", id, deviceFilterId);
+                    logger.trace("Id {} not matching filter {}", id, deviceFilterIds);
                 }
             }
 
@@ -13,7 +13,9 @@
  */
 package org.smarthomej.binding.amazonechocontrol.internal.smarthome;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -38,20 +40,32 @@ public class SmartHomeDeviceStateGroupUpdateCalculator {
     private static final int UPDATE_INTERVAL_PRIVATE_SKILLS_IN_SECONDS = 300;
     private static final int UPDATE_INTERVAL_PRIVATE_SKILLS_IN_SECONDS_TRACE = 10;
     private static final int UPDATE_INTERVAL_ACOUSTIC_EVENTS_IN_SECONDS = 10;
+    private static final int UPDATE_INTERVAL_AMAZON_WITH_PUSH_IN_SECONDS = 120;
     private final int updateIntervalAmazonInSeconds;
     private final int updateIntervalSkillsInSeconds;
+    private boolean pushUpdatesActive = false;
+
+    private enum UpdateGroupType {
+        ACOUSTIC_EVENT,
+        PRIVATE_SKILL,
+        SKILL,
+        AMAZON
+    }
 
     private static class UpdateGroup {
+        private final UpdateGroupType type;
         private final int intervalInSeconds;
         private Date lastUpdated;
 
-        public UpdateGroup(int intervalInSeconds) {
+        public UpdateGroup(UpdateGroupType type, int intervalInSeconds) {
+            this.type = type;
             this.intervalInSeconds = intervalInSeconds;
             this.lastUpdated = new Date(0);
         }
     }
 
-    private final Map<Integer, UpdateGroup> updateGroups = new HashMap<>();
+    private final Map<UpdateGroupType, Map<Integer, UpdateGroup>> updateGroups = new EnumMap<>(
+            UpdateGroupType.class);
 
     public SmartHomeDeviceStateGroupUpdateCalculator(int updateIntervalAmazonInSeconds,
             int updateIntervalSkillsInSeconds) {
@@ -59,65 +73,101 @@ public class SmartHomeDeviceStateGroupUpdateCalculator {
         this.updateIntervalSkillsInSeconds = updateIntervalSkillsInSeconds;
     }
 
-    private Integer getUpdateIntervalInSeconds(JsonSmartHomeDevice shd) {
-        Integer updateIntervalInSeconds = shd.updateIntervalInSeconds;
-        if (updateIntervalInSeconds != null) {
-            return updateIntervalInSeconds;
-        }
+    private UpdateGroupType getUpdateGroupType(JsonSmartHomeDevice shd) {
         if (shd.getCapabilities().stream()
                 .anyMatch(capability -> HandlerAcousticEventSensor.INTERFACE.equals(capability.interfaceName))) {
-            updateIntervalInSeconds = UPDATE_INTERVAL_ACOUSTIC_EVENTS_IN_SECONDS;
+            return UpdateGroupType.ACOUSTIC_EVENT;
         }
+        String manufacturerName = shd.manufacturerName;
+        if (manufacturerName != null && ("openHAB".equalsIgnoreCase(manufacturerName)
+                || manufacturerName.toLowerCase().startsWith("iobroker"))) {
+            // OpenHAB or ioBroker skill
+            return UpdateGroupType.PRIVATE_SKILL;
+        }
+        DriverIdentity driverIdentity = shd.driverIdentity;
+        if (driverIdentity != null && "SKILL".equals(driverIdentity.namespace)) {
+            return UpdateGroupType.SKILL;
+        }
+        return UpdateGroupType.AMAZON;
+    }
 
-        if (updateIntervalInSeconds == null) {
-            String manufacturerName = shd.manufacturerName;
-            if (manufacturerName != null && ("openHAB".equalsIgnoreCase(manufacturerName)
-                    || manufacturerName.toLowerCase().startsWith("iobroker"))) {
-                // OpenHAB or ioBroker skill
+    private int getUpdateIntervalInSeconds(JsonSmartHomeDevice shd, UpdateGroupType type) {
+        Integer updateIntervalInSeconds = shd.updateIntervalInSeconds;
+        if (updateIntervalInSeconds != null) {
+            return updateIntervalInSeconds;
+        }
+        switch (type) {
+            case ACOUSTIC_EVENT:
+                updateIntervalInSeconds = UPDATE_INTERVAL_ACOUSTIC_EVENTS_IN_SECONDS;
+                break;
+            case PRIVATE_SKILL:
                 if (logger.isTraceEnabled()) {
                     updateIntervalInSeconds = UPDATE_INTERVAL_PRIVATE_SKILLS_IN_SECONDS_TRACE;
                 } else {
                     updateIntervalInSeconds = UPDATE_INTERVAL_PRIVATE_SKILLS_IN_SECONDS;
                 }
-            } else {
-                boolean isSkillDevice = false;
-                DriverIdentity driverIdentity = shd.driverIdentity;
-                isSkillDevice = driverIdentity != null && "SKILL".equals(driverIdentity.namespace);
-                if (isSkillDevice) {
-                    updateIntervalInSeconds = updateIntervalSkillsInSeconds;
-                } else {
-                    updateIntervalInSeconds = updateIntervalAmazonInSeconds;
-                }
-            }
+                break;
+            case SKILL:
+                updateIntervalInSeconds = updateIntervalSkillsInSeconds;
+                break;
+            default:
+                updateIntervalInSeconds = updateIntervalAmazonInSeconds;
+                break;
         }
         shd.updateIntervalInSeconds = updateIntervalInSeconds;
         return updateIntervalInSeconds;
     }
 
+    /**
+     * set if state changes are reported by push messages
+     *
+     * If active, devices that are directly connected to Alexa are only polled as a safety net with a longer interval.
+     *
+     * @param pushUpdatesActive true if push messages are received
+     */
+    public void setPushUpdatesActive(boolean pushUpdatesActive) {
+        this.pushUpdatesActive = pushUpdatesActive;
+    }
+
+    private int getEffectiveIntervalInSeconds(UpdateGroup group) {
+        // only devices directly connected to Alexa report their state changes by push messages
+        if (pushUpdatesActive && group.type == UpdateGroupType.AMAZON) {
+            return Math.max(group.intervalInSeconds, UPDATE_INTERVAL_AMAZON_WITH_PUSH_IN_SECONDS);
+        }
+        return group.intervalInSeconds;
+    }
+
     public void removeDevicesWithNoUpdate(List<JsonSmartHomeDevice> devices) {
         Date updateTimeStamp = new Date();
         // check if new group is needed
         boolean syncAllGroups = false;
+        List<UpdateGroup> deviceGroups = new ArrayList<>(devices.size());
         for (JsonSmartHomeDevice device : devices) {
-            int updateIntervalInSeconds = getUpdateIntervalInSeconds(device);
-            if (!updateGroups.containsKey(updateIntervalInSeconds)) {
-                UpdateGroup newGroup = new UpdateGroup(updateIntervalInSeconds);
-                updateGroups.put(updateIntervalInSeconds, newGroup);
+            UpdateGroupType type = getUpdateGroupType(device);
+            int updateIntervalInSeconds = getUpdateIntervalInSeconds(device, type);
+            Map<Integer, UpdateGroup> groups = updateGroups.computeIfAbsent(type, t -> new HashMap<>());
+            UpdateGroup group = groups.get(updateIntervalInSeconds);
+            if (group == null) {
+                group = new UpdateGroup(type, updateIntervalInSeconds);
+                groups.put(updateIntervalInSeconds, group);
                 syncAllGroups = true;
             }
+            deviceGroups.add(group);
         }
         // check which groups needs an update
-        Set<Integer> groupsToUpdate = new HashSet<Integer>();
-        for (UpdateGroup group : updateGroups.values()) {
-            long millisecondsSinceLastUpdate = updateTimeStamp.getTime() - group.lastUpdated.getTime();
-            if (syncAllGroups || millisecondsSinceLastUpdate >= group.intervalInSeconds * 1000) {
-                group.lastUpdated = updateTimeStamp;
-                groupsToUpdate.add(group.intervalInSeconds);
+        Set<UpdateGroup> groupsToUpdate = new HashSet<>();
+        for (Map<Integer, UpdateGroup> groups : updateGroups.values()) {
+            for (UpdateGroup group : groups.values()) {
+                long millisecondsSinceLastUpdate = updateTimeStamp.getTime() - group.lastUpdated.getTime();
+                if (syncAllGroups || millisecondsSinceLastUpdate >= getEffectiveIntervalInSeconds(group) * 1000L) {
+                    group.lastUpdated = updateTimeStamp;
+                    groupsToUpdate.add(group);
+                }
             }
         }
         // remove unused devices
         for (int i = devices.size() - 1; i >= 0; i--) {
-            if (!groupsToUpdate.contains(getUpdateIntervalInSeconds(devices.get(i)))) {
+            if (!groupsToUpdate.contains(deviceGroups.get(i))) {
                 devices.remove(i);
             }
         }
@@ -25,10 +25,15 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -56,7 +61,7 @@ import com.tananaev.adblib.AdbStream;
  * @author Miguel Álvarez - Initial contribution
  */
 @NonNullByDefault
-public class AndroidDebugBridgeDevice {
+public class AndroidDebugBridgeDevice implements AndroidDebugBridgeStatus {
     public static final int ANDROID_MEDIA_STREAM = 3;
     private static final String EXCEPTION_STREAM_OPEN_ACTIVELY_REJECTED_BY_REMOTE_PEER = "Stream open actively rejected by remote peer";
     private static final String EXCEPTION_CONNECT_MUST_BE_CALLED_FIRST = "connect() must be called first";
@@ -72,6 +77,23 @@ public class AndroidDebugBridgeDevice {
     private static final Pattern INTENT_STRING_PATTERN = Pattern
             .compile("intent://(?:[\\w\\./\\-_]*?)#Intent;(?:[\\w\\.\\-_]+=[\\w\\.\\-_]+;)+end");
 
+    private static final String CURRENT_PACKAGE_COMMAND = "dumpsys window windows | grep 'mFocusedApp'"
+            + " | cut -d '/' -f1 | sed 's/.* //g'";
+    private static final String CURRENT_PACKAGE_RECENTS_COMMAND = "dumpsys activity recents | grep 'Recent #0'"
+            + " | cut -d= -f2 | sed 's/ .*//' | cut -d '/' -f1";
+    private static final String AWAKE_STATE_COMMAND = "dumpsys activity | grep mWakefulness";
+    private static final String SCREEN_STATE_COMMAND = "dumpsys power | grep 'Display Power'";
+    private static final String HDMI_STATE_COMMAND = "cat /sys/devices/virtual/switch/hdmi/state";
+    private static final String HDMI_STATE_LOGCAT_COMMAND = "logcat -d | grep hdmi | grep SWITCH_STATE= | tail -1";
+    private static final String MEDIA_SESSIONS_COMMAND = "dumpsys media_session | grep -A 100 'Sessions Stack'";
+    private static final String AUDIO_COMMAND = "dumpsys audio | grep ID:";
+    private static final String WAKE_LOCK_COMMAND = "dumpsys power | grep Locks | grep 'size='";
+    private static final String MEDIA_VOLUME_COMMAND = "media volume --show --stream " + ANDROID_MEDIA_STREAM
+            + " --get | grep volume";
+    private static final String[] DEVICE_PROPERTIES = { "ro.product.model", "ro.build.version.release",
+            "ro.product.brand", "ro.serialno", "ro.boot.wifimacaddr" };
+    private static final int MEDIA_SESSION_CONTEXT_LINES = 50;
+
     private static @Nullable AdbCrypto adbCrypto;
 
     static {
@@ -96,6 +118,10 @@ public class AndroidDebugBridgeDevice {
     private @Nullable Socket socket;
     private @Nullable AdbConnection connection;
     private @Nullable Future<String> commandFuture;
+    private @Nullable AdbStream shellStream;
+    private final String shellMarker = "@@SHJ-" + UUID.randomUUID();
+    // quoted, so that an echoed command line does not contain the marker
+    private final String shellMarkerCommand = "'@@SHJ'-" + shellMarker.substring(6);
 
     private Lock commandLock = new ReentrantLock();
 
@@ -195,18 +221,20 @@ public class AndroidDebugBridgeDevice {
         runAdbShell("am", "start", "\"" + intentString + "\"");
     }
 
+    @Override
     public String getCurrentPackage() throws AndroidDebugBridgeDeviceException, InterruptedException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
         if (channelFallbackMap.get(CURRENT_PACKAGE_CHANNEL) == FallbackModes.DUMPSYS_ACTIVITY_RECENTS) {
             return getCurrentPackageWithDumpsysActivityRecents();
         }
-        String result = runAdbShell("dumpsys window windows", "|", "grep 'mFocusedApp'", "|", "cut -d '/' -f1", "|",
-                "sed 's/.* //g'");
-        if (!result.isEmpty()) {
-            Matcher currentPackageMatcher = CURRENT_PACKAGE_PREFIX_FILTER_PATTERN.matcher(result);
-            if (currentPackageMatcher.find()) {
-                return currentPackageMatcher.group(2);
-            }
+        return processCurrentPackage(runAdbShell(CURRENT_PACKAGE_COMMAND));
+    }
+
+    private String processCurrentPackage(String result) throws AndroidDebugBridgeDeviceException,
+            InterruptedException, AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+        String currentPackage = parseCurrentPackage(result);
+        if (currentPackage != null) {
+            return currentPackage;
         }
         LOGGER.debug("set fallback {} for {}", FallbackModes.DUMPSYS_ACTIVITY_RECENTS, CURRENT_PACKAGE_CHANNEL);
         channelFallbackMap.put(CURRENT_PACKAGE_CHANNEL, FallbackModes.DUMPSYS_ACTIVITY_RECENTS);
@@ -216,23 +244,34 @@ public class AndroidDebugBridgeDevice {
     public String getCurrentPackageWithDumpsysActivityRecents() throws AndroidDebugBridgeDeviceException,
             InterruptedException, AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
         // try another method if we failed, see https://stackoverflow.com/a/28573364
-        String result = runAdbShell("dumpsys activity recents", "|", "grep 'Recent #0'", "|", "cut -d= -f2", "|",
-                "sed 's/ .*//'", "|", "cut -d '/' -f1");
+        return parseCurrentPackageWithDumpsysActivityRecents(runAdbShell(CURRENT_PACKAGE_RECENTS_COMMAND));
+    }
+
+    private String parseCurrentPackageWithDumpsysActivityRecents(String result)
+            throws AndroidDebugBridgeDeviceReadException {
+        String currentPackage = parseCurrentPackage(result);
+        if (currentPackage != null) {
+            return currentPackage;
+        }
+        LOGGER.debug("remove fallback for {}", CURRENT_PACKAGE_CHANNEL);
+        channelFallbackMap.remove(CURRENT_PACKAGE_CHANNEL);
+        throw new AndroidDebugBridgeDeviceReadException(CURRENT_PACKAGE_CHANNEL, result);
+    }
+
+    private static @Nullable String parseCurrentPackage(String result) {
         if (!result.isEmpty()) {
             Matcher currentPackageMatcher = CURRENT_PACKAGE_PREFIX_FILTER_PATTERN.matcher(result);
             if (currentPackageMatcher.find()) {
                 return currentPackageMatcher.group(2);
             }
         }
-        LOGGER.debug("remove fallback for {}", CURRENT_PACKAGE_CHANNEL);
-        channelFallbackMap.remove(CURRENT_PACKAGE_CHANNEL);
-        throw new AndroidDebugBridgeDeviceReadException(CURRENT_PACKAGE_CHANNEL, result);
+        return null;
     }
 
     public void rebootDevice()
             throws AndroidDebugBridgeDeviceException, InterruptedException, TimeoutException, ExecutionException {
         try {
-            runAdbShell("reboot", "&", "sleep", "0.1", "&&", "exit");
+            runAdbShellOnce(timeoutSec, "reboot", "&", "sleep", "0.1", "&&", "exit");
         } finally {
             disconnect();
         }
@@ -241,24 +280,32 @@ public class AndroidDebugBridgeDevice {
     public void powerOffDevice()
             throws AndroidDebugBridgeDeviceException, InterruptedException, TimeoutException, ExecutionException {
         try {
-            runAdbShell("reboot", "-p", "&", "sleep", "0.1", "&&", "exit");
+            runAdbShellOnce(timeoutSec, "reboot", "-p", "&", "sleep", "0.1", "&&", "exit");
         } finally {
             disconnect();
         }
     }
 
+    @Override
     public boolean isAwake() throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("dumpsys", "activity", "|", "grep", "mWakefulness");
+        return parseAwake(runAdbShell(AWAKE_STATE_COMMAND));
+    }
+
+    private static boolean parseAwake(String result) throws AndroidDebugBridgeDeviceReadException {
         if (result.contains("mWakefulness=")) {
             return result.contains("mWakefulness=Awake");
         }
         throw new AndroidDebugBridgeDeviceReadException(AWAKE_STATE_CHANNEL, result);
     }
 
+    @Override
     public boolean isScreenOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("dumpsys", "power", "|", "grep", "'Display Power'");
+        return parseScreenOn(runAdbShell(SCREEN_STATE_COMMAND));
+    }
+
+    private static boolean parseScreenOn(String result) throws AndroidDebugBridgeDeviceReadException {
         String[] splitResult = result.split("=");
         if (splitResult.length >= 2) {
             return "ON".equals(splitResult[1]);
@@ -266,12 +313,18 @@ public class AndroidDebugBridgeDevice {
         throw new AndroidDebugBridgeDeviceReadException(SCREEN_STATE_CHANNEL, result);
     }
 
+    @Override
     public Optional<Boolean> isHDMIOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
         if (channelFallbackMap.get(HDMI_STATE_CHANNEL) == FallbackModes.LOGCAT) {
             return isHDMIOnWithLogcat();
         }
-        String result = runAdbShell("cat", "/sys/devices/virtual/switch/hdmi/state");
+        return processHDMIState(runAdbShell(HDMI_STATE_COMMAND));
+    }
+
+    private Optional<Boolean> processHDMIState(String result) throws InterruptedException,
+            AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException, TimeoutException,
+            ExecutionException {
         if ("0".equals(result) || "1".equals(result)) {
             return Optional.of("1".equals(result));
         } else {
@@ -283,8 +336,10 @@ public class AndroidDebugBridgeDevice {
 
     private Optional<Boolean> isHDMIOnWithLogcat() throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("logcat", "-d", "|", "grep", "hdmi", "|", "grep", "SWITCH_STATE=", "|", "tail",
-                "-1");
+        return parseHDMIOnWithLogcat(runAdbShell(HDMI_STATE_LOGCAT_COMMAND));
+    }
+
+    private Optional<Boolean> parseHDMIOnWithLogcat(String result) throws AndroidDebugBridgeDeviceReadException {
         if (result.contains("SWITCH_STATE=")) {
             return Optional.of(result.contains("SWITCH_STATE=1"));
         } else if (result.isEmpty()) {
@@ -297,10 +352,15 @@ public class AndroidDebugBridgeDevice {
         throw new AndroidDebugBridgeDeviceReadException(HDMI_STATE_CHANNEL, result);
     }
 
+    @Override
     public boolean isPlayingMedia(String currentApp) throws AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, InterruptedException, TimeoutException, ExecutionException {
-        String result = runAdbShell("dumpsys", "media_session", "|", "grep", "-A", "100", "'Sessions Stack'", "|",
-                "grep", "-A", "50", currentApp);
+        String result = runAdbShell(MEDIA_SESSIONS_COMMAND, "|", "grep", "-A",
+                String.valueOf(MEDIA_SESSION_CONTEXT_LINES), currentApp);
+        return parsePlayingMedia(result);
+    }
+
+    private static boolean parsePlayingMedia(String result) throws AndroidDebugBridgeDeviceReadException {
         String[] mediaSessions = result.split("\n\n");
         if (mediaSessions.length == 0) {
             // no media session found for current app
@@ -313,18 +373,46 @@ public class AndroidDebugBridgeDevice {
         throw new AndroidDebugBridgeDeviceReadException(MEDIA_CONTROL_CHANNEL, result);
     }
 
+    /**
+     * filter the lines of a text like <code>grep -A</code>
+     *
+     * @param text the text
+     * @param filter the string that shall be contained in the line
+     * @param contextLines the number of lines that are added after each matching line
+     * @return the matching lines with their context
+     */
+    static String filterLines(String text, String filter, int contextLines) {
+        List<String> result = new ArrayList<>();
+        int remainingContext = 0;
+        for (String line : text.split("\n")) {
+            if (line.contains(filter)) {
+                result.add(line);
+                remainingContext = contextLines;
+            } else if (remainingContext > 0) {
+                result.add(line);
+                remainingContext--;
+            }
+        }
+        return String.join("\n", result).trim();
+    }
+
+    @Override
     public boolean isPlayingAudio() throws AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException,
             InterruptedException, TimeoutException, ExecutionException {
-        String result = runAdbShell("dumpsys", "audio", "|", "grep", "ID:");
+        return parsePlayingAudio(runAdbShell(AUDIO_COMMAND));
+    }
+
+    private static boolean parsePlayingAudio(String result) throws AndroidDebugBridgeDeviceReadException {
         if (result.contains("state:")) {
             return result.contains("state:started");
         }
         throw new AndroidDebugBridgeDeviceReadException(MEDIA_CONTROL_CHANNEL, result);
     }
 
+    @Override
     public VolumeInfo getMediaVolume() throws AndroidDebugBridgeDeviceException, InterruptedException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        return getVolume(ANDROID_MEDIA_STREAM);
+        return parseVolume(runAdbShell(MEDIA_VOLUME_COMMAND));
     }
 
     public void setMediaVolume(int volume)
@@ -332,9 +420,13 @@ public class AndroidDebugBridgeDevice {
         setVolume(ANDROID_MEDIA_STREAM, volume);
     }
 
+    @Override
     public int getPowerWakeLock() throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("dumpsys", "power", "|", "grep", "Locks", "|", "grep", "'size='");
+        return parsePowerWakeLock(runAdbShell(WAKE_LOCK_COMMAND));
+    }
+
+    private static int parsePowerWakeLock(String result) throws AndroidDebugBridgeDeviceReadException {
         String[] splitResult = result.split("=");
         if (splitResult.length >= 2) {
             try {
@@ -380,28 +472,120 @@ public class AndroidDebugBridgeDevice {
 
     private String getDeviceProp(String name) throws AndroidDebugBridgeDeviceException, InterruptedException,
             AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("getprop", name, "&&", "sleep", "0.3").replace("\n", "").replace("\r", "");
+        return parseDeviceProp(name, runAdbShell("getprop", name));
+    }
+
+    private static String parseDeviceProp(String name, String result) throws AndroidDebugBridgeDeviceReadException {
+        result = result.replace("\n", "").replace("\r", "");
         if (result.length() == 0) {
             throw new AndroidDebugBridgeDeviceReadException(String.format("Unable to get device property '%s'", name));
         }
         return result;
     }
 
-    private VolumeInfo getVolume(int stream) throws AndroidDebugBridgeDeviceException, InterruptedException,
-            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
-        String result = runAdbShell("media", "volume", "--show", "--stream", String.valueOf(stream), "--get", "|",
-                "grep", "volume");
+    private static VolumeInfo parseVolume(String result) throws AndroidDebugBridgeDeviceReadException {
         Matcher matcher = VOLUME_PATTERN.matcher(result);
         if (!matcher.find()) {
             throw new AndroidDebugBridgeDeviceReadException(MEDIA_VOLUME_CHANNEL, result);
         }
         VolumeInfo volumeInfo = new VolumeInfo(Integer.parseInt(matcher.group("current")),
                 Integer.parseInt(matcher.group("min")), Integer.parseInt(matcher.group("max")));
-        LOGGER.debug("Device {}:{} VolumeInfo: current {}, min {}, max {}", this.ip, this.port, volumeInfo.current,
-                volumeInfo.min, volumeInfo.max);
+        LOGGER.debug("VolumeInfo: current {}, min {}, max {}", volumeInfo.current, volumeInfo.min, volumeInfo.max);
         return volumeInfo;
     }
 
+    /**
+     * query the status of the device in a single shell invocation
+     *
+     * All commands are combined into one shell script, the output of each command is preceded by a marker line. The
+     * returned {@link BatchStatus} parses the output of the requested values on access. Values that were not queried
+     * are read from the device when requested.
+     *
+     * @param queries the values that shall be queried
+     * @return the status
+     */
+    public BatchStatus queryStatus(Set<StatusQuery> queries)
+            throws AndroidDebugBridgeDeviceException, InterruptedException, TimeoutException, ExecutionException {
+        boolean currentPackageRecents = channelFallbackMap
+                .get(CURRENT_PACKAGE_CHANNEL) == FallbackModes.DUMPSYS_ACTIVITY_RECENTS;
+        boolean hdmiStateLogcat = channelFallbackMap.get(HDMI_STATE_CHANNEL) == FallbackModes.LOGCAT;
+        Map<String, String> commands = new LinkedHashMap<>();
+        for (StatusQuery query : queries) {
+            switch (query) {
+                case MEDIA_VOLUME:
+                    commands.put(query.name(), MEDIA_VOLUME_COMMAND);
+                    break;
+                case WAKE_LOCK:
+                    commands.put(query.name(), WAKE_LOCK_COMMAND);
+                    break;
+                case CURRENT_PACKAGE:
+                    commands.put(query.name(),
+                            currentPackageRecents ? CURRENT_PACKAGE_RECENTS_COMMAND : CURRENT_PACKAGE_COMMAND);
+                    break;
+                case AWAKE_STATE:
+                    commands.put(query.name(), AWAKE_STATE_COMMAND);
+                    break;
+                case SCREEN_STATE:
+                    commands.put(query.name(), SCREEN_STATE_COMMAND);
+                    break;
+                case HDMI_STATE:
+                    commands.put(query.name(), hdmiStateLogcat ? HDMI_STATE_LOGCAT_COMMAND : HDMI_STATE_COMMAND);
+                    break;
+                case MEDIA_SESSIONS:
+                    commands.put(query.name(), MEDIA_SESSIONS_COMMAND);
+                    break;
+                case AUDIO:
+                    commands.put(query.name(), AUDIO_COMMAND);
+                    break;
+                case PROPERTIES:
+                    for (String property : DEVICE_PROPERTIES) {
+                        commands.put(property, "getprop " + property);
+                    }
+                    break;
+            }
+        }
+        if (commands.isEmpty()) {
+            return new BatchStatus(Map.of(), currentPackageRecents, hdmiStateLogcat);
+        }
+
+        String marker = "@@SHJ-" + UUID.randomUUID() + ":";
+        StringBuilder script = new StringBuilder();
+        commands.forEach((key, command) -> script.append("echo;echo ").append(marker).append(key).append(";")
+                .append(command).append(";"));
+        // allow the configured timeout for each command, the device processes them sequentially
+        String output = runAdbShellOnce((long) timeoutSec * commands.size(), script.toString());
+
+        return new BatchStatus(parseBatchOutput(output, marker), currentPackageRecents, hdmiStateLogcat);
+    }
+
+    /**
+     * split the output of a batched query into the output of the single commands
+     *
+     * @param output the output of the shell
+     * @param marker the prefix of the lines that start the output of a command, followed by the key of the command
+     * @return a map of the command keys to their (trimmed) output
+     */
+    static Map<String, String> parseBatchOutput(String output, String marker) {
+        Map<String, String> results = new HashMap<>();
+        String key = null;
+        StringBuilder result = new StringBuilder();
+        for (String line : output.replace("\r", "").split("\n")) {
+            if (line.startsWith(marker)) {
+                if (key != null) {
+                    results.put(key, result.toString().trim());
+                }
+                key = line.substring(marker.length());
+                result.setLength(0);
+            } else if (key != null) {
+                result.append(line).append("\n");
+            }
+        }
+        if (key != null) {
+            results.put(key, result.toString().trim());
+        }
+        return results;
+    }
+
     public boolean isConnected() {
         Socket currentSocket = socket;
         return currentSocket != null && currentSocket.isConnected();
@@ -444,6 +628,12 @@ public class AndroidDebugBridgeDevice {
         }
     }
 
+    /**
+     * run a command in the interactive shell of the device
+     *
+     * The shell is kept open between commands, so that no new stream needs to be opened for each command. The end of
+     * the output is detected by a marker that is printed after the command finished.
+     */
     private String runAdbShell(String... args)
             throws InterruptedException, AndroidDebugBridgeDeviceException, TimeoutException, ExecutionException {
         AdbConnection adb = connection;
@@ -451,6 +641,80 @@ public class AndroidDebugBridgeDevice {
             throw new AndroidDebugBridgeDeviceException("Device not connected");
         }
         commandLock.lock();
+        try {
+            stopCommandFuture(); // make sure there is not future
+            Future<String> commandFuture = scheduler.submit(() -> {
+                String cmd = String.join(" ", args);
+                LOGGER.debug("{} - shell:{}", ip, cmd);
+                AdbStream stream = getShellStream(adb);
+                String line = cmd + "; echo; echo " + shellMarkerCommand;
+                stream.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+                String output = readShellOutput(stream);
+                // some shells ignore 'stty -echo' and echo the command
+                return output.startsWith(line) ? output.substring(line.length()) : output;
+            });
+            this.commandFuture = commandFuture;
+            return commandFuture.get(timeoutSec, TimeUnit.SECONDS).trim();
+        } catch (InterruptedException | TimeoutException | ExecutionException e) {
+            // the state of the shell is unknown, open a new one for the next command
+            closeShellStream();
+            throw e;
+        } finally {
+            stopCommandFuture();
+            commandLock.unlock();
+        }
+    }
+
+    private AdbStream getShellStream(AdbConnection adb) throws IOException, InterruptedException {
+        AdbStream stream = shellStream;
+        if (stream == null || stream.isClosed()) {
+            stream = adb.open("shell:");
+            shellStream = stream;
+            stream.write(("stty -echo 2>/dev/null; PS1=''; echo; echo " + shellMarkerCommand + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            // discard the banner and prompt
+            readShellOutput(stream);
+        }
+        return stream;
+    }
+
+    private String readShellOutput(AdbStream stream) throws IOException, InterruptedException {
+        StringBuilder output = new StringBuilder();
+        while (true) {
+            int searchStart = Math.max(0, output.length() - shellMarker.length());
+            output.append(new String(stream.read(), StandardCharsets.US_ASCII).replace("\r", ""));
+            int markerIndex = output.indexOf(shellMarker, searchStart);
+            if (markerIndex >= 0) {
+                return output.substring(0, markerIndex);
+            }
+        }
+    }
+
+    private void closeShellStream() {
+        AdbStream stream = shellStream;
+        shellStream = null;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * run a command in a new shell stream that is closed when the command finished
+     *
+     * @param timeout the timeout in seconds
+     * @param args the command
+     * @return the output of the command
+     */
+    private String runAdbShellOnce(long timeout, String... args)
+            throws InterruptedException, AndroidDebugBridgeDeviceException, TimeoutException, ExecutionException {
+        AdbConnection adb = connection;
+        if (adb == null) {
+            throw new AndroidDebugBridgeDeviceException("Device not connected");
+        }
+        commandLock.lock();
         try {
             stopCommandFuture(); // make sure there is not future
             Future<String> commandFuture = scheduler.submit(() -> {
@@ -472,7 +736,7 @@ public class AndroidDebugBridgeDevice {
                 return byteArrayOutputStream.toString(StandardCharsets.US_ASCII);
             });
             this.commandFuture = commandFuture;
-            return commandFuture.get(timeoutSec, TimeUnit.SECONDS).trim();
+            return commandFuture.get(timeout, TimeUnit.SECONDS).trim();
         } finally {
             stopCommandFuture();
             commandLock.unlock();
@@ -515,6 +779,7 @@ public class AndroidDebugBridgeDevice {
 
     public void disconnect() {
         stopCommandFuture();
+        closeShellStream();
         AdbConnection adb = connection;
         Socket sock = socket;
         if (adb != null) {
@@ -533,6 +798,131 @@ public class AndroidDebugBridgeDevice {
         }
     }
 
+    /**
+     * The {@link BatchStatus} provides the values read by {@link #queryStatus(Set)}. Values that were not queried are
+     * read from the device on access.
+     */
+    public class BatchStatus implements AndroidDebugBridgeStatus {
+        private final Map<String, String> results;
+        private final boolean currentPackageRecents;
+        private final boolean hdmiStateLogcat;
+
+        private BatchStatus(Map<String, String> results, boolean currentPackageRecents, boolean hdmiStateLogcat) {
+            this.results = results;
+            this.currentPackageRecents = currentPackageRecents;
+            this.hdmiStateLogcat = hdmiStateLogcat;
+        }
+
+        @Override
+        public VolumeInfo getMediaVolume() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.MEDIA_VOLUME.name());
+            return result == null ? AndroidDebugBridgeDevice.this.getMediaVolume() : parseVolume(result);
+        }
+
+        @Override
+        public int getPowerWakeLock() throws InterruptedException, AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.WAKE_LOCK.name());
+            return result == null ? AndroidDebugBridgeDevice.this.getPowerWakeLock() : parsePowerWakeLock(result);
+        }
+
+        @Override
+        public String getCurrentPackage() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.CURRENT_PACKAGE.name());
+            if (result == null) {
+                return AndroidDebugBridgeDevice.this.getCurrentPackage();
+            }
+            return currentPackageRecents ? parseCurrentPackageWithDumpsysActivityRecents(result)
+                    : processCurrentPackage(result);
+        }
+
+        @Override
+        public boolean isAwake() throws InterruptedException, AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.AWAKE_STATE.name());
+            return result == null ? AndroidDebugBridgeDevice.this.isAwake() : parseAwake(result);
+        }
+
+        @Override
+        public boolean isScreenOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.SCREEN_STATE.name());
+            return result == null ? AndroidDebugBridgeDevice.this.isScreenOn() : parseScreenOn(result);
+        }
+
+        @Override
+        public Optional<Boolean> isHDMIOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.HDMI_STATE.name());
+            if (result == null) {
+                return AndroidDebugBridgeDevice.this.isHDMIOn();
+            }
+            return hdmiStateLogcat ? parseHDMIOnWithLogcat(result) : processHDMIState(result);
+        }
+
+        @Override
+        public boolean isPlayingMedia(String currentApp) throws AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, InterruptedException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.MEDIA_SESSIONS.name());
+            if (result == null) {
+                return AndroidDebugBridgeDevice.this.isPlayingMedia(currentApp);
+            }
+            return parsePlayingMedia(filterLines(result, currentApp, MEDIA_SESSION_CONTEXT_LINES));
+        }
+
+        @Override
+        public boolean isPlayingAudio() throws AndroidDebugBridgeDeviceException,
+                AndroidDebugBridgeDeviceReadException, InterruptedException, TimeoutException, ExecutionException {
+            String result = results.get(StatusQuery.AUDIO.name());
+            return result == null ? AndroidDebugBridgeDevice.this.isPlayingAudio() : parsePlayingAudio(result);
+        }
+
+        public String getModel() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            return getProperty("ro.product.model");
+        }
+
+        public String getAndroidVersion() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            return getProperty("ro.build.version.release");
+        }
+
+        public String getBrand() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            return getProperty("ro.product.brand");
+        }
+
+        public String getSerialNo() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            return getProperty("ro.serialno");
+        }
+
+        public String getMacAddress() throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            return getProperty("ro.boot.wifimacaddr").toLowerCase();
+        }
+
+        private String getProperty(String name) throws AndroidDebugBridgeDeviceException, InterruptedException,
+                AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException {
+            String result = results.get(name);
+            return result == null ? getDeviceProp(name) : parseDeviceProp(name, result);
+        }
+    }
+
+    public enum StatusQuery {
+        MEDIA_VOLUME,
+        WAKE_LOCK,
+        CURRENT_PACKAGE,
+        AWAKE_STATE,
+        SCREEN_STATE,
+        HDMI_STATE,
+        MEDIA_SESSIONS,
+        AUDIO,
+        PROPERTIES
+    }
+
     public static class VolumeInfo {
         public int current;
         public int min;
@@ -16,9 +16,11 @@ package org.smarthomej.binding.androiddebugbridge.internal;
 import static org.smarthomej.binding.androiddebugbridge.internal.AndroidDebugBridgeBindingConstants.*;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +45,8 @@ import org.openhab.core.types.CommandOption;
 import org.openhab.core.types.RefreshType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.smarthomej.binding.androiddebugbridge.internal.AndroidDebugBridgeDevice.BatchStatus;
+import org.smarthomej.binding.androiddebugbridge.internal.AndroidDebugBridgeDevice.StatusQuery;
 import org.smarthomej.binding.androiddebugbridge.internal.AndroidDebugBridgeDevice.VolumeInfo;
 import org.smarthomej.commons.UpdatingBaseThingHandler;
 
@@ -67,6 +71,10 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
     private static final String SHUTDOWN_POWER_OFF = "POWER_OFF";
     private static final String SHUTDOWN_REBOOT = "REBOOT";
     private static final Gson GSON = new Gson();
+    /** the channels that are refreshed by the connection checker, the media state depends on the previous ones */
+    private static final List<String> REFRESH_CHANNELS = List.of(MEDIA_VOLUME_CHANNEL, WAKE_LOCK_CHANNEL,
+            CURRENT_PACKAGE_CHANNEL, MEDIA_CONTROL_CHANNEL, AWAKE_STATE_CHANNEL, SCREEN_STATE_CHANNEL,
+            HDMI_STATE_CHANNEL);
     private final Logger logger = LoggerFactory.getLogger(AndroidDebugBridgeHandler.class);
     private final AndroidDebugBridgeDynamicCommandDescriptionProvider commandDescriptionProvider;
     private final AndroidDebugBridgeDevice adbConnection;
@@ -117,6 +125,19 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
     private void handleCommandInternal(ChannelUID channelUID, Command command)
             throws InterruptedException, AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException,
             TimeoutException, ExecutionException {
+        handleCommandInternal(channelUID, command, adbConnection);
+    }
+
+    /**
+     * handle a command
+     *
+     * @param channelUID the channel
+     * @param command the command
+     * @param status the source of the values for {@link RefreshType} commands
+     */
+    private void handleCommandInternal(ChannelUID channelUID, Command command, AndroidDebugBridgeStatus status)
+            throws InterruptedException, AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException,
+            TimeoutException, ExecutionException {
         if (!isLinked(channelUID)) {
             return;
         }
@@ -132,10 +153,10 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 adbConnection.sendTap(command.toFullString());
                 break;
             case MEDIA_VOLUME_CHANNEL:
-                handleMediaVolume(channelUID, command);
+                handleMediaVolume(channelUID, command, status);
                 break;
             case MEDIA_CONTROL_CHANNEL:
-                handleMediaControlCommand(channelUID, command);
+                handleMediaControlCommand(channelUID, command, status);
                 break;
             case START_PACKAGE_CHANNEL:
                 adbConnection.startPackage(command.toFullString());
@@ -169,7 +190,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 break;
             case CURRENT_PACKAGE_CHANNEL:
                 if (command instanceof RefreshType) {
-                    String currentPackage = adbConnection.getCurrentPackage();
+                    String currentPackage = status.getCurrentPackage();
                     updateState(channelUID, new StringType(currentPackage));
                     channelLastStateMap.put(CURRENT_PACKAGE_CHANNEL, currentPackage);
                 }
@@ -187,14 +208,14 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 }
             case WAKE_LOCK_CHANNEL:
                 if (command instanceof RefreshType) {
-                    int wakeLockState = adbConnection.getPowerWakeLock();
+                    int wakeLockState = status.getPowerWakeLock();
                     updateState(channelUID, new DecimalType(wakeLockState));
                     channelLastStateMap.put(WAKE_LOCK_CHANNEL, wakeLockState);
                 }
                 break;
             case AWAKE_STATE_CHANNEL:
                 if (command instanceof RefreshType) {
-                    boolean awakeState = adbConnection.isAwake();
+                    boolean awakeState = status.isAwake();
                     boolean lastAwakeState = (boolean) channelLastStateMap.getOrDefault(AWAKE_STATE_CHANNEL, false);
                     if (awakeState == lastAwakeState) {
                         updateState(channelUID, OnOffType.from(awakeState));
@@ -204,7 +225,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 break;
             case SCREEN_STATE_CHANNEL:
                 if (command instanceof RefreshType) {
-                    boolean screenState = adbConnection.isScreenOn();
+                    boolean screenState = status.isScreenOn();
                     boolean lastScreenState = (boolean) channelLastStateMap.getOrDefault(SCREEN_STATE_CHANNEL, false);
                     if (screenState == lastScreenState) {
                         updateState(channelUID, OnOffType.from(screenState));
@@ -214,7 +235,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 break;
             case HDMI_STATE_CHANNEL:
                 if (command instanceof RefreshType) {
-                    adbConnection.isHDMIOn().ifPresent(hdmiState -> {
+                    status.isHDMIOn().ifPresent(hdmiState -> {
                         boolean lastHDMIState = (boolean) channelLastStateMap.getOrDefault(HDMI_STATE_CHANNEL, false);
                         if (hdmiState.equals(lastHDMIState)) {
                             updateState(channelUID, OnOffType.from(hdmiState));
@@ -226,11 +247,11 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
         }
     }
 
-    private void handleMediaVolume(ChannelUID channelUID, Command command)
+    private void handleMediaVolume(ChannelUID channelUID, Command command, AndroidDebugBridgeStatus status)
             throws InterruptedException, AndroidDebugBridgeDeviceReadException, AndroidDebugBridgeDeviceException,
             TimeoutException, ExecutionException {
         if (command instanceof RefreshType) {
-            VolumeInfo volumeInfo = adbConnection.getMediaVolume();
+            VolumeInfo volumeInfo = status.getMediaVolume();
             maxMediaVolume = volumeInfo.max;
             updateState(channelUID, new PercentType((int) Math.round(toPercent(volumeInfo.current, volumeInfo.max))));
         } else {
@@ -251,14 +272,13 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
         return (value / 100) * maxValue;
     }
 
-    private void handleMediaControlCommand(ChannelUID channelUID, Command command)
+    private void handleMediaControlCommand(ChannelUID channelUID, Command command, AndroidDebugBridgeStatus status)
             throws InterruptedException, AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException,
             TimeoutException, ExecutionException {
         if (command instanceof RefreshType) {
             boolean playing;
             String lastCurrentPackage = (String) channelLastStateMap.getOrDefault(CURRENT_PACKAGE_CHANNEL, "");
-            String currentPackage = lastCurrentPackage.isBlank() ? adbConnection.getCurrentPackage()
-                    : lastCurrentPackage;
+            String currentPackage = lastCurrentPackage.isBlank() ? status.getCurrentPackage() : lastCurrentPackage;
             AndroidDebugBridgeMediaStatePackageConfig currentPackageConfig = packageConfigs != null ? Arrays
                     .stream(packageConfigs).filter(pc -> pc.name.equals(currentPackage)).findFirst().orElse(null)
                     : null;
@@ -273,10 +293,10 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                         playing = currentPackageConfig.wakeLockPlayStates.contains(lastWakeLockState);
                         break;
                     case "media_state":
-                        playing = adbConnection.isPlayingMedia(currentPackage);
+                        playing = status.isPlayingMedia(currentPackage);
                         break;
                     case "audio":
-                        playing = adbConnection.isPlayingAudio();
+                        playing = status.isPlayingAudio();
                         break;
                     default:
                         logger.warn("media state config: package {} unsupported mode", currentPackage);
@@ -284,7 +304,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 }
             } else {
                 logger.debug("media stream config not found for {}", currentPackage);
-                playing = adbConnection.isPlayingMedia(currentPackage);
+                playing = status.isPlayingMedia(currentPackage);
             }
             updateState(channelUID, playing ? PlayPauseType.PLAY : PlayPauseType.PAUSE);
             updateState(STOP_CURRENT_PACKAGE_CHANNEL, OnOffType.from(playing));
@@ -360,8 +380,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
             logger.debug("Refresh device {} status", config.ip);
             if (adbConnection.isConnected()) {
                 updateStatus(ThingStatus.ONLINE);
-                refreshProperties();
-                refreshStatus();
+                refresh();
             } else {
                 try {
                     adbConnection.connect();
@@ -380,8 +399,7 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
                 }
                 if (adbConnection.isConnected()) {
                     updateStatus(ThingStatus.ONLINE);
-                    refreshProperties();
-                    refreshStatus();
+                    refresh();
                 }
             }
         } catch (InterruptedException ignored) {
@@ -392,17 +410,62 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
         }
     }
 
-    private void refreshProperties() throws InterruptedException, AndroidDebugBridgeDeviceException,
+    private void refresh() throws InterruptedException, AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, ExecutionException {
+        BatchStatus status;
+        try {
+            // read all values in one shell invocation instead of one command per value
+            status = adbConnection.queryStatus(getStatusQueries());
+        } catch (TimeoutException e) {
+            logger.debug("Unable to refresh status: Timeout");
+            adbConnection.disconnect();
+            return;
+        }
+        refreshProperties(status);
+        refreshStatus(status);
+    }
+
+    private Set<StatusQuery> getStatusQueries() {
+        Set<StatusQuery> queries = EnumSet.of(StatusQuery.PROPERTIES);
+        if (isLinked(MEDIA_VOLUME_CHANNEL)) {
+            queries.add(StatusQuery.MEDIA_VOLUME);
+        }
+        if (isLinked(WAKE_LOCK_CHANNEL)) {
+            queries.add(StatusQuery.WAKE_LOCK);
+        }
+        if (isLinked(CURRENT_PACKAGE_CHANNEL) || isLinked(MEDIA_CONTROL_CHANNEL)) {
+            queries.add(StatusQuery.CURRENT_PACKAGE);
+        }
+        if (isLinked(MEDIA_CONTROL_CHANNEL)) {
+            queries.add(StatusQuery.MEDIA_SESSIONS);
+            AndroidDebugBridgeMediaStatePackageConfig[] packageConfigs = this.packageConfigs;
+            if (packageConfigs != null && Arrays.stream(packageConfigs).anyMatch(pc -> "audio".equals(pc.mode))) {
+                queries.add(StatusQuery.AUDIO);
+            }
+        }
+        if (isLinked(AWAKE_STATE_CHANNEL)) {
+            queries.add(StatusQuery.AWAKE_STATE);
+        }
+        if (isLinked(SCREEN_STATE_CHANNEL)) {
+            queries.add(StatusQuery.SCREEN_STATE);
+        }
+        if (isLinked(HDMI_STATE_CHANNEL)) {
+            queries.add(StatusQuery.HDMI_STATE);
+        }
+        return queries;
+    }
+
+    private void refreshProperties(BatchStatus status) throws InterruptedException, AndroidDebugBridgeDeviceException,
             AndroidDebugBridgeDeviceReadException, ExecutionException {
         // Add some information about the device
         try {
             Map<String, String> editProperties = editProperties();
-            editProperties.put(Thing.PROPERTY_SERIAL_NUMBER, adbConnection.getSerialNo());
-            editProperties.put(Thing.PROPERTY_MODEL_ID, adbConnection.getModel());
-            editProperties.put(Thing.PROPERTY_FIRMWARE_VERSION, adbConnection.getAndroidVersion());
-            editProperties.put(Thing.PROPERTY_VENDOR, adbConnection.getBrand());
+            editProperties.put(Thing.PROPERTY_SERIAL_NUMBER, status.getSerialNo());
+            editProperties.put(Thing.PROPERTY_MODEL_ID, status.getModel());
+            editProperties.put(Thing.PROPERTY_FIRMWARE_VERSION, status.getAndroidVersion());
+            editProperties.put(Thing.PROPERTY_VENDOR, status.getBrand());
             try {
-                editProperties.put(Thing.PROPERTY_MAC_ADDRESS, adbConnection.getMacAddress());
+                editProperties.put(Thing.PROPERTY_MAC_ADDRESS, status.getMacAddress());
             } catch (AndroidDebugBridgeDeviceReadException e) {
                 logger.debug("Refresh properties error: {}", e.getMessage());
             }
@@ -415,69 +478,18 @@ public class AndroidDebugBridgeHandler extends UpdatingBaseThingHandler {
         }
     }
 
-    private void refreshStatus() throws InterruptedException, AndroidDebugBridgeDeviceException, ExecutionException {
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), MEDIA_VOLUME_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh media volume: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh media volume: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), WAKE_LOCK_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh wake-lock: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh wake-lock: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), CURRENT_PACKAGE_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh current package: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh current package: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), MEDIA_CONTROL_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh play status: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh play status: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), AWAKE_STATE_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh awake state: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh awake state: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), SCREEN_STATE_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh screen state: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh screen state: Timeout");
-            adbConnection.disconnect();
-            return;
-        }
-        try {
-            handleCommandInternal(new ChannelUID(this.thing.getUID(), HDMI_STATE_CHANNEL), RefreshType.REFRESH);
-        } catch (AndroidDebugBridgeDeviceReadException e) {
-            logger.warn("Unable to refresh hdmi state: {}", e.getMessage());
-        } catch (TimeoutException e) {
-            logger.debug("Unable to refresh hdmi state: Timeout");
-            adbConnection.disconnect();
-            return;
+    private void refreshStatus(AndroidDebugBridgeStatus status)
+            throws InterruptedException, AndroidDebugBridgeDeviceException, ExecutionException {
+        for (String channelId : REFRESH_CHANNELS) {
+            try {
+                handleCommandInternal(new ChannelUID(this.thing.getUID(), channelId), RefreshType.REFRESH, status);
+            } catch (AndroidDebugBridgeDeviceReadException e) {
+                logger.warn("Unable to refresh {}: {}", channelId, e.getMessage());
+            } catch (TimeoutException e) {
+                logger.debug("Unable to refresh {}: Timeout", channelId);
+                adbConnection.disconnect();
+                return;
+            }
         }
     }
 
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.androiddebugbridge.internal;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.smarthomej.binding.androiddebugbridge.internal.AndroidDebugBridgeDevice.VolumeInfo;
+
+/**
+ * The {@link AndroidDebugBridgeStatus} interface provides the state values of a device. The values are either queried
+ * from the device on each call ({@link AndroidDebugBridgeDevice}) or taken from the result of a batched query.
+ *
+ * @author Miguel Álvarez - Initial contribution
+ */
+@NonNullByDefault
+public interface AndroidDebugBridgeStatus {
+
+    VolumeInfo getMediaVolume() throws AndroidDebugBridgeDeviceException, InterruptedException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    int getPowerWakeLock() throws InterruptedException, AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    String getCurrentPackage() throws AndroidDebugBridgeDeviceException, InterruptedException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    boolean isAwake() throws InterruptedException, AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    boolean isScreenOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    Optional<Boolean> isHDMIOn() throws InterruptedException, AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, TimeoutException, ExecutionException;
+
+    boolean isPlayingMedia(String currentApp) throws AndroidDebugBridgeDeviceException,
+            AndroidDebugBridgeDeviceReadException, InterruptedException, TimeoutException, ExecutionException;
+
+    boolean isPlayingAudio() throws AndroidDebugBridgeDeviceException, AndroidDebugBridgeDeviceReadException,
+            InterruptedException, TimeoutException, ExecutionException;
+}
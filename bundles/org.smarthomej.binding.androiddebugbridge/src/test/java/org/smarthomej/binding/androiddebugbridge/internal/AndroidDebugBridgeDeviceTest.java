@@ -16,6 +16,7 @@ package org.smarthomej.binding.androiddebugbridge.internal;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -40,4 +41,24 @@ class AndroidDebugBridgeDeviceTest {
         assertTrue(currentPackageMatcher.find());
         assertEquals("org.android.avod", currentPackageMatcher.group(2));
     }
+
+    @Test
+    void testBatchOutputParsing() {
+        String output = "\r\n@@M:ro.serialno\r\nG070VM1234\r\n\r\n@@M:MEDIA_VOLUME\r\n"
+                + "volume is 5 in range [0..15]\r\n\r\n@@M:HDMI_STATE\r\n";
+        Map<String, String> results = AndroidDebugBridgeDevice.parseBatchOutput(output, "@@M:");
+
+        assertEquals(3, results.size());
+        assertEquals("G070VM1234", results.get("ro.serialno"));
+        assertEquals("volume is 5 in range [0..15]", results.get("MEDIA_VOLUME"));
+        assertEquals("", results.get("HDMI_STATE"));
+    }
+
+    @Test
+    void testFilterLines() {
+        String text = "Sessions Stack\nfirst.app\n  state=2\nsecond.app\n  state=3\n  active\nthird.app";
+
+        assertEquals("second.app\n  state=3", AndroidDebugBridgeDevice.filterLines(text, "second.app", 1));
+        assertEquals("", AndroidDebugBridgeDevice.filterLines(text, "fourth.app", 1));
+    }
 }
@@ -31,6 +31,7 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingStatusInfo;
+import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
 import org.openhab.core.thing.binding.builder.ThingBuilder;
 import org.openhab.core.thing.type.ChannelKind;
@@ -64,7 +65,6 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
     protected final Gson gson;
 
     private @Nullable ScheduledFuture<?> initializationJob;
-    private @Nullable ScheduledFuture<?> lastSeenPollingJob;
     protected @Nullable WebSocketConnection connection;
 
     public DeconzBaseThingHandler(Thing thing, Gson gson, ResourceType resourceType) {
@@ -87,11 +87,11 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
     /**
      * Stops the last_seen polling
      */
-    private void stopLastSeenPollingJob() {
-        ScheduledFuture<?> future = lastSeenPollingJob;
-        if (future != null) {
-            future.cancel(true);
-            lastSeenPollingJob = null;
+    private void stopLastSeenPolling() {
+        Bridge bridge = getBridge();
+        ThingHandler bridgeHandler = bridge != null ? bridge.getHandler() : null;
+        if (bridgeHandler instanceof DeconzBridgeHandler) {
+            ((DeconzBridgeHandler) bridgeHandler).unregisterRefreshListener(this);
         }
     }
 
@@ -237,14 +237,17 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
         // For example, for a fire sensor, the device pings regularly, without necessarily updating channels.
         // So to monitor a sensor is still alive, the "last seen" is necessary.
         // Because "last seen" is never updated by the WebSocket API we have to
-        // manually poll it after the defined time if supported by the device
-        stopLastSeenPollingJob();
+        // manually poll it after the defined time if supported by the device. The polling is done by the bridge
+        // for all things at once.
+        stopLastSeenPolling();
         boolean thingEdited = false;
         if (lastSeen != null && config.lastSeenPolling > 0) {
             thingEdited = createChannel(thingBuilder, CHANNEL_LAST_SEEN, ChannelKind.STATE);
             updateState(CHANNEL_LAST_SEEN, Util.convertTimestampToDateTime(lastSeen));
-            lastSeenPollingJob = scheduler.scheduleWithFixedDelay(() -> requestState(this::processLastSeen),
-                    config.lastSeenPolling, config.lastSeenPolling, TimeUnit.MINUTES);
+            DeconzBridgeHandler bridgeHandler = getBridgeHandler();
+            if (bridgeHandler != null) {
+                bridgeHandler.registerRefreshListener(this, config.lastSeenPolling);
+            }
             logger.trace("lastSeen polling enabled for thing {} with interval of {} minutes", thing.getUID(),
                     config.lastSeenPolling);
         } else if (thing.getChannel(CHANNEL_LAST_SEEN) != null) {
@@ -255,11 +258,29 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
         return thingEdited;
     }
 
-    private void processLastSeen(DeconzBaseMessage stateResponse) {
+    /**
+     * processes a state that was refreshed by the bridge (last seen and current state)
+     *
+     * The refreshed state is not an event, so trigger channels are not triggered again.
+     *
+     * @param stateResponse the refreshed state of this thing
+     */
+    public void processRefresh(DeconzBaseMessage stateResponse) {
+        logger.trace("{} processing refresh {}", thing.getUID(), stateResponse);
         String lastSeen = stateResponse.lastseen;
         if (lastSeen != null) {
             updateState(CHANNEL_LAST_SEEN, Util.convertTimestampToDateTime(lastSeen));
         }
+        refreshReceived(stateResponse);
+    }
+
+    /**
+     * processes the refreshed state of this thing, by default it is processed like a websocket message
+     *
+     * @param stateResponse the refreshed state of this thing
+     */
+    protected void refreshReceived(DeconzBaseMessage stateResponse) {
+        messageReceived(stateResponse);
     }
 
     /**
@@ -293,7 +314,7 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
         String endpoint = Stream.of(resourceType.getIdentifier(), config.id, commandUrl)
                 .collect(Collectors.joining("/"));
 
-        bridgeHandler.sendObject(endpoint, object, HttpMethod.PUT).thenAccept(v -> {
+        bridgeHandler.queueCommand(endpoint, object).thenAccept(v -> {
             if (acceptProcessing != null) {
                 acceptProcessing.run();
             }
@@ -339,7 +360,7 @@ public abstract class DeconzBaseThingHandler extends UpdatingBaseThingHandler im
     @Override
     public void dispose() {
         stopInitializationJob();
-        stopLastSeenPollingJob();
+        stopLastSeenPolling();
         unregisterListener();
         super.dispose();
     }
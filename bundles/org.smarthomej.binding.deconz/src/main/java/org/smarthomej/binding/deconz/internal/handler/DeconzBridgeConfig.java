@@ -29,6 +29,7 @@ public class DeconzBridgeConfig {
     public @Nullable String apikey;
     public int timeout = 2000;
     public int websocketTimeout = 120;
+    public int maxInFlightRequests = 4;
 
     public String getHostWithoutPort() {
         String hostWithoutPort = host;
@@ -19,15 +19,18 @@ import static org.smarthomej.binding.deconz.internal.Util.buildUrl;
 
 import java.net.SocketTimeoutException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -50,7 +53,9 @@ import org.smarthomej.binding.deconz.internal.action.BridgeActions;
 import org.smarthomej.binding.deconz.internal.discovery.ThingDiscoveryService;
 import org.smarthomej.binding.deconz.internal.dto.ApiKeyMessage;
 import org.smarthomej.binding.deconz.internal.dto.BridgeFullState;
+import org.smarthomej.binding.deconz.internal.dto.DeconzBaseMessage;
 import org.smarthomej.binding.deconz.internal.netutils.AsyncHttpClient;
+import org.smarthomej.binding.deconz.internal.netutils.CommandQueue;
 import org.smarthomej.binding.deconz.internal.netutils.WebSocketConnection;
 import org.smarthomej.binding.deconz.internal.netutils.WebSocketConnectionListener;
 
@@ -81,6 +86,7 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
     private boolean ignoreConfigurationUpdate;
     private boolean thingDisposing = false;
     private WebSocketConnection webSocketConnection;
+    private final CommandQueue commandQueue;
 
     private final ExpiringCacheAsync<Optional<BridgeFullState>> fullStateCache = new ExpiringCacheAsync<>(1000);
 
@@ -88,12 +94,26 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
     private static final int POLL_FREQUENCY_SEC = 10;
     private boolean ignoreConnectionLost = true;
 
+    /** The interval in which the refresh cycle checks for things that need a refresh */
+    private static final int REFRESH_CYCLE_INTERVAL_MIN = 1;
+    /** A refresh is deferred if more websocket messages than this were received since the last cycle */
+    private static final long REFRESH_BUSY_MESSAGE_THRESHOLD = 600;
+    /** The maximum number of cycles a refresh may be deferred while the gateway is busy */
+    private static final int REFRESH_MAX_DEFERRALS = 5;
+
+    private final Map<DeconzBaseThingHandler, RefreshRegistration> refreshRegistrations = new ConcurrentHashMap<>();
+    private @Nullable ScheduledFuture<?> refreshJob;
+    private volatile long lastRefreshMessageCount = 0;
+    private int refreshDeferrals = 0;
+
     public DeconzBridgeHandler(Bridge thing, WebSocketFactory webSocketFactory, AsyncHttpClient http, Gson gson) {
         super(thing);
         this.http = http;
         this.gson = gson;
         this.webSocketFactory = webSocketFactory;
         this.webSocketConnection = createNewWebSocketConnection();
+        this.commandQueue = new CommandQueue((endPoint, body) -> sendObject(endPoint, body, HttpMethod.PUT), gson,
+                config.maxInFlightRequests);
     }
 
     private WebSocketConnection createNewWebSocketConnection() {
@@ -103,6 +123,8 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         } else if (websocketID.length() > 20) {
             websocketID = websocketID.substring(websocketID.length() - 20);
         }
+        // a new connection starts counting its messages at zero
+        lastRefreshMessageCount = 0;
         return new WebSocketConnection(this, webSocketFactory.createWebSocketClient(websocketID), gson,
                 config.websocketTimeout);
     }
@@ -143,6 +165,85 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         }
     }
 
+    /**
+     * Stops the refresh cycle
+     */
+    private void stopRefreshJob() {
+        ScheduledFuture<?> future = refreshJob;
+        if (future != null) {
+            future.cancel(false);
+            refreshJob = null;
+        }
+    }
+
+    /**
+     * Register a thing handler for the periodic state refresh
+     *
+     * @param handler the thing handler
+     * @param intervalMinutes the refresh interval for this thing (in minutes)
+     */
+    public void registerRefreshListener(DeconzBaseThingHandler handler, int intervalMinutes) {
+        refreshRegistrations.put(handler, new RefreshRegistration(intervalMinutes));
+    }
+
+    /**
+     * Unregister a thing handler from the periodic state refresh
+     *
+     * @param handler the thing handler
+     */
+    public void unregisterRefreshListener(DeconzBaseThingHandler handler) {
+        refreshRegistrations.remove(handler);
+    }
+
+    /**
+     * Refreshes all registered things that are due with a single full state request.
+     *
+     * The refresh is deferred if the websocket shows a high activity, so that the gateway is not put under additional
+     * load while it is busy.
+     */
+    private void refreshCycle() {
+        if (refreshRegistrations.isEmpty() || !webSocketConnection.isConnected() || thingDisposing) {
+            return;
+        }
+
+        // each websocket connection counts its own messages, lastRefreshMessageCount is reset with the connection
+        long messageCount = webSocketConnection.getMessageCount();
+        long recentMessages = Math.max(0, messageCount - lastRefreshMessageCount);
+        lastRefreshMessageCount = messageCount;
+
+        long now = System.currentTimeMillis();
+        List<Map.Entry<DeconzBaseThingHandler, RefreshRegistration>> dueRegistrations = refreshRegistrations
+                .entrySet().stream().filter(e -> e.getValue().nextRefresh <= now).collect(Collectors.toList());
+        if (dueRegistrations.isEmpty()) {
+            return;
+        }
+
+        if (recentMessages > REFRESH_BUSY_MESSAGE_THRESHOLD && refreshDeferrals < REFRESH_MAX_DEFERRALS) {
+            refreshDeferrals++;
+            logger.trace("{} received {} websocket messages since last refresh cycle, deferring refresh",
+                    thing.getUID(), recentMessages);
+            return;
+        }
+        refreshDeferrals = 0;
+
+        dueRegistrations.forEach(e -> e.getValue().nextRefresh = now
+                + TimeUnit.MINUTES.toMillis(e.getValue().intervalMinutes));
+        logger.trace("{} refreshing {} things", thing.getUID(), dueRegistrations.size());
+
+        getBridgeFullState().thenAccept(fullState -> fullState.ifPresent(state -> {
+            for (Map.Entry<DeconzBaseThingHandler, RefreshRegistration> entry : dueRegistrations) {
+                DeconzBaseThingHandler handler = entry.getKey();
+                DeconzBaseMessage message = state.getMessage(handler.resourceType, handler.config.id);
+                if (message != null) {
+                    handler.processRefresh(message);
+                }
+            }
+        })).exceptionally(e -> {
+            logger.debug("Refreshing things of {} failed", thing.getUID(), e);
+            return null;
+        });
+    }
+
     /**
      * Parses the response message to the API key generation REST API.
      *
@@ -198,7 +299,12 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
             if (r.getResponseCode() == 403) {
                 return Optional.ofNullable((BridgeFullState) null);
             } else if (r.getResponseCode() == 200) {
-                return Optional.ofNullable(gson.fromJson(r.getBody(), BridgeFullState.class));
+                BridgeFullState fullState = gson.fromJson(r.getBody(), BridgeFullState.class);
+                if (fullState != null) {
+                    commandQueue.setGroups(fullState.groups.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().lights)));
+                }
+                return Optional.ofNullable(fullState);
             } else {
                 throw new IllegalStateException("Unknown status code for full state request");
             }
@@ -308,7 +414,11 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         thingDisposing = false;
         config = getConfigAs(DeconzBridgeConfig.class);
         webSocketConnection.setWatchdogInterval(config.websocketTimeout);
+        commandQueue.setMaxInFlight(config.maxInFlightRequests);
         updateStatus(ThingStatus.UNKNOWN);
+        stopRefreshJob();
+        refreshJob = scheduler.scheduleWithFixedDelay(this::refreshCycle, REFRESH_CYCLE_INTERVAL_MIN,
+                REFRESH_CYCLE_INTERVAL_MIN, TimeUnit.MINUTES);
         if (config.apikey == null) {
             requestApiKey();
         } else {
@@ -320,6 +430,8 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
     public void dispose() {
         thingDisposing = true;
         stopTimer();
+        stopRefreshJob();
+        commandQueue.clear();
         webSocketConnection.dispose();
     }
 
@@ -353,6 +465,19 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         return webSocketConnection;
     }
 
+    /**
+     * Queue a command to the gateway
+     *
+     * Pending commands to the same endpoint are merged and the number of concurrent requests is limited.
+     *
+     * @param endPoint the endpoint (e.g. "lights/2/state")
+     * @param object the object (or null if no object)
+     * @return CompletableFuture of the result
+     */
+    public CompletableFuture<AsyncHttpClient.Result> queueCommand(String endPoint, @Nullable Object object) {
+        return commandQueue.send(endPoint, object);
+    }
+
     /**
      * Send an object to the gateway
      *
@@ -377,4 +502,14 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
 
         return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown HTTP Method"));
     }
+
+    private static class RefreshRegistration {
+        private final int intervalMinutes;
+        private volatile long nextRefresh;
+
+        public RefreshRegistration(int intervalMinutes) {
+            this.intervalMinutes = intervalMinutes;
+            this.nextRefresh = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(intervalMinutes);
+        }
+    }
 }
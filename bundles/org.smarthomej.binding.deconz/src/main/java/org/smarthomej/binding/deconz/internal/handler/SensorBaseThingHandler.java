@@ -212,6 +212,16 @@ public abstract class SensorBaseThingHandler extends DeconzBaseThingHandler {
     @Override
     public void messageReceived(DeconzBaseMessage message) {
         logger.trace("{} received {}", thing.getUID(), message);
+        processSensorMessage(message, false);
+    }
+
+    @Override
+    protected void refreshReceived(DeconzBaseMessage stateResponse) {
+        // the refreshed state contains the last event again, it must not trigger the event channels
+        processSensorMessage(stateResponse, true);
+    }
+
+    private void processSensorMessage(DeconzBaseMessage message, boolean initializing) {
         if (message instanceof SensorMessage) {
             SensorMessage sensorMessage = (SensorMessage) message;
             SensorConfig sensorConfig = sensorMessage.config;
@@ -225,7 +235,7 @@ public abstract class SensorBaseThingHandler extends DeconzBaseThingHandler {
             }
             SensorState sensorState = sensorMessage.state;
             if (sensorState != null) {
-                updateChannels(sensorState, false);
+                updateChannels(sensorState, initializing);
             }
         }
     }
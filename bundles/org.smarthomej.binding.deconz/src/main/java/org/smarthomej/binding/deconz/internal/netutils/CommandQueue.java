@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.deconz.internal.netutils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * The {@link CommandQueue} queues commands to the gateway.
+ *
+ * Pending state changes for the same resource are merged into one request, superseded values are dropped. Only one
+ * request per resource and a configurable number of requests in total are in-flight at the same time. If the same
+ * state change is pending for all members of a group, a single group command is sent instead.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueue {
+    private static final Set<String> COALESCABLE_KEYS = Set.of("on", "bri", "hue", "sat", "ct", "xy", "transitiontime",
+            "ontime");
+    private static final Set<String> CT_KEYS = Set.of("ct");
+    private static final Set<String> XY_KEYS = Set.of("xy");
+    private static final Set<String> HS_KEYS = Set.of("hue", "sat");
+    private static final Set<String> GROUP_KEYS = Set.of("on", "bri", "hue", "sat", "ct", "xy", "transitiontime");
+    private static final String LIGHT_PREFIX = "lights/";
+    private static final String LIGHT_STATE_SUFFIX = "/state";
+
+    private final Logger logger = LoggerFactory.getLogger(CommandQueue.class);
+    private final CommandSender sender;
+    private final Gson gson;
+
+    private final List<PendingCommand> queue = new ArrayList<>();
+    private final Set<String> inFlightEndpoints = new HashSet<>();
+    private Map<Set<String>, String> groupsByMembers = Map.of();
+    private int maxInFlight;
+
+    public CommandQueue(CommandSender sender, Gson gson, int maxInFlight) {
+        this.sender = sender;
+        this.gson = gson;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * set the maximum number of concurrent requests
+     *
+     * @param maxInFlight the maximum number of requests
+     */
+    public synchronized void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * set the group memberships (used for replacing light commands by group commands)
+     *
+     * @param groups a map of group ids to the ids of their member lights
+     */
+    public synchronized void setGroups(Map<String, List<String>> groups) {
+        Map<Set<String>, String> groupsByMembers = new HashMap<>();
+        groups.forEach((groupId, lights) -> {
+            if (lights.size() > 1) {
+                groupsByMembers.put(Set.copyOf(lights), groupId);
+            }
+        });
+        this.groupsByMembers = groupsByMembers;
+    }
+
+    /**
+     * queue a command
+     *
+     * @param endpoint the endpoint (e.g. "lights/2/state")
+     * @param object the object (or null if no object)
+     * @return CompletableFuture of the result
+     */
+    public CompletableFuture<AsyncHttpClient.Result> send(String endpoint, @Nullable Object object) {
+        JsonElement body = object == null ? null : gson.toJsonTree(object);
+        CompletableFuture<AsyncHttpClient.Result> future = new CompletableFuture<>();
+        synchronized (this) {
+            PendingCommand lastPending = null;
+            for (int i = queue.size() - 1; i >= 0; i--) {
+                if (queue.get(i).endpoint.equals(endpoint)) {
+                    lastPending = queue.get(i);
+                    break;
+                }
+            }
+            if (lastPending != null && lastPending.isCoalescable() && isCoalescable(body)) {
+                lastPending.merge((JsonObject) body, future);
+                logger.trace("Merged command to {}, now pending: {}", endpoint, lastPending.body);
+            } else {
+                queue.add(new PendingCommand(endpoint, body, List.of(future)));
+            }
+        }
+        processQueue();
+        return future;
+    }
+
+    /**
+     * remove all pending commands
+     */
+    public void clear() {
+        List<PendingCommand> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(queue);
+            queue.clear();
+        }
+        removed.forEach(command -> command.futures.forEach(f -> f.cancel(false)));
+    }
+
+    private void processQueue() {
+        List<PendingCommand> toSend = new ArrayList<>();
+        synchronized (this) {
+            replaceByGroupCommands();
+            Iterator<PendingCommand> iterator = queue.iterator();
+            while (iterator.hasNext() && inFlightEndpoints.size() < maxInFlight) {
+                PendingCommand command = iterator.next();
+                // only one request per endpoint, so that the order of commands to the same resource is kept
+                if (inFlightEndpoints.add(command.endpoint)) {
+                    iterator.remove();
+                    toSend.add(command);
+                }
+            }
+        }
+        toSend.forEach(this::dispatch);
+    }
+
+    private void dispatch(PendingCommand command) {
+        sender.send(command.endpoint, command.body).whenComplete((result, e) -> {
+            synchronized (this) {
+                inFlightEndpoints.remove(command.endpoint);
+            }
+            command.futures.forEach(f -> {
+                if (e != null) {
+                    f.completeExceptionally(e);
+                } else {
+                    f.complete(result);
+                }
+            });
+            processQueue();
+        });
+    }
+
+    /**
+     * replace pending identical light commands by a group command if they cover all members of a group
+     *
+     * must be called while holding the lock
+     */
+    private void replaceByGroupCommands() {
+        if (groupsByMembers.isEmpty() || queue.size() < 2) {
+            return;
+        }
+
+        Map<String, Integer> endpointCount = new HashMap<>();
+        queue.forEach(command -> endpointCount.merge(command.endpoint, 1, Integer::sum));
+
+        Map<String, List<PendingCommand>> lightCommandsByBody = new HashMap<>();
+        for (PendingCommand command : queue) {
+            String endpoint = command.endpoint;
+            if (endpoint.startsWith(LIGHT_PREFIX) && endpoint.endsWith(LIGHT_STATE_SUFFIX)
+                    && endpointCount.getOrDefault(endpoint, 0) == 1 && !inFlightEndpoints.contains(endpoint)
+                    && command.body instanceof JsonObject
+                    && GROUP_KEYS.containsAll(((JsonObject) command.body).keySet())) {
+                lightCommandsByBody.computeIfAbsent(command.body.toString(), k -> new ArrayList<>()).add(command);
+            }
+        }
+
+        lightCommandsByBody.values().forEach(commands -> {
+            if (commands.size() < 2) {
+                return;
+            }
+            Set<String> lightIds = new HashSet<>();
+            commands.forEach(command -> lightIds.add(command.endpoint.substring(LIGHT_PREFIX.length(),
+                    command.endpoint.length() - LIGHT_STATE_SUFFIX.length())));
+            String groupId = groupsByMembers.get(lightIds);
+            if (groupId == null) {
+                return;
+            }
+
+            List<CompletableFuture<AsyncHttpClient.Result>> futures = new ArrayList<>();
+            commands.forEach(command -> futures.addAll(command.futures));
+            int index = queue.indexOf(commands.get(0));
+            queue.removeAll(commands);
+            PendingCommand groupCommand = new PendingCommand("groups/" + groupId + "/action", commands.get(0).body,
+                    futures);
+            queue.add(index, groupCommand);
+            logger.trace("Replaced commands to lights {} by command to group {}: {}", lightIds, groupId,
+                    groupCommand.body);
+        });
+    }
+
+    private static boolean isCoalescable(@Nullable JsonElement body) {
+        return body instanceof JsonObject && COALESCABLE_KEYS.containsAll(((JsonObject) body).keySet());
+    }
+
+    private static class PendingCommand {
+        private final String endpoint;
+        private @Nullable JsonElement body;
+        private final List<CompletableFuture<AsyncHttpClient.Result>> futures;
+
+        public PendingCommand(String endpoint, @Nullable JsonElement body,
+                List<CompletableFuture<AsyncHttpClient.Result>> futures) {
+            this.endpoint = endpoint;
+            this.body = body;
+            this.futures = new ArrayList<>(futures);
+        }
+
+        public boolean isCoalescable() {
+            return CommandQueue.isCoalescable(body);
+        }
+
+        public void merge(JsonObject newBody, CompletableFuture<AsyncHttpClient.Result> future) {
+            JsonObject oldBody = (JsonObject) body;
+            JsonElement newOn = newBody.get("on");
+            if (oldBody == null || (newOn != null && !newOn.getAsBoolean())) {
+                // switching off supersedes all other pending values
+                body = newBody.deepCopy();
+            } else {
+                // a new color mode supersedes pending values of the other color modes
+                Set<String> newKeys = newBody.keySet();
+                if (newKeys.stream().anyMatch(CT_KEYS::contains)) {
+                    removeKeys(oldBody, XY_KEYS, HS_KEYS);
+                }
+                if (newKeys.stream().anyMatch(XY_KEYS::contains)) {
+                    removeKeys(oldBody, CT_KEYS, HS_KEYS);
+                }
+                if (newKeys.stream().anyMatch(HS_KEYS::contains)) {
+                    removeKeys(oldBody, CT_KEYS, XY_KEYS);
+                }
+                newBody.entrySet().forEach(e -> oldBody.add(e.getKey(), e.getValue()));
+            }
+            futures.add(future);
+        }
+
+        @SafeVarargs
+        private static void removeKeys(JsonObject body, Set<String>... keySets) {
+            for (Set<String> keys : keySets) {
+                keys.forEach(body::remove);
+            }
+        }
+    }
+
+    /**
+     * The {@link CommandSender} sends a single request to the gateway
+     */
+    @FunctionalInterface
+    public interface CommandSender {
+        /**
+         * send a command
+         *
+         * @param endpoint the endpoint (e.g. "lights/2/state")
+         * @param body the JSON body (or null if no body)
+         * @return CompletableFuture of the result
+         */
+        CompletableFuture<AsyncHttpClient.Result> send(String endpoint, @Nullable JsonElement body);
+    }
+}
@@ -14,6 +14,7 @@
 package org.smarthomej.binding.deconz.internal.netutils;
 
 import java.net.URI;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +22,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -38,6 +40,9 @@ import org.smarthomej.binding.deconz.internal.dto.DeconzBaseMessage;
 import org.smarthomej.binding.deconz.internal.types.ResourceType;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
@@ -50,6 +55,7 @@ import com.google.gson.Gson;
 @NonNullByDefault
 public class WebSocketConnection {
     private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+    private static final int WATCHDOG_CHECK_INTERVAL_SEC = 1;
     private final Logger logger = LoggerFactory.getLogger(WebSocketConnection.class);
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
 
@@ -59,10 +65,13 @@ public class WebSocketConnection {
     private int watchdogInterval;
 
     private final WebSocketConnectionListener connectionListener;
-    private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
+    private final Map<ResourceType, Map<String, WebSocketMessageListener>> listeners = new EnumMap<>(
+            ResourceType.class);
 
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable ScheduledFuture<?> watchdogJob;
+    private volatile long lastMessageTimestamp = 0;
+    private final AtomicLong messageCounter = new AtomicLong();
 
     private @Nullable Session session;
 
@@ -74,6 +83,10 @@ public class WebSocketConnection {
         this.gson = gson;
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
         this.watchdogInterval = watchdogInterval;
+        // the map is populated once and never modified structurally afterwards, so concurrent reads are safe
+        for (ResourceType resourceType : ResourceType.values()) {
+            listeners.put(resourceType, new ConcurrentHashMap<>());
+        }
     }
 
     public void setWatchdogInterval(int watchdogInterval) {
@@ -107,12 +120,19 @@ public class WebSocketConnection {
         }
     }
 
-    private void startOrResetWatchdogTimer() {
+    private void startWatchdogTimer() {
         stopWatchdogTimer(); // stop already running timer
-        watchdogJob = scheduler.schedule(
-                () -> connectionListener.webSocketConnectionLost(
-                        "Watchdog timed out after " + watchdogInterval + "s. Websocket seems to be dead."),
-                watchdogInterval, TimeUnit.SECONDS);
+        lastMessageTimestamp = System.nanoTime();
+        watchdogJob = scheduler.scheduleWithFixedDelay(this::checkWatchdog, WATCHDOG_CHECK_INTERVAL_SEC,
+                WATCHDOG_CHECK_INTERVAL_SEC, TimeUnit.SECONDS);
+    }
+
+    private void checkWatchdog() {
+        if (System.nanoTime() - lastMessageTimestamp > TimeUnit.SECONDS.toNanos(watchdogInterval)) {
+            stopWatchdogTimer();
+            connectionListener.webSocketConnectionLost(
+                    "Watchdog timed out after " + watchdogInterval + "s. Websocket seems to be dead.");
+        }
     }
 
     private void stopWatchdogTimer() {
@@ -140,11 +160,11 @@ public class WebSocketConnection {
     }
 
     public void registerListener(ResourceType resourceType, String sensorID, WebSocketMessageListener listener) {
-        listeners.put(getListenerId(resourceType, sensorID), listener);
+        getListeners(resourceType).put(sensorID, listener);
     }
 
     public void unregisterListener(ResourceType resourceType, String sensorID) {
-        listeners.remove(getListenerId(resourceType, sensorID));
+        getListeners(resourceType).remove(sensorID);
     }
 
     @SuppressWarnings("unused")
@@ -154,7 +174,7 @@ public class WebSocketConnection {
         logger.debug("{} successfully connected to {}: {}", socketName, session.getRemoteAddress().getAddress(),
                 session.hashCode());
         connectionListener.webSocketConnectionEstablished();
-        startOrResetWatchdogTimer();
+        startWatchdogTimer();
         this.session = session;
     }
 
@@ -165,43 +185,47 @@ public class WebSocketConnection {
             handleWrongSession(session, message);
             return;
         }
-        startOrResetWatchdogTimer();
+        lastMessageTimestamp = System.nanoTime();
+        messageCounter.incrementAndGet();
         logger.trace("{} received raw data: {}", socketName, message);
 
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
+            // parse the message only once, the routing keys are read from the tree before it is bound to the DTO
+            JsonObject json = JsonParser.parseString(message).getAsJsonObject();
+            String r = getString(json, "r");
+            ResourceType messageType = r.isEmpty() ? ResourceType.UNKNOWN : ResourceType.fromString(r);
+            if (messageType == ResourceType.UNKNOWN) {
                 logger.trace("Received message has unknown resource type. Skipping message.");
                 return;
             }
 
-            ResourceType resourceType = changedMessage.r;
-            String resourceId = changedMessage.id;
+            ResourceType resourceType = messageType;
+            String resourceId = getString(json, "id");
 
             if (resourceType == ResourceType.SCENES) {
                 // scene recalls
                 resourceType = ResourceType.GROUPS;
-                resourceId = changedMessage.gid;
+                resourceId = getString(json, "gid");
             }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(resourceType, resourceId));
+            WebSocketMessageListener listener = getListeners(resourceType).get(resourceId);
             if (listener == null) {
                 logger.debug(
                         "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
+                        resourceId, messageType);
                 return;
             }
 
             // we still need the original resource type here
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
+            Class<? extends DeconzBaseMessage> expectedMessageType = messageType.getExpectedMessageType();
             if (expectedMessageType == null) {
                 logger.warn(
                         "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
+                        messageType);
                 return;
             }
 
-            DeconzBaseMessage deconzMessage = Objects.requireNonNull(gson.fromJson(message, expectedMessageType));
+            DeconzBaseMessage deconzMessage = Objects.requireNonNull(gson.fromJson(json, expectedMessageType));
             listener.messageReceived(deconzMessage);
         } catch (RuntimeException e) {
             // we need to catch all processing exceptions, otherwise they could affect the connection
@@ -259,14 +283,34 @@ public class WebSocketConnection {
     }
 
     /**
-     * create a unique identifier for a listener
+     * get the number of messages received on this connection
+     *
+     * @return the total number of received messages
+     */
+    public long getMessageCount() {
+        return messageCounter.get();
+    }
+
+    /**
+     * get the listeners for a resource type
      *
      * @param resourceType the listener resource-type (LIGHT, SENSOR, ...)
-     * @param id the listener id (same as deconz-id)
-     * @return a unique string for this listener
+     * @return the map of listeners for this resource type, keyed by deconz-id
+     */
+    private Map<String, WebSocketMessageListener> getListeners(ResourceType resourceType) {
+        return Objects.requireNonNull(listeners.get(resourceType));
+    }
+
+    /**
+     * get a string value from a JSON object
+     *
+     * @param json the JSON object
+     * @param key the key of the value
+     * @return the value or an empty string if the key is not present or not a primitive
      */
-    private String getListenerId(ResourceType resourceType, String id) {
-        return resourceType.name() + "$" + id;
+    private static String getString(JsonObject json, String key) {
+        JsonElement element = json.get(key);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : "";
     }
 
     /**
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.deconz;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.smarthomej.binding.deconz.internal.dto.LightState;
+import org.smarthomej.binding.deconz.internal.netutils.AsyncHttpClient;
+import org.smarthomej.binding.deconz.internal.netutils.CommandQueue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+/**
+ * This class provides tests for the deconz command queue
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueueTest {
+    private static final AsyncHttpClient.Result OK = new AsyncHttpClient.Result("", 200);
+
+    private final List<SentCommand> sentCommands = new ArrayList<>();
+    private @NonNullByDefault({}) CommandQueue commandQueue;
+
+    @BeforeEach
+    public void initialize() {
+        sentCommands.clear();
+        commandQueue = new CommandQueue((endpoint, body) -> {
+            SentCommand sentCommand = new SentCommand(endpoint, body);
+            sentCommands.add(sentCommand);
+            return sentCommand.future;
+        }, new Gson(), 1);
+    }
+
+    @Test
+    public void pendingCommandsAreMerged() {
+        CompletableFuture<AsyncHttpClient.Result> first = commandQueue.send("lights/1/state", lightState(true, 10));
+        CompletableFuture<AsyncHttpClient.Result> second = commandQueue.send("lights/1/state", lightState(true, 20));
+        CompletableFuture<AsyncHttpClient.Result> third = commandQueue.send("lights/1/state", lightState(null, 30));
+
+        assertEquals(1, sentCommands.size());
+        sentCommands.get(0).future.complete(OK);
+        assertTrue(first.isDone());
+
+        assertEquals(2, sentCommands.size());
+        assertEquals("{\"on\":true,\"bri\":30}", String.valueOf(sentCommands.get(1).body));
+        sentCommands.get(1).future.complete(OK);
+        assertTrue(second.isDone());
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    public void switchingOffSupersedesPendingValues() {
+        commandQueue.send("lights/1/state", lightState(true, 10));
+        commandQueue.send("lights/1/state", lightState(true, 20));
+        commandQueue.send("lights/1/state", lightState(false, null));
+
+        sentCommands.get(0).future.complete(OK);
+        assertEquals(2, sentCommands.size());
+        assertEquals("{\"on\":false}", String.valueOf(sentCommands.get(1).body));
+    }
+
+    @Test
+    public void newColorModeSupersedesPendingColorMode() {
+        commandQueue.send("lights/1/state", lightState(true, 10));
+
+        LightState xyState = lightState(null, 20);
+        xyState.xy = new double[] { 0.3, 0.4 };
+        commandQueue.send("lights/1/state", xyState);
+        LightState ctState = lightState(null, null);
+        ctState.ct = 300;
+        commandQueue.send("lights/1/state", ctState);
+
+        sentCommands.get(0).future.complete(OK);
+        assertEquals(2, sentCommands.size());
+        assertEquals("{\"bri\":20,\"ct\":300}", String.valueOf(sentCommands.get(1).body));
+
+        LightState hsState = lightState(null, null);
+        hsState.hue = 1000;
+        hsState.sat = 200;
+        commandQueue.send("lights/1/state", hsState);
+        xyState = lightState(null, null);
+        xyState.xy = new double[] { 0.5, 0.5 };
+        commandQueue.send("lights/1/state", xyState);
+
+        sentCommands.get(1).future.complete(OK);
+        assertEquals(3, sentCommands.size());
+        assertEquals("{\"xy\":[0.5,0.5]}", String.valueOf(sentCommands.get(2).body));
+    }
+
+    @Test
+    public void identicalCommandsToAllGroupMembersAreReplacedByGroupCommand() {
+        commandQueue.setGroups(Map.of("5", List.of("1", "2")));
+
+        commandQueue.send("lights/3/state", lightState(true, 10));
+        CompletableFuture<AsyncHttpClient.Result> first = commandQueue.send("lights/1/state", lightState(true, 50));
+        CompletableFuture<AsyncHttpClient.Result> second = commandQueue.send("lights/2/state", lightState(true, 50));
+
+        sentCommands.get(0).future.complete(OK);
+        assertEquals(2, sentCommands.size());
+        assertEquals("groups/5/action", sentCommands.get(1).endpoint);
+
+        sentCommands.get(1).future.complete(OK);
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(2, sentCommands.size());
+    }
+
+    private LightState lightState(@Nullable Boolean on, @Nullable Integer bri) {
+        LightState lightState = new LightState();
+        lightState.on = on;
+        lightState.bri = bri;
+        return lightState;
+    }
+
+    private static class SentCommand {
+        public final String endpoint;
+        public final @Nullable JsonElement body;
+        public final CompletableFuture<AsyncHttpClient.Result> future = new CompletableFuture<>();
+
+        public SentCommand(String endpoint, @Nullable JsonElement body) {
+            this.endpoint = endpoint;
+            this.body = body;
+        }
+    }
+}
@@ -14,6 +14,8 @@
 package org.smarthomej.binding.deconz;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.smarthomej.binding.deconz.internal.BindingConstants.*;
 
@@ -38,6 +40,7 @@ import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.ThingHandlerCallback;
 import org.openhab.core.thing.binding.builder.ChannelBuilder;
 import org.openhab.core.thing.binding.builder.ThingBuilder;
+import org.openhab.core.thing.type.ChannelKind;
 import org.openhab.core.types.UnDefType;
 import org.smarthomej.binding.deconz.internal.dto.SensorMessage;
 import org.smarthomej.binding.deconz.internal.handler.SensorThermostatThingHandler;
@@ -145,4 +148,30 @@ public class SensorsTest {
         Mockito.verify(thingHandlerCallback).stateUpdated(eq(channelFireUID), eq(OnOffType.OFF));
         Mockito.verify(thingHandlerCallback).stateUpdated(eq(channelBatteryLevelUID), eq(new DecimalType(98)));
     }
+
+    @Test
+    public void switchRefreshDoesNotTriggerTest() throws IOException {
+        SensorMessage sensorMessage = DeconzTest.getObjectFromJson("switch.json", SensorMessage.class, gson);
+        assertNotNull(sensorMessage);
+
+        ThingUID thingUID = new ThingUID("deconz", "sensor");
+        ChannelUID channelButtonUID = new ChannelUID(thingUID, CHANNEL_BUTTON);
+        ChannelUID channelButtonEventUID = new ChannelUID(thingUID, CHANNEL_BUTTONEVENT);
+
+        Thing sensor = ThingBuilder.create(THING_TYPE_SWITCH, thingUID)
+                .withChannel(ChannelBuilder.create(channelButtonUID, "Number").build())
+                .withChannel(ChannelBuilder.create(channelButtonEventUID).withKind(ChannelKind.TRIGGER).build())
+                .build();
+        SensorThingHandler sensorThingHandler = new SensorThingHandler(sensor, gson);
+        sensorThingHandler.setCallback(thingHandlerCallback);
+
+        // the refresh contains the last button event again, which must not trigger the channel
+        sensorThingHandler.processRefresh(sensorMessage);
+        Mockito.verify(thingHandlerCallback).stateUpdated(eq(channelButtonUID), eq(new DecimalType(1002)));
+        Mockito.verify(thingHandlerCallback, Mockito.never()).channelTriggered(any(), any(), anyString());
+
+        // a websocket message is a new event
+        sensorThingHandler.messageReceived(sensorMessage);
+        Mockito.verify(thingHandlerCallback).channelTriggered(any(), eq(channelButtonEventUID), eq("1002"));
+    }
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.mail.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Folder;
+import javax.mail.MessagingException;
+import javax.mail.event.MessageCountAdapter;
+import javax.mail.event.MessageCountEvent;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.mail.imap.IMAPFolder;
+
+/**
+ * The {@link IMAPIdleWatcher} keeps an IMAP folder in IDLE state on its own connection and notifies a listener when
+ * new messages arrive in that folder. If the connection fails, the folder is re-opened after a delay.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class IMAPIdleWatcher {
+    private static final long RETRY_DELAY = TimeUnit.SECONDS.toMillis(60);
+
+    private final Logger logger = LoggerFactory.getLogger(IMAPIdleWatcher.class);
+
+    private final String folderName;
+    private final FolderOpener folderOpener;
+    private final Runnable newMessagesListener;
+
+    private @Nullable Thread thread;
+    private volatile @Nullable Folder folder;
+    private volatile boolean running = false;
+
+    @FunctionalInterface
+    public interface FolderOpener {
+        Folder open(String folderName) throws MessagingException;
+    }
+
+    /**
+     * create a new watcher
+     *
+     * @param folderName the name of the folder that shall be watched
+     * @param folderOpener a method that returns the opened folder
+     * @param newMessagesListener called when new messages arrived in the folder
+     */
+    public IMAPIdleWatcher(String folderName, FolderOpener folderOpener, Runnable newMessagesListener) {
+        this.folderName = folderName;
+        this.folderOpener = folderOpener;
+        this.newMessagesListener = newMessagesListener;
+    }
+
+    /**
+     * start watching the folder
+     *
+     * @param threadName the name of the thread that is used for IDLE
+     */
+    public void start(String threadName) {
+        running = true;
+        Thread thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+        this.thread = thread;
+    }
+
+    /**
+     * stop watching the folder and close the connection
+     */
+    public void stop() {
+        running = false;
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.interrupt();
+            this.thread = null;
+        }
+        // closing the folder terminates a running IDLE command
+        closeFolder();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Folder folder = folderOpener.open(folderName);
+                this.folder = folder;
+                if (!(folder instanceof IMAPFolder)) {
+                    logger.debug("Folder '{}' does not support IDLE", folderName);
+                    closeFolder();
+                    return;
+                }
+                folder.addMessageCountListener(new MessageCountAdapter() {
+                    @Override
+                    public void messagesAdded(@Nullable MessageCountEvent e) {
+                        newMessagesListener.run();
+                    }
+                });
+                logger.debug("Waiting for new messages in folder '{}'", folderName);
+                while (running && folder.isOpen()) {
+                    ((IMAPFolder) folder).idle(true);
+                }
+            } catch (MessagingException | IllegalStateException e) {
+                if (running) {
+                    logger.debug("IDLE on folder '{}' failed, retrying in {} ms: {}", folderName, RETRY_DELAY,
+                            e.getMessage());
+                }
+            } finally {
+                closeFolder();
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void closeFolder() {
+        Folder folder = this.folder;
+        this.folder = null;
+        if (folder != null && folder.isOpen()) {
+            try {
+                folder.close(false);
+            } catch (MessagingException | IllegalStateException e) {
+                logger.trace("Failed to close folder '{}': {}", folderName, e.getMessage());
+            }
+        }
+    }
+}
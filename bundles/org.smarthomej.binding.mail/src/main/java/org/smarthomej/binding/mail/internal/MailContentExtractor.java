@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.mail.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import javax.mail.internet.ContentType;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.internet.MimeUtility;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link MailContentExtractor} converts the content of a mail to a string.
+ *
+ * If a MIME type is configured, only the first part with that MIME type (e.g. <code>text/plain</code>) is read. Other
+ * parts (e.g. attachments) are not retrieved from the server. Otherwise the complete content is used, with all parts
+ * of MIME multipart messages concatenated. In both cases reading stops once the maximum size is reached.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MailContentExtractor {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(MailContentExtractor.class);
+
+    private final @Nullable String mimeType;
+    private final int maxSize;
+
+    /**
+     * create a new extractor
+     *
+     * @param mimeType the MIME type of the part that shall be extracted (<code>null</code> or empty for the complete
+     *            content)
+     * @param maxSize the maximum number of bytes (or characters for plain text content) that are read
+     */
+    public MailContentExtractor(@Nullable String mimeType, int maxSize) {
+        this.mimeType = mimeType == null || mimeType.isBlank() ? null : mimeType.trim();
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * extract the content of a mail
+     *
+     * @param message the mail (or any other MIME part)
+     * @return the content or <code>null</code> if the content could not be converted or no matching part was found
+     * @throws MessagingException if the message structure could not be retrieved
+     * @throws IOException if reading the content failed
+     */
+    public @Nullable String extract(Part message) throws MessagingException, IOException {
+        String mimeType = this.mimeType;
+        if (mimeType == null) {
+            return extractComplete(message);
+        }
+        Part part = findPart(message, mimeType);
+        if (part == null) {
+            logger.trace("No part with MIME type '{}' found", mimeType);
+            return null;
+        }
+        return readPart(part);
+    }
+
+    private @Nullable String extractComplete(Part message) throws MessagingException, IOException {
+        Object rawContent = message.getContent();
+        if (rawContent instanceof String) {
+            logger.trace("Detected plain text message");
+            String content = (String) rawContent;
+            return content.length() > maxSize ? content.substring(0, maxSize) : content;
+        }
+        LimitedOutputStream os = new LimitedOutputStream(maxSize);
+        try {
+            if (rawContent instanceof MimeMessage) {
+                logger.trace("Detected MIME message");
+                ((MimeMessage) rawContent).writeTo(os);
+            } else if (rawContent instanceof MimeMultipart) {
+                logger.trace("Detected MIME multipart message");
+                ((MimeMultipart) rawContent).writeTo(os);
+            } else {
+                return null;
+            }
+        } catch (IOException | MessagingException | LimitReachedException e) {
+            if (!os.isLimitReached()) {
+                throw e;
+            }
+            logger.debug("Content exceeds maximum size of {} bytes, using truncated content", maxSize);
+        }
+        return os.toString();
+    }
+
+    private @Nullable Part findPart(Part part, String mimeType) throws MessagingException, IOException {
+        if (part.isMimeType(mimeType) && !Part.ATTACHMENT.equalsIgnoreCase(part.getDisposition())) {
+            return part;
+        } else if (part.isMimeType("multipart/*")) {
+            // only the structure is retrieved here, the content of the parts is loaded on demand
+            Multipart multipart = (Multipart) part.getContent();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                Part found = findPart(multipart.getBodyPart(i), mimeType);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (part.isMimeType("message/rfc822")) {
+            return findPart((Part) part.getContent(), mimeType);
+        }
+        return null;
+    }
+
+    private String readPart(Part part) throws MessagingException, IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        byte[] buffer = new byte[Math.min(maxSize, BUFFER_SIZE)];
+        try (InputStream is = part.getInputStream()) {
+            int read;
+            while (os.size() < maxSize
+                    && (read = is.read(buffer, 0, Math.min(buffer.length, maxSize - os.size()))) != -1) {
+                os.write(buffer, 0, read);
+            }
+        }
+        if (os.size() == maxSize) {
+            logger.debug("Part exceeds maximum size of {} bytes, using truncated content", maxSize);
+        }
+        return os.toString(getCharset(part));
+    }
+
+    private Charset getCharset(Part part) {
+        try {
+            String charset = new ContentType(part.getContentType()).getParameter("charset");
+            if (charset != null) {
+                return Charset.forName(MimeUtility.javaCharset(charset));
+            }
+        } catch (MessagingException | IllegalArgumentException e) {
+            logger.debug("Could not determine charset, using UTF-8: {}", e.getMessage());
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * An {@link ByteArrayOutputStream} that fails when more than the given number of bytes are written, so that
+     * writing (and downloading) the content is stopped
+     */
+    private static class LimitedOutputStream extends ByteArrayOutputStream {
+        private final int limit;
+        private boolean limitReached = false;
+
+        public LimitedOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count >= limit) {
+                limitReached = true;
+                throw new LimitReachedException();
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int remaining = limit - count;
+            if (len > remaining) {
+                super.write(b, off, remaining);
+                limitReached = true;
+                throw new LimitReachedException();
+            }
+            super.write(b, off, len);
+        }
+
+        public boolean isLimitReached() {
+            return limitReached;
+        }
+    }
+
+    private static class LimitReachedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -16,23 +16,31 @@ package org.smarthomej.binding.mail.internal;
 import static org.smarthomej.binding.mail.internal.MailBindingConstants.CHANNEL_TYPE_UID_FOLDER_MAILCOUNT;
 import static org.smarthomej.binding.mail.internal.MailBindingConstants.CHANNEL_TYPE_UID_MAIL_CONTENT;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.mail.Address;
+import javax.mail.FetchProfile;
 import javax.mail.Flags;
 import javax.mail.Folder;
 import javax.mail.Message;
 import javax.mail.MessagingException;
 import javax.mail.Session;
 import javax.mail.Store;
-import javax.mail.internet.MimeMessage;
-import javax.mail.internet.MimeMultipart;
+import javax.mail.UIDFolder;
 import javax.mail.search.FlagTerm;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -54,6 +62,9 @@ import org.smarthomej.binding.mail.internal.config.POP3IMAPMailCountChannelConfi
 import org.smarthomej.commons.transform.ValueTransformation;
 import org.smarthomej.commons.transform.ValueTransformationProvider;
 
+import com.sun.mail.imap.IMAPMessage;
+import com.sun.mail.imap.IMAPStore;
+
 /**
  * The {@link POP3IMAPHandler} is responsible for handling commands, which are
  * sent to one of the channels.
@@ -66,8 +77,17 @@ public class POP3IMAPHandler extends BaseThingHandler {
 
     private final ValueTransformationProvider valueTransformationProvider;
 
+    private static final FlagTerm UNSEEN_TERM = new FlagTerm(new Flags(Flags.Flag.SEEN), false);
+    private static final long IDLE_REFRESH_DELAY = 1000; // in ms
+
     private @NonNullByDefault({}) POP3IMAPConfig config;
+    private @NonNullByDefault({}) Session session;
+    private volatile @Nullable Store store;
     private @Nullable ScheduledFuture<?> refreshTask;
+    private @Nullable ScheduledFuture<?> idleRefreshTask;
+    private final Map<String, FolderState> folderStates = new ConcurrentHashMap<>();
+    private final Map<ChannelUID, ContentChannel> contentChannelCache = new ConcurrentHashMap<>();
+    private final List<IMAPIdleWatcher> idleWatchers = new ArrayList<>();
     private final String baseProtocol;
     private String protocol = "imap";
 
@@ -111,6 +131,13 @@ public class POP3IMAPHandler extends BaseThingHandler {
             }
         }
 
+        Properties props = new Properties();
+        props.setProperty("mail." + baseProtocol + ".starttls.enable", "true");
+        props.setProperty("mail.store.protocol", protocol);
+        session = Session.getInstance(props);
+        folderStates.clear();
+        contentChannelCache.clear();
+
         refreshTask = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
         updateStatus(ThingStatus.ONLINE);
     }
@@ -122,99 +149,309 @@ public class POP3IMAPHandler extends BaseThingHandler {
             refreshTask.cancel(true);
             this.refreshTask = null;
         }
+        ScheduledFuture<?> idleRefreshTask = this.idleRefreshTask;
+        if (idleRefreshTask != null) {
+            idleRefreshTask.cancel(true);
+            this.idleRefreshTask = null;
+        }
+        stopIdleWatchers();
+        closeStore();
     }
 
-    private void refresh() {
+    /**
+     * get the store of this thing and (re-)connect it if necessary
+     *
+     * @return the connected store
+     * @throws MessagingException if connecting failed
+     */
+    private synchronized Store getConnectedStore() throws MessagingException {
+        Store store = this.store;
+        if (store == null || !store.isConnected()) {
+            if (store != null) {
+                logger.debug("Connection of thing '{}' lost, re-connecting", thing.getUID());
+            }
+            store = session.getStore();
+            store.connect(config.hostname, config.port, config.username, config.password);
+            this.store = store;
+        }
+        return store;
+    }
+
+    private void closeStore() {
+        Store store = this.store;
+        this.store = null;
+        if (store != null) {
+            try {
+                store.close();
+            } catch (MessagingException e) {
+                logger.debug("Failed to close connection of thing '{}': {}", thing.getUID(), e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void refresh() {
         if (Thread.currentThread().isInterrupted()) {
             return;
         }
-        Properties props = new Properties();
-        props.setProperty("mail." + baseProtocol + ".starttls.enable", "true");
-        props.setProperty("mail.store.protocol", protocol);
-        Session session = Session.getInstance(props);
 
-        try (Store store = session.getStore()) {
-            store.connect(config.hostname, config.port, config.username, config.password);
+        // group the channels by folder, so that each folder is only opened once
+        Map<String, List<Channel>> channelsByFolder = new LinkedHashMap<>();
+        for (Channel channel : thing.getChannels()) {
+            String folderName;
+            if (CHANNEL_TYPE_UID_FOLDER_MAILCOUNT.equals(channel.getChannelTypeUID())) {
+                folderName = channel.getConfiguration().as(POP3IMAPMailCountChannelConfig.class).folder;
+            } else if (CHANNEL_TYPE_UID_MAIL_CONTENT.equals(channel.getChannelTypeUID())) {
+                folderName = channel.getConfiguration().as(POP3IMAPContentChannelConfig.class).folder;
+            } else {
+                continue;
+            }
+            if (folderName == null || folderName.isEmpty()) {
+                logger.info("missing or empty folder name in channel '{}'", channel.getUID());
+            } else {
+                channelsByFolder.computeIfAbsent(folderName, k -> new ArrayList<>()).add(channel);
+            }
+        }
 
-            for (Channel channel : thing.getChannels()) {
+        try {
+            Store store = getConnectedStore();
+            startIdleWatchers(store, channelsByFolder.keySet());
+            for (Map.Entry<String, List<Channel>> entry : channelsByFolder.entrySet()) {
+                refreshFolder(store, entry.getKey(), entry.getValue());
+            }
+        } catch (MessagingException | IOException e) {
+            logger.info("Failed refreshing IMAP for thing '{}': {}", thing.getUID(), e.getMessage());
+            // force a re-connect on the next refresh
+            closeStore();
+        }
+    }
+
+    private void refreshFolder(Store store, String folderName, List<Channel> channels)
+            throws MessagingException, IOException {
+        List<Channel> contentChannels = channels.stream()
+                .filter(channel -> CHANNEL_TYPE_UID_MAIL_CONTENT.equals(channel.getChannelTypeUID()))
+                .collect(Collectors.toList());
+        boolean markAsRead = contentChannels.stream().anyMatch(
+                channel -> channel.getConfiguration().as(POP3IMAPContentChannelConfig.class).markAsRead);
+
+        Folder mailbox = store.getFolder(folderName);
+        try {
+            // IMAP can report the mail count of a folder without opening (selecting) it
+            if (!contentChannels.isEmpty() || !(store instanceof IMAPStore)) {
+                mailbox.open(markAsRead ? Folder.READ_WRITE : Folder.READ_ONLY);
+            }
+            for (Channel channel : channels) {
                 if (CHANNEL_TYPE_UID_FOLDER_MAILCOUNT.equals(channel.getChannelTypeUID())) {
                     final POP3IMAPMailCountChannelConfig channelConfig = channel.getConfiguration()
                             .as(POP3IMAPMailCountChannelConfig.class);
-                    final String folderName = channelConfig.folder;
-                    if (folderName == null || folderName.isEmpty()) {
-                        logger.info("missing or empty folder name in channel {}", channel.getUID());
+                    if (channelConfig.type == MailCountChannelType.TOTAL) {
+                        updateState(channel.getUID(), new DecimalType(mailbox.getMessageCount()));
+                    } else if (mailbox.isOpen()) {
+                        updateState(channel.getUID(), new DecimalType(mailbox.search(UNSEEN_TERM).length));
                     } else {
-                        try (Folder mailbox = store.getFolder(folderName)) {
-                            mailbox.open(Folder.READ_ONLY);
-                            if (channelConfig.type == MailCountChannelType.TOTAL) {
-                                updateState(channel.getUID(), new DecimalType(mailbox.getMessageCount()));
-                            } else {
-                                updateState(channel.getUID(), new DecimalType(
-                                        mailbox.search(new FlagTerm(new Flags(Flags.Flag.SEEN), false)).length));
-                            }
-                        }
+                        updateState(channel.getUID(), new DecimalType(mailbox.getUnreadMessageCount()));
                     }
-                } else if (CHANNEL_TYPE_UID_MAIL_CONTENT.equals(channel.getChannelTypeUID())) {
-                    final POP3IMAPContentChannelConfig channelConfig = channel.getConfiguration()
-                            .as(POP3IMAPContentChannelConfig.class);
-                    final String folderName = channelConfig.folder;
-                    final ValueTransformation valueTransformation = valueTransformationProvider
-                            .getValueTransformation(channelConfig.transformation);
-                    if (folderName == null || folderName.isEmpty()) {
-                        logger.info("missing or empty folder name in channel '{}'", channel.getUID());
-                    } else {
-                        try (Folder mailbox = store.getFolder(folderName)) {
-                            mailbox.open(channelConfig.markAsRead ? Folder.READ_WRITE : Folder.READ_ONLY);
-                            Message[] messages = mailbox.search(new FlagTerm(new Flags(Flags.Flag.SEEN), false));
-                            for (Message message : messages) {
-                                String subject = message.getSubject();
-                                Address[] senders = message.getFrom();
-                                String sender = senders == null ? ""
-                                        : Stream.of(senders).map(Address::toString).collect(Collectors.joining(","));
-                                logger.debug("Processing `{}` from `{}`", subject, sender);
-                                if (!channelConfig.subject.isBlank() && !subject.matches(channelConfig.subject)) {
-                                    logger.trace("Subject '{}' did not pass subject filter", subject);
-                                    continue;
-                                }
-                                if (!channelConfig.sender.isBlank() && !sender.matches(channelConfig.sender)) {
-                                    logger.trace("Sender '{}' did not pass filter '{}'", subject, channelConfig.sender);
-                                    continue;
-                                }
-                                Object rawContent = message.getContent();
-                                String contentAsString;
-                                if (rawContent instanceof String) {
-                                    logger.trace("Detected plain text message");
-                                    contentAsString = (String) rawContent;
-                                } else if (rawContent instanceof MimeMessage) {
-                                    logger.trace("Detected MIME message");
-                                    MimeMessage mimeMessage = (MimeMessage) rawContent;
-                                    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-                                        mimeMessage.writeTo(os);
-                                        contentAsString = os.toString();
-                                    }
-                                } else if (rawContent instanceof MimeMultipart) {
-                                    logger.trace("Detected MIME multipart message");
-                                    MimeMultipart mimeMultipart = (MimeMultipart) rawContent;
-                                    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-                                        mimeMultipart.writeTo(os);
-                                        contentAsString = os.toString();
-                                    }
-                                } else {
-                                    logger.warn(
-                                            "Failed to convert mail content from '{}' with subject '{}', to String: {}",
-                                            sender, subject, rawContent.getClass());
-                                    continue;
-                                }
-                                logger.trace("Found content '{}'", contentAsString);
-                                valueTransformation.apply(contentAsString)
-                                        .ifPresent(result -> updateState(channel.getUID(), new StringType(result)));
-                            }
-                        }
+                }
+            }
+            if (!contentChannels.isEmpty()) {
+                MessageDelta delta = getNewMessages(mailbox);
+                for (Channel channel : contentChannels) {
+                    processContentChannel(channel, delta.messages);
+                }
+                // only advance the watermark if all messages have been processed
+                FolderState folderState = delta.folderState;
+                if (folderState != null) {
+                    folderStates.put(mailbox.getFullName(), folderState);
+                }
+            }
+        } finally {
+            if (mailbox.isOpen()) {
+                mailbox.close(false);
+            }
+        }
+    }
+
+    /**
+     * get the unread messages in an open folder that have not been processed before
+     *
+     * If the folder supports UIDs (IMAP), only messages with an UID larger than the last processed UID are fetched
+     * from the server. On the first refresh (or if the UIDVALIDITY of the folder changed) all unread messages are
+     * processed. Folders without UID support (POP3) always return all unread messages.
+     *
+     * @param mailbox the open folder
+     * @return the new messages and the new state of the folder
+     * @throws MessagingException if the messages could not be retrieved
+     */
+    private MessageDelta getNewMessages(Folder mailbox) throws MessagingException {
+        if (!(mailbox instanceof UIDFolder)) {
+            return new MessageDelta(List.of(mailbox.search(UNSEEN_TERM)), null);
+        }
+        UIDFolder uidFolder = (UIDFolder) mailbox;
+        FetchProfile fetchProfile = new FetchProfile();
+        fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+        fetchProfile.add(FetchProfile.Item.FLAGS);
+        fetchProfile.add(FetchProfile.Item.ENVELOPE);
+
+        long uidValidity = uidFolder.getUIDValidity();
+        FolderState folderState = folderStates.get(mailbox.getFullName());
+        List<Message> messages = new ArrayList<>();
+        long lastUid;
+        if (folderState == null || folderState.uidValidity != uidValidity) {
+            int messageCount = mailbox.getMessageCount();
+            lastUid = messageCount > 0 ? uidFolder.getUID(mailbox.getMessage(messageCount)) : 0;
+            Message[] unseenMessages = mailbox.search(UNSEEN_TERM);
+            mailbox.fetch(unseenMessages, fetchProfile);
+            for (Message message : unseenMessages) {
+                // messages that arrived after determining the last UID are processed on the next refresh
+                if (uidFolder.getUID(message) <= lastUid) {
+                    messages.add(message);
+                }
+            }
+            logger.debug("Found {} unread messages in folder '{}'", messages.size(), mailbox.getFullName());
+        } else {
+            lastUid = folderState.lastUid;
+            // the server always returns at least the last message, even if its UID is lower than the requested range
+            Message[] candidates = uidFolder.getMessagesByUID(folderState.lastUid + 1, UIDFolder.LASTUID);
+            mailbox.fetch(candidates, fetchProfile);
+            for (Message message : candidates) {
+                long uid = uidFolder.getUID(message);
+                if (uid > folderState.lastUid) {
+                    lastUid = Math.max(lastUid, uid);
+                    if (!message.isSet(Flags.Flag.SEEN)) {
+                        messages.add(message);
                     }
                 }
             }
-        } catch (MessagingException | IOException e) {
-            logger.info("Failed refreshing IMAP for thing '{}': {}", thing.getUID(), e.getMessage());
+            logger.trace("Found {} new unread messages in folder '{}'", messages.size(), mailbox.getFullName());
+        }
+        return new MessageDelta(messages, new FolderState(uidValidity, lastUid));
+    }
+
+    private void processContentChannel(Channel channel, List<Message> messages)
+            throws MessagingException, IOException {
+        ContentChannel contentChannel;
+        try {
+            contentChannel = contentChannelCache.computeIfAbsent(channel.getUID(),
+                    uid -> new ContentChannel(channel.getConfiguration().as(POP3IMAPContentChannelConfig.class)));
+        } catch (PatternSyntaxException e) {
+            logger.warn("Invalid filter in channel '{}': {}", channel.getUID(), e.getMessage());
+            return;
+        }
+        for (Message message : messages) {
+            // subject and sender are part of the envelope, the body is only retrieved if both filters pass
+            String subject = Objects.requireNonNullElse(message.getSubject(), "");
+            Address[] senders = message.getFrom();
+            String sender = senders == null ? ""
+                    : Stream.of(senders).map(Address::toString).collect(Collectors.joining(","));
+            logger.debug("Processing `{}` from `{}`", subject, sender);
+            Pattern subjectFilter = contentChannel.subjectFilter;
+            if (subjectFilter != null && !subjectFilter.matcher(subject).matches()) {
+                logger.trace("Subject '{}' did not pass subject filter", subject);
+                continue;
+            }
+            Pattern senderFilter = contentChannel.senderFilter;
+            if (senderFilter != null && !senderFilter.matcher(sender).matches()) {
+                logger.trace("Sender '{}' did not pass filter '{}'", subject, senderFilter);
+                continue;
+            }
+            if (message instanceof IMAPMessage) {
+                // the folder is shared by all channels, so only mark the message as read if this channel requests it
+                ((IMAPMessage) message).setPeek(true);
+            }
+            String contentAsString = contentChannel.contentExtractor.extract(message);
+            if (contentChannel.markAsRead && message instanceof IMAPMessage) {
+                message.setFlag(Flags.Flag.SEEN, true);
+            }
+            if (contentAsString == null) {
+                logger.warn("Failed to convert mail content from '{}' with subject '{}' to String", sender, subject);
+                continue;
+            }
+            logger.trace("Found content '{}'", contentAsString);
+            contentChannel.valueTransformation.apply(contentAsString)
+                    .ifPresent(result -> updateState(channel.getUID(), new StringType(result)));
+        }
+    }
+
+    /**
+     * start IDLE on all folders (if supported by the server), new messages trigger an immediate refresh
+     *
+     * @param store the connected store
+     * @param folderNames the names of the folders used by channels
+     * @throws MessagingException if the server capabilities could not be determined
+     */
+    private void startIdleWatchers(Store store, Collection<String> folderNames) throws MessagingException {
+        if (!config.idle || !idleWatchers.isEmpty() || !(store instanceof IMAPStore)) {
+            return;
+        }
+        if (!((IMAPStore) store).hasCapability("IDLE")) {
+            logger.debug("Server of thing '{}' does not support IDLE, using polling only", thing.getUID());
+            config.idle = false;
+            return;
+        }
+        for (String folderName : folderNames) {
+            IMAPIdleWatcher idleWatcher = new IMAPIdleWatcher(folderName, this::openIdleFolder,
+                    this::scheduleIdleRefresh);
+            idleWatcher.start("SHJ-binding-" + thing.getUID() + "-idle-" + folderName);
+            idleWatchers.add(idleWatcher);
+        }
+    }
+
+    private void stopIdleWatchers() {
+        synchronized (this) {
+            idleWatchers.forEach(IMAPIdleWatcher::stop);
+            idleWatchers.clear();
+        }
+    }
+
+    private Folder openIdleFolder(String folderName) throws MessagingException {
+        Folder folder = getConnectedStore().getFolder(folderName);
+        folder.open(Folder.READ_ONLY);
+        return folder;
+    }
+
+    private void scheduleIdleRefresh() {
+        ScheduledFuture<?> idleRefreshTask = this.idleRefreshTask;
+        if (refreshTask != null && (idleRefreshTask == null || idleRefreshTask.isDone())) {
+            // delay the refresh a little, so that several new messages are processed together
+            this.idleRefreshTask = scheduler.schedule(this::refresh, IDLE_REFRESH_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * the filters, content extractor and transformation of a content channel (created once per channel configuration)
+     */
+    private class ContentChannel {
+        private final @Nullable Pattern subjectFilter;
+        private final @Nullable Pattern senderFilter;
+        private final boolean markAsRead;
+        private final MailContentExtractor contentExtractor;
+        private final ValueTransformation valueTransformation;
+
+        public ContentChannel(POP3IMAPContentChannelConfig channelConfig) {
+            subjectFilter = channelConfig.subject.isBlank() ? null : Pattern.compile(channelConfig.subject);
+            senderFilter = channelConfig.sender.isBlank() ? null : Pattern.compile(channelConfig.sender);
+            markAsRead = channelConfig.markAsRead;
+            contentExtractor = new MailContentExtractor(channelConfig.mimeType, channelConfig.maxSize * 1024);
+            valueTransformation = valueTransformationProvider.getValueTransformation(channelConfig.transformation);
+        }
+    }
+
+    private static class FolderState {
+        private final long uidValidity;
+        private final long lastUid;
+
+        public FolderState(long uidValidity, long lastUid) {
+            this.uidValidity = uidValidity;
+            this.lastUid = lastUid;
+        }
+    }
+
+    private static class MessageDelta {
+        private final List<Message> messages;
+        private final @Nullable FolderState folderState;
+
+        public MessageDelta(List<Message> messages, @Nullable FolderState folderState) {
+            this.messages = messages;
+            this.folderState = folderState;
         }
     }
 }
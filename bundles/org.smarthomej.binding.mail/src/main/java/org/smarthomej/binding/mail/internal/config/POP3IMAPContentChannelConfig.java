@@ -30,4 +30,6 @@ public class POP3IMAPContentChannelConfig {
     public @Nullable String transformation;
 
     public boolean markAsRead = false;
+    public @Nullable String mimeType;
+    public int maxSize = 1024;
 }
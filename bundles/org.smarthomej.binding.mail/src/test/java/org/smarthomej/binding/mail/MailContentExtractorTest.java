@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.mail;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Properties;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.smarthomej.binding.mail.internal.MailContentExtractor;
+
+/**
+ * The {@link MailContentExtractorTest} class defines tests for the {@link MailContentExtractor} class
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class MailContentExtractorTest {
+    private static final String TEXT_CONTENT = "plain text content";
+    private static final String HTML_CONTENT = "<html><body>html content</body></html>";
+
+    private MimeMessage createMultipartMessage() throws MessagingException {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        MimeMultipart alternative = new MimeMultipart("alternative");
+        MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(TEXT_CONTENT, "UTF-8");
+        alternative.addBodyPart(textPart);
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(HTML_CONTENT, "text/html; charset=UTF-8");
+        alternative.addBodyPart(htmlPart);
+
+        MimeBodyPart alternativePart = new MimeBodyPart();
+        alternativePart.setContent(alternative);
+        MimeMultipart mixed = new MimeMultipart("mixed");
+        mixed.addBodyPart(alternativePart);
+        MimeBodyPart attachment = new MimeBodyPart();
+        attachment.setText("attachment content");
+        attachment.setFileName("attachment.txt");
+        mixed.addBodyPart(attachment);
+
+        message.setContent(mixed);
+        message.saveChanges();
+        return message;
+    }
+
+    @Test
+    public void selectedPartIsExtracted() throws MessagingException, IOException {
+        MimeMessage message = createMultipartMessage();
+
+        assertThat(new MailContentExtractor("text/plain", 1024).extract(message), is(TEXT_CONTENT));
+        assertThat(new MailContentExtractor("text/html", 1024).extract(message), is(HTML_CONTENT));
+        assertThat(new MailContentExtractor("image/png", 1024).extract(message), is(nullValue()));
+    }
+
+    @Test
+    public void selectedPartIsTruncated() throws MessagingException, IOException {
+        MimeMessage message = createMultipartMessage();
+
+        assertThat(new MailContentExtractor("text/plain", 5).extract(message), is(TEXT_CONTENT.substring(0, 5)));
+    }
+
+    @Test
+    public void completeContentIsTruncated() throws MessagingException, IOException {
+        MimeMessage message = createMultipartMessage();
+
+        String content = Objects.requireNonNull(new MailContentExtractor(null, 1 << 16).extract(message));
+        assertThat(content, containsString(TEXT_CONTENT));
+        assertThat(content, containsString("attachment content"));
+
+        String truncatedContent = Objects.requireNonNull(new MailContentExtractor(null, 50).extract(message));
+        assertThat(truncatedContent.length(), is(50));
+    }
+}
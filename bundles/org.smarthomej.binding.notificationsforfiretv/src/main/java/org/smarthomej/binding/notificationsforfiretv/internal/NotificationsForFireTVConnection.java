@@ -13,7 +13,6 @@
 package org.smarthomej.binding.notificationsforfiretv.internal;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -23,7 +22,7 @@ import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -40,24 +39,29 @@ public class NotificationsForFireTVConnection {
     private static final String PROTOCOL = "http";
     private static final String LINE = "\r\n";
     private static final String QUOTE = "\"";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
 
     private URI uri;
     private String boundary;
     private HttpClient httpClient;
+    private NotificationsForFireTVFilePartCache filePartCache;
     private List<byte[]> byteArrays = new ArrayList<>();
 
     /**
      * This constructor initializes a new HTTP POST request with content
      * type is set to multipart/form-data
      *
+     * @param httpClient the (shared) client used for sending the request
+     * @param filePartCache the (shared) cache for encoded file parts
      * @param hostname device IP address or a FQDN
      * @param port application port
-     * @throws IOException
      */
-    public NotificationsForFireTVConnection(String hostname, int port) throws IOException {
+    public NotificationsForFireTVConnection(HttpClient httpClient, NotificationsForFireTVFilePartCache filePartCache,
+            String hostname, int port) {
         uri = URI.create(PROTOCOL + "://" + hostname + ":" + port);
         boundary = UUID.randomUUID().toString();
-        httpClient = HttpClient.newBuilder().build();
+        this.httpClient = httpClient;
+        this.filePartCache = filePartCache;
     }
 
     /**
@@ -80,16 +84,10 @@ public class NotificationsForFireTVConnection {
      * @throws IOException
      */
     public void addFilePart(String name, File file) throws IOException {
-        if (!file.exists()) {
-            throw new FileNotFoundException("File not found: " + file.getPath());
-        }
-
-        byteArrays.add(
-                ("--" + boundary + LINE + "Content-Disposition: form-data; name=").getBytes(StandardCharsets.UTF_8));
-        byteArrays.add((QUOTE + name + QUOTE + "; filename=" + QUOTE + file.toPath().getFileName() + QUOTE + LINE
-                + "Content-Type: application/octet-stream" + LINE + LINE).getBytes(StandardCharsets.UTF_8));
-        byteArrays.add(Files.readAllBytes(file.toPath()));
-        byteArrays.add(LINE.getBytes(StandardCharsets.UTF_8));
+        // the encoded part does not depend on the boundary and can be re-used
+        byte[] filePart = filePartCache.getFilePart(name, file);
+        byteArrays.add(("--" + boundary + LINE).getBytes(StandardCharsets.UTF_8));
+        byteArrays.add(filePart);
     }
 
     /**
@@ -105,7 +103,7 @@ public class NotificationsForFireTVConnection {
 
         HttpRequest httpRequest = HttpRequest.newBuilder()
                 .header("Content-Type", "multipart/form-data;boundary=" + boundary)
-                .POST(BodyPublishers.ofByteArrays(byteArrays)).uri(uri).build();
+                .POST(BodyPublishers.ofByteArrays(byteArrays)).uri(uri).timeout(REQUEST_TIMEOUT).build();
         HttpResponse<String> response = httpClient.send(httpRequest, BodyHandlers.ofString());
         if (response.statusCode() == HttpURLConnection.HTTP_OK) {
             return response.body();
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.notificationsforfiretv.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link NotificationsForFireTVFilePartCache} keeps the multipart-encoded file parts of recently sent files, so
+ * that icons and images that are sent frequently are not read again. Entries are identified by the field name, the
+ * path, the size and the last modification time of the file. The least recently used entries are removed when the
+ * cache exceeds its size.
+ *
+ * @author Tom Blum - Initial contribution
+ */
+@NonNullByDefault
+public class NotificationsForFireTVFilePartCache {
+    private static final int MAX_ENTRIES = 32;
+    private static final long MAX_BYTES = 16 * 1024 * 1024;
+
+    private final Map<Key, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes = 0;
+
+    /**
+     * get the encoded file part (everything after the boundary line) for a file
+     *
+     * @param name field name
+     * @param file the file
+     * @return the encoded part
+     * @throws IOException if the file could not be read
+     */
+    public byte[] getFilePart(String name, File file) throws IOException {
+        Path path = file.toPath();
+        if (!file.exists()) {
+            throw new FileNotFoundException("File not found: " + file.getPath());
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Key key = new Key(name, path.toAbsolutePath().toString(), attributes.size(),
+                attributes.lastModifiedTime().toMillis());
+
+        synchronized (cache) {
+            byte[] part = cache.get(key);
+            if (part != null) {
+                return part;
+            }
+        }
+
+        byte[] part = encode(name, path);
+        synchronized (cache) {
+            byte[] previous = cache.put(key, part);
+            cachedBytes += part.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> iterator = cache.values().iterator();
+            while ((cache.size() > MAX_ENTRIES || cachedBytes > MAX_BYTES) && iterator.hasNext()) {
+                cachedBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+        return part;
+    }
+
+    private byte[] encode(String name, Path path) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        os.writeBytes(("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + path.getFileName()
+                + "\"\r\nContent-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        os.writeBytes(Files.readAllBytes(path));
+        os.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return os.toByteArray();
+    }
+
+    private static class Key {
+        private final String name;
+        private final String path;
+        private final long size;
+        private final long lastModified;
+
+        public Key(String name, String path, long size, long lastModified) {
+            this.name = name;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return size == key.size && lastModified == key.lastModified && name.equals(key.name)
+                    && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, path, size, lastModified);
+        }
+    }
+}
@@ -30,8 +30,17 @@ import static org.smarthomej.binding.notificationsforfiretv.internal.Notificatio
 
 import java.io.File;
 import java.io.IOException;
+import java.net.http.HttpClient;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -42,6 +51,8 @@ import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link NotificationsForFireTVHandler} is responsible for handling commands, which are
@@ -51,10 +62,23 @@ import org.openhab.core.types.Command;
  */
 @NonNullByDefault
 public class NotificationsForFireTVHandler extends BaseThingHandler {
+    // connect and request timeout of the HTTP client plus some notifications that are queued before
+    private static final long SEND_TIMEOUT_SECONDS = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(NotificationsForFireTVHandler.class);
+    private final HttpClient httpClient;
+    private final NotificationsForFireTVFilePartCache filePartCache;
     private NotificationsForFireTVConfiguration config = new NotificationsForFireTVConfiguration();
 
-    public NotificationsForFireTVHandler(Thing thing) {
+    // notifications that are waiting to be sent, identical notifications are only sent once
+    private final Map<Notification, CompletableFuture<Boolean>> pendingNotifications = new LinkedHashMap<>();
+    private boolean sending = false;
+
+    public NotificationsForFireTVHandler(Thing thing, HttpClient httpClient,
+            NotificationsForFireTVFilePartCache filePartCache) {
         super(thing);
+        this.httpClient = httpClient;
+        this.filePartCache = filePartCache;
     }
 
     @Override
@@ -66,14 +90,100 @@ public class NotificationsForFireTVHandler extends BaseThingHandler {
         config = getConfigAs(NotificationsForFireTVConfiguration.class);
 
         updateStatus(ThingStatus.UNKNOWN);
-        sendNotification(null, null, null);
+        // the status is updated when the notification was sent, there is no need to wait here
+        queueNotification(new Notification(null, null, null));
     }
 
+    @Override
+    public void dispose() {
+        synchronized (pendingNotifications) {
+            pendingNotifications.values().forEach(future -> future.complete(false));
+            pendingNotifications.clear();
+        }
+        super.dispose();
+    }
+
+    /**
+     * queue a notification and wait until it was sent
+     *
+     * Notifications are sent one after another. If an identical notification is already waiting, both requests are
+     * answered by a single notification.
+     *
+     * @param msg the message
+     * @param filename the path of the icon
+     * @param filename2 the path of the image
+     * @return true if the notification was sent
+     */
     public boolean sendNotification(@Nullable String msg, @Nullable String filename, @Nullable String filename2) {
+        CompletableFuture<Boolean> result = queueNotification(new Notification(msg, filename, filename2));
+        try {
+            return result.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (TimeoutException e) {
+            logger.debug("Notification for '{}' was not sent within {} seconds", getThing().getUID(),
+                    SEND_TIMEOUT_SECONDS);
+            return false;
+        }
+    }
+
+    private CompletableFuture<Boolean> queueNotification(Notification notification) {
+        synchronized (pendingNotifications) {
+            CompletableFuture<Boolean> result = pendingNotifications.computeIfAbsent(notification,
+                    n -> new CompletableFuture<>());
+            if (!sending) {
+                sending = true;
+                scheduler.execute(this::processPendingNotifications);
+            }
+            return result;
+        }
+    }
+
+    private void processPendingNotifications() {
+        boolean drained = false;
+        try {
+            while (true) {
+                Notification notification;
+                CompletableFuture<Boolean> result;
+                synchronized (pendingNotifications) {
+                    Iterator<Map.Entry<Notification, CompletableFuture<Boolean>>> iterator = pendingNotifications
+                            .entrySet().iterator();
+                    if (!iterator.hasNext()) {
+                        sending = false;
+                        drained = true;
+                        return;
+                    }
+                    Map.Entry<Notification, CompletableFuture<Boolean>> entry = iterator.next();
+                    iterator.remove();
+                    notification = entry.getKey();
+                    result = entry.getValue();
+                }
+                try {
+                    result.complete(
+                            doSendNotification(notification.msg, notification.filename, notification.filename2));
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to send notification to '{}': {}", getThing().getUID(), e.getMessage());
+                    result.completeExceptionally(e);
+                }
+            }
+        } finally {
+            if (!drained) {
+                // the loop was left unexpectedly, allow the next notification to start a new loop
+                synchronized (pendingNotifications) {
+                    sending = false;
+                }
+            }
+        }
+    }
+
+    private boolean doSendNotification(@Nullable String msg, @Nullable String filename, @Nullable String filename2) {
         try {
             // CREATE CONNECTION
             NotificationsForFireTVConnection notificationsForFireTVConnection = new NotificationsForFireTVConnection(
-                    config.hostname, 7676);
+                    httpClient, filePartCache, config.hostname, 7676);
             // ADD FORM FIELDS
             notificationsForFireTVConnection.addFormField(TYPE, String.valueOf(0));
             notificationsForFireTVConnection.addFormField(TITLE, config.title);
@@ -114,4 +224,34 @@ public class NotificationsForFireTVHandler extends BaseThingHandler {
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Set.of(NotificationsForFireTVThingActions.class);
     }
+
+    private static class Notification {
+        private final @Nullable String msg;
+        private final @Nullable String filename;
+        private final @Nullable String filename2;
+
+        public Notification(@Nullable String msg, @Nullable String filename, @Nullable String filename2) {
+            this.msg = msg;
+            this.filename = filename;
+            this.filename2 = filename2;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Notification that = (Notification) o;
+            return Objects.equals(msg, that.msg) && Objects.equals(filename, that.filename)
+                    && Objects.equals(filename2, that.filename2);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(msg, filename, filename2);
+        }
+    }
 }
@@ -14,6 +14,8 @@ package org.smarthomej.binding.notificationsforfiretv.internal;
 
 import static org.smarthomej.binding.notificationsforfiretv.internal.NotificationsForFireTVBindingConstants.*;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -37,6 +39,10 @@ public class NotificationsForFireTVHandlerFactory extends BaseThingHandlerFactor
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Set.of(THING_TYPE_NOTIFICATION);
 
+    // shared by all things, so connections are kept alive and files are only read once
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final NotificationsForFireTVFilePartCache filePartCache = new NotificationsForFireTVFilePartCache();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -47,7 +53,7 @@ public class NotificationsForFireTVHandlerFactory extends BaseThingHandlerFactor
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_NOTIFICATION.equals(thingTypeUID)) {
-            return new NotificationsForFireTVHandler(thing);
+            return new NotificationsForFireTVHandler(thing, httpClient, filePartCache);
         }
 
         return null;
@@ -35,10 +35,16 @@ import org.smarthomej.binding.onewire.internal.owserver.OwserverDeviceParameter;
 /**
  * The {@link DS18x20} class defines an DS18x20 or DS1822 device
  *
+ * If the bridge started a simultaneous temperature conversion, the result of that conversion is read. Otherwise (and
+ * on forced refreshes, which also set the configured resolution) the sensor is read with its own conversion.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class DS18x20 extends AbstractOwDevice {
+    private static final OwserverDeviceParameter LATEST_TEMPERATURE_PARAMETER = new OwserverDeviceParameter(
+            "uncached/", "/latesttemp");
+
     private final Logger logger = LoggerFactory.getLogger(DS18x20.class);
 
     private OwserverDeviceParameter temperatureParameter = new OwserverDeviceParameter("/temperature");
@@ -78,8 +84,11 @@ public class DS18x20 extends AbstractOwDevice {
     public void refresh(OwserverBridgeHandler bridgeHandler, Boolean forcedRefresh) throws OwException {
         if (isConfigured && enabledChannels.contains(CHANNEL_TEMPERATURE)) {
             logger.trace("refresh of sensor {} started", sensorId);
+            OwserverDeviceParameter parameter = !forcedRefresh && bridgeHandler.isTemperatureConverted()
+                    ? LATEST_TEMPERATURE_PARAMETER
+                    : temperatureParameter;
             QuantityType<Temperature> temperature = new QuantityType<>(
-                    (DecimalType) bridgeHandler.readDecimalType(sensorId, temperatureParameter), SIUnits.CELSIUS);
+                    (DecimalType) bridgeHandler.readDecimalType(sensorId, parameter), SIUnits.CELSIUS);
             logger.trace("read temperature {} from {}", temperature, sensorId);
             if (ignorePOR && (Double.compare(temperature.doubleValue(), 85.0) == 0)) {
                 logger.trace("ignored POR value from sensor {}", sensorId);
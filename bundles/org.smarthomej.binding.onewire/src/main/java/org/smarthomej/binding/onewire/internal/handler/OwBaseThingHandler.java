@@ -49,6 +49,7 @@ import org.smarthomej.binding.onewire.internal.OwException;
 import org.smarthomej.binding.onewire.internal.SensorId;
 import org.smarthomej.binding.onewire.internal.config.BaseHandlerConfiguration;
 import org.smarthomej.binding.onewire.internal.device.AbstractOwDevice;
+import org.smarthomej.binding.onewire.internal.device.DS18x20;
 import org.smarthomej.binding.onewire.internal.device.OwChannelConfig;
 import org.smarthomej.binding.onewire.internal.device.OwSensorType;
 
@@ -203,6 +204,19 @@ public abstract class OwBaseThingHandler extends BaseThingHandler {
                 && this.thing.getStatusInfo().getStatusDetail() != ThingStatusDetail.BRIDGE_OFFLINE;
     }
 
+    /**
+     * check if this thing contains a temperature sensor that is refreshed in the next refresh cycle
+     *
+     * Forced refreshes are not considered, as they read the sensor with its own conversion.
+     *
+     * @param now current time
+     * @return true if a simultaneous temperature conversion is needed for this thing
+     */
+    public boolean needsTemperatureConversion(long now) {
+        return lastRefresh != 0 && now >= (lastRefresh + refreshInterval)
+                && sensors.stream().anyMatch(sensor -> sensor instanceof DS18x20);
+    }
+
     /**
      * refresh this thing
      *
@@ -24,15 +24,26 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.MetricPrefix;
+import org.openhab.core.library.unit.Units;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -40,6 +51,7 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
@@ -53,12 +65,15 @@ import org.smarthomej.binding.onewire.internal.device.OwSensorType;
 import org.smarthomej.binding.onewire.internal.discovery.OwDiscoveryService;
 import org.smarthomej.binding.onewire.internal.owserver.OwfsDirectChannelConfig;
 import org.smarthomej.binding.onewire.internal.owserver.OwserverConnection;
+import org.smarthomej.binding.onewire.internal.owserver.OwserverConnectionPool;
 import org.smarthomej.binding.onewire.internal.owserver.OwserverConnectionState;
 import org.smarthomej.binding.onewire.internal.owserver.OwserverDeviceParameter;
 
 /**
  * The {@link OwserverBridgeHandler} class implements the refresher and the interface for reading from the bridge
  *
+ * All requests are processed by a pool of persistent owserver connections, things are refreshed in parallel.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -75,18 +90,42 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
     private final Queue<@Nullable Thing> thingPropertiesUpdateQueue = new ConcurrentLinkedQueue<>();
 
     private static final int RECONNECT_AFTER_FAIL_TIME = 5000; // in ms
+    private static final int DEFAULT_CONNECTIONS = 3;
+    private static final int MAX_QUEUED_REFRESHES = 256;
+    private static final long MAX_REFRESH_CYCLE_TIME = TimeUnit.SECONDS.toNanos(60);
+    private static final long METRICS_UPDATE_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+    private static final String SIMULTANEOUS_TEMPERATURE_PATH = "/simultaneous/temperature";
+    private static final int TEMPERATURE_CONVERSION_TIME = 750; // in ms, for 12 bit resolution
+
     private final OwserverConnection owserverConnection;
+    private final boolean useSecondaryConnections;
+    private OwserverConnectionPool connectionPool;
+    private @Nullable ThreadPoolExecutor refreshExecutor;
+    private final Set<ThingUID> refreshingThings = ConcurrentHashMap.newKeySet();
+    private boolean simultaneousConversion = true;
+    private volatile boolean temperatureConverted = false;
+
+    // metrics
+    private long metricsStart = System.nanoTime();
+    private long metricsBusyTime = 0;
+    private long maxRefreshCycleTime = 0;
 
     private final List<OwfsDirectChannelConfig> channelConfigs = new ArrayList<>();
 
     public OwserverBridgeHandler(Bridge bridge) {
         super(bridge);
         this.owserverConnection = new OwserverConnection(this);
+        this.useSecondaryConnections = true;
+        this.connectionPool = new OwserverConnectionPool(owserverConnection, 1, OwserverConnection.DEFAULT_TIMEOUT,
+                scheduler);
     }
 
     public OwserverBridgeHandler(Bridge bridge, OwserverConnection owserverConnection) {
         super(bridge);
         this.owserverConnection = owserverConnection;
+        this.useSecondaryConnections = false;
+        this.connectionPool = new OwserverConnectionPool(owserverConnection, 1, OwserverConnection.DEFAULT_TIMEOUT,
+                scheduler);
     }
 
     @Override
@@ -97,12 +136,42 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
     public void initialize() {
         Configuration configuration = getConfig();
 
+        String host = "";
+        int port = OwserverConnection.DEFAULT_PORT;
+        int timeout = OwserverConnection.DEFAULT_TIMEOUT;
+        int connections = DEFAULT_CONNECTIONS;
         if (configuration.get(CONFIG_ADDRESS) != null) {
-            owserverConnection.setHost((String) configuration.get(CONFIG_ADDRESS));
+            host = (String) configuration.get(CONFIG_ADDRESS);
+            owserverConnection.setHost(host);
         }
         if (configuration.get(CONFIG_PORT) != null) {
-            owserverConnection.setPort(((BigDecimal) configuration.get(CONFIG_PORT)).intValue());
+            port = ((BigDecimal) configuration.get(CONFIG_PORT)).intValue();
+            owserverConnection.setPort(port);
+        }
+        if (configuration.get(CONFIG_TIMEOUT) != null) {
+            timeout = ((BigDecimal) configuration.get(CONFIG_TIMEOUT)).intValue();
+            owserverConnection.setTimeout(timeout);
+        }
+        if (configuration.get(CONFIG_CONNECTIONS) != null) {
+            connections = Math.max(1, ((BigDecimal) configuration.get(CONFIG_CONNECTIONS)).intValue());
         }
+        simultaneousConversion = !Boolean.FALSE.equals(configuration.get(CONFIG_SIMULTANEOUS));
+        temperatureConverted = false;
+
+        OwserverConnectionPool connectionPool = new OwserverConnectionPool(owserverConnection,
+                useSecondaryConnections ? connections : 1, timeout, scheduler);
+        connectionPool.configureSecondaryConnections(host, port, timeout);
+        this.connectionPool = connectionPool;
+
+        ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(connectionPool.getSize(),
+                connectionPool.getSize(), 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_REFRESHES),
+                new NamedThreadFactory("onewire-" + thing.getUID().getId()));
+        refreshExecutor.allowCoreThreadTimeOut(true);
+        this.refreshExecutor = refreshExecutor;
+        refreshingThings.clear();
+        metricsStart = System.nanoTime();
+        metricsBusyTime = connectionPool.getBusyTime();
+        maxRefreshCycleTime = 0;
 
         for (Channel channel : thing.getChannels()) {
             if (CHANNEL_TYPE_UID_OWFS_NUMBER.equals(channel.getChannelTypeUID())
@@ -126,6 +195,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                 owserverConnection.start();
             }
         });
+        connectionPool.start();
 
         if (refreshTask.isCancelled()) {
             refreshTask = scheduler.scheduleWithFixedDelay(this::refresh, 1, 1000, TimeUnit.MILLISECONDS);
@@ -144,29 +214,51 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                 return;
             }
 
-            // refresh thing channels
+            ThreadPoolExecutor refreshExecutor = this.refreshExecutor;
+            if (refreshExecutor == null) {
+                return;
+            }
+
+            // refresh thing channels in parallel
+            long cycleStart = System.nanoTime();
             List<Thing> thingList = getThing().getThings();
-            int thingCount = thingList.size();
+            temperatureConverted = simultaneousConversion && startTemperatureConversion(thingList, now);
+            List<Future<?>> refreshFutures = new ArrayList<>(thingList.size());
             Iterator<Thing> childListIterator = thingList.iterator();
             logger.trace("refreshTask with thread ID {} starts at {}, {} childs", Thread.currentThread().getId(), now,
-                    thingCount);
+                    thingList.size());
             while (childListIterator.hasNext() && refreshable) {
                 Thing owThing = childListIterator.next();
+                ThingUID thingUID = owThing.getUID();
 
-                logger.trace("refresh: getting handler for {} ({} to go)", owThing.getUID(), thingCount);
+                logger.trace("refresh: getting handler for {}", thingUID);
                 OwBaseThingHandler owHandler = (OwBaseThingHandler) owThing.getHandler();
                 if (owHandler != null) {
-                    if (owHandler.isRefreshable()) {
-                        logger.trace("{} initialized, refreshing", owThing.getUID());
-                        owHandler.refresh(OwserverBridgeHandler.this, now);
+                    if (!owHandler.isRefreshable()) {
+                        logger.trace("{} not initialized, skipping refresh", thingUID);
+                    } else if (!refreshingThings.add(thingUID)) {
+                        logger.trace("{} still refreshing from previous cycle, skipping refresh", thingUID);
                     } else {
-                        logger.trace("{} not initialized, skipping refresh", owThing.getUID());
+                        logger.trace("{} initialized, refreshing", thingUID);
+                        try {
+                            refreshFutures.add(refreshExecutor.submit(() -> {
+                                try {
+                                    owHandler.refresh(OwserverBridgeHandler.this, now);
+                                } finally {
+                                    refreshingThings.remove(thingUID);
+                                }
+                            }));
+                        } catch (RejectedExecutionException e) {
+                            refreshingThings.remove(thingUID);
+                            logger.debug("refresh queue full, skipping refresh of {}", thingUID);
+                        }
                     }
                 } else {
-                    logger.debug("{} handler missing", owThing.getUID());
+                    logger.debug("{} handler missing", thingUID);
                 }
-                thingCount--;
             }
+            waitForRefreshCycle(refreshFutures, cycleStart);
+            updateMetrics(System.nanoTime() - cycleStart);
 
             if (!refreshable) {
                 logger.trace("refresh aborted, as brige became non-refresheable.");
@@ -206,12 +298,128 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * start a simultaneous temperature conversion on all buses if any temperature sensor is refreshed in this cycle
+     *
+     * The method returns after the conversion time, the results can then be read from all sensors without further
+     * conversion delay.
+     *
+     * @param thingList all things of this bridge
+     * @param now current time
+     * @return true if the conversion was done
+     */
+    private boolean startTemperatureConversion(List<Thing> thingList, long now) {
+        boolean conversionNeeded = thingList.stream().anyMatch(owThing -> {
+            OwBaseThingHandler owHandler = (OwBaseThingHandler) owThing.getHandler();
+            return owHandler != null && owHandler.isRefreshable() && !refreshingThings.contains(owThing.getUID())
+                    && owHandler.needsTemperatureConversion(now);
+        });
+        if (!conversionNeeded) {
+            return false;
+        }
+        try {
+            connectionPool.execute(connection -> {
+                connection.writeDecimalType(SIMULTANEOUS_TEMPERATURE_PATH, new DecimalType(1));
+                return true;
+            });
+            logger.trace("started simultaneous temperature conversion");
+            Thread.sleep(TEMPERATURE_CONVERSION_TIME);
+            return true;
+        } catch (OwException e) {
+            logger.debug("could not start simultaneous temperature conversion: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * check if a simultaneous temperature conversion was done in the current refresh cycle
+     *
+     * @return true if temperature sensors can read the latest conversion result
+     */
+    public boolean isTemperatureConverted() {
+        return temperatureConverted;
+    }
+
+    /**
+     * wait until all refreshes of this cycle are finished
+     *
+     * Things that are not finished after {@link #MAX_REFRESH_CYCLE_TIME} continue in the background and are skipped in
+     * the next cycles until they are done.
+     *
+     * @param refreshFutures the refreshes of this cycle
+     * @param cycleStart the start of this cycle (from {@link System#nanoTime()})
+     */
+    private void waitForRefreshCycle(List<Future<?>> refreshFutures, long cycleStart) {
+        for (Future<?> refreshFuture : refreshFutures) {
+            try {
+                refreshFuture.get(cycleStart + MAX_REFRESH_CYCLE_TIME - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause == null) {
+                    cause = e;
+                }
+                logger.error("refresh encountered exception of {}: {}, please report bug", cause.getClass(),
+                        cause.getMessage());
+            } catch (TimeoutException e) {
+                logger.debug("refresh cycle did not finish within {} s, continuing in background",
+                        TimeUnit.NANOSECONDS.toSeconds(MAX_REFRESH_CYCLE_TIME));
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * update the bus utilization and refresh cycle time channels
+     *
+     * @param refreshCycleTime the duration of the last refresh cycle in ns
+     */
+    private void updateMetrics(long refreshCycleTime) {
+        maxRefreshCycleTime = Math.max(maxRefreshCycleTime, refreshCycleTime);
+
+        long now = System.nanoTime();
+        long interval = now - metricsStart;
+        if (interval < METRICS_UPDATE_INTERVAL) {
+            return;
+        }
+
+        OwserverConnectionPool connectionPool = this.connectionPool;
+        long busyTime = connectionPool.getBusyTime();
+        double utilization = 100.0 * (busyTime - metricsBusyTime) / ((double) interval * connectionPool.getSize());
+        logger.trace("bus utilization {}%, max. refresh cycle time {} ms", utilization,
+                TimeUnit.NANOSECONDS.toMillis(maxRefreshCycleTime));
+        updateMetricsChannel(CHANNEL_BUS_UTILIZATION, new QuantityType<>(Math.min(100.0, utilization), Units.PERCENT));
+        updateMetricsChannel(CHANNEL_REFRESH_CYCLE_TIME, new QuantityType<>(
+                TimeUnit.NANOSECONDS.toMillis(maxRefreshCycleTime), MetricPrefix.MILLI(Units.SECOND)));
+
+        metricsStart = now;
+        metricsBusyTime = busyTime;
+        maxRefreshCycleTime = 0;
+    }
+
+    private void updateMetricsChannel(String channelId, State state) {
+        // bridges created before the metrics channels were added don't have them
+        if (thing.getChannel(channelId) != null) {
+            updateState(channelId, state);
+        }
+    }
+
     @Override
     public void dispose() {
         refreshable = false;
         if (!refreshTask.isCancelled()) {
             refreshTask.cancel(false);
         }
+        ThreadPoolExecutor refreshExecutor = this.refreshExecutor;
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            this.refreshExecutor = null;
+        }
+        connectionPool.stop();
         owserverConnection.stop();
     }
 
@@ -230,9 +438,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @return a list of all sensor-IDs
      */
     public List<SensorId> getDirectory(String basePath) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.getDirectory(basePath);
-        }
+        return connectionPool.execute(connection -> connection.getDirectory(basePath));
     }
 
     /**
@@ -243,9 +449,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State checkPresence(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.checkPresence(sensorId.getFullPath());
-        }
+        return connectionPool.execute(connection -> connection.checkPresence(sensorId.getFullPath()));
     }
 
     /**
@@ -257,11 +461,10 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public OwSensorType getType(SensorId sensorId) throws OwException {
         OwSensorType sensorType = OwSensorType.UNKNOWN;
-        synchronized (owserverConnection) {
-            try {
-                sensorType = OwSensorType.valueOf(owserverConnection.readString(sensorId + "/type"));
-            } catch (IllegalArgumentException e) {
-            }
+        String type = connectionPool.execute(connection -> connection.readString(sensorId + "/type"));
+        try {
+            sensorType = OwSensorType.valueOf(type);
+        } catch (IllegalArgumentException e) {
         }
         return sensorType;
     }
@@ -274,9 +477,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public OwPageBuffer readPages(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readPages(sensorId.getFullPath());
-        }
+        return connectionPool.execute(connection -> connection.readPages(sensorId.getFullPath()));
     }
 
     /**
@@ -288,9 +489,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State readDecimalType(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalType(parameter.getPath(sensorId));
-        }
+        return connectionPool.execute(connection -> connection.readDecimalType(parameter.getPath(sensorId)));
     }
 
     /**
@@ -314,9 +513,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public List<State> readDecimalTypeArray(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalTypeArray(parameter.getPath(sensorId));
-        }
+        return connectionPool.execute(connection -> connection.readDecimalTypeArray(parameter.getPath(sensorId)));
     }
 
     /**
@@ -328,9 +525,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public String readString(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readString(parameter.getPath(sensorId));
-        }
+        return connectionPool.execute(connection -> connection.readString(parameter.getPath(sensorId)));
     }
 
     /**
@@ -342,9 +537,10 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public void writeDecimalType(SensorId sensorId, OwserverDeviceParameter parameter, DecimalType value)
             throws OwException {
-        synchronized (owserverConnection) {
-            owserverConnection.writeDecimalType(parameter.getPath(sensorId), value);
-        }
+        connectionPool.execute(connection -> {
+            connection.writeDecimalType(parameter.getPath(sensorId), value);
+            return value;
+        });
     }
 
     /**
@@ -404,17 +600,16 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
         for (OwfsDirectChannelConfig channelConfig : channelConfigs) {
             if (now > channelConfig.lastRefresh + channelConfig.refreshCycle) {
                 State value;
+                String path = channelConfig.path;
                 try {
-                    synchronized (owserverConnection) {
-                        if (channelConfig.acceptedItemType.equals("String")) {
-                            value = new StringType(owserverConnection.readString(channelConfig.path));
-                        } else if (channelConfig.acceptedItemType.equals("Number")) {
-                            value = owserverConnection.readDecimalType(channelConfig.path);
-                        } else {
-                            logger.debug("mismatched configuration, itemType unknown for channel {}",
-                                    channelConfig.channelUID);
-                            continue;
-                        }
+                    if (channelConfig.acceptedItemType.equals("String")) {
+                        value = new StringType(connectionPool.execute(connection -> connection.readString(path)));
+                    } else if (channelConfig.acceptedItemType.equals("Number")) {
+                        value = connectionPool.execute(connection -> connection.readDecimalType(path));
+                    } else {
+                        logger.debug("mismatched configuration, itemType unknown for channel {}",
+                                channelConfig.channelUID);
+                        continue;
                     }
 
                     final ChannelUID channelUID = channelConfig.channelUID;
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -59,14 +60,16 @@ import org.smarthomej.binding.onewire.internal.handler.OwserverBridgeHandler;
 public class OwserverConnection {
     public static final int DEFAULT_PORT = 4304;
     public static final int KEEPALIVE_INTERVAL = 1000;
+    public static final int DEFAULT_TIMEOUT = 3000;
 
     private static final int CONNECTION_MAX_RETRY = 5;
 
     private final Logger logger = LoggerFactory.getLogger(OwserverConnection.class);
 
-    private final OwserverBridgeHandler thingHandlerCallback;
+    private final Consumer<OwserverConnectionState> thingHandlerCallback;
     private String owserverAddress = "";
     private int owserverPort = DEFAULT_PORT;
+    private int owserverTimeout = DEFAULT_TIMEOUT;
 
     private @Nullable Socket owserverSocket = null;
     private @Nullable DataInputStream owserverInputStream = null;
@@ -78,7 +81,16 @@ public class OwserverConnection {
     private int connectionErrorCounter = 0;
 
     public OwserverConnection(OwserverBridgeHandler owBaseBridgeHandler) {
-        this.thingHandlerCallback = owBaseBridgeHandler;
+        this(owBaseBridgeHandler::reportConnectionState);
+    }
+
+    /**
+     * create a connection that reports its state to a listener instead of a bridge handler
+     *
+     * @param connectionStateListener receives all connection state changes
+     */
+    public OwserverConnection(Consumer<OwserverConnectionState> connectionStateListener) {
+        this.thingHandlerCallback = connectionStateListener;
     }
 
     /**
@@ -105,6 +117,23 @@ public class OwserverConnection {
         }
     }
 
+    /**
+     * set the timeout for a single request
+     *
+     * @param timeout in ms, defaults to 3000
+     */
+    public void setTimeout(int timeout) {
+        this.owserverTimeout = timeout;
+        final Socket owserverSocket = this.owserverSocket;
+        if (owserverSocket != null) {
+            try {
+                owserverSocket.setSoTimeout(timeout);
+            } catch (IOException e) {
+                logger.debug("could not set timeout: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * start the owserver connection
      */
@@ -128,7 +157,7 @@ public class OwserverConnection {
     public void stop() {
         close();
         owserverConnectionState = OwserverConnectionState.STOPPED;
-        thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        thingHandlerCallback.accept(owserverConnectionState);
     }
 
     /**
@@ -333,16 +362,16 @@ public class OwserverConnection {
     private boolean open() {
         try {
             if (owserverConnectionState == OwserverConnectionState.CLOSED || tryingConnectionRecovery) {
-                // open socket & set timeout to 3000ms
+                // open socket & set request timeout
                 final Socket owserverSocket = new Socket(owserverAddress, owserverPort);
-                owserverSocket.setSoTimeout(3000);
+                owserverSocket.setSoTimeout(owserverTimeout);
                 this.owserverSocket = owserverSocket;
 
                 owserverInputStream = new DataInputStream(owserverSocket.getInputStream());
                 owserverOutputStream = new DataOutputStream(owserverSocket.getOutputStream());
 
                 owserverConnectionState = OwserverConnectionState.OPENED;
-                thingHandlerCallback.reportConnectionState(owserverConnectionState);
+                thingHandlerCallback.accept(owserverConnectionState);
 
                 logger.debug("OW connection state: opened to {}:{}", owserverAddress, owserverPort);
                 return true;
@@ -399,7 +428,7 @@ public class OwserverConnection {
         this.owserverOutputStream = null;
 
         if (reportConnectionState) {
-            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+            thingHandlerCallback.accept(owserverConnectionState);
         }
     }
 
@@ -428,10 +457,10 @@ public class OwserverConnection {
             logger.debug("OW connection state: set to failed as max retries exceeded.");
             owserverConnectionState = OwserverConnectionState.FAILED;
             tryingConnectionRecovery = false;
-            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+            thingHandlerCallback.accept(owserverConnectionState);
         } else if (!tryingConnectionRecovery) {
             // as close did not report connections state and we are not trying to recover ...
-            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+            thingHandlerCallback.accept(owserverConnectionState);
         }
     }
 
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.onewire.internal.owserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smarthomej.binding.onewire.internal.OwException;
+
+/**
+ * The {@link OwserverConnectionPool} holds a number of persistent connections to the same owserver and hands them
+ * out to concurrent requests.
+ *
+ * The primary connection is provided by the bridge handler and reports its state to it, so it determines the bridge
+ * status. Secondary connections are only used while they are connected. If they fail, they are restarted in the
+ * background without affecting the bridge status.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class OwserverConnectionPool {
+    private static final int RECONNECT_AFTER_FAIL_TIME = 5000; // in ms
+
+    private final Logger logger = LoggerFactory.getLogger(OwserverConnectionPool.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final OwserverConnection primaryConnection;
+    private final List<OwserverConnection> secondaryConnections = new ArrayList<>();
+    private final BlockingQueue<OwserverConnection> idleConnections;
+    private final Set<OwserverConnection> unavailableConnections = ConcurrentHashMap.newKeySet();
+    private final long requestTimeout;
+
+    private final AtomicLong busyTime = new AtomicLong();
+    private volatile boolean running = false;
+
+    @FunctionalInterface
+    public interface Request<T> {
+        T execute(OwserverConnection connection) throws OwException;
+    }
+
+    /**
+     * create a new pool
+     *
+     * @param primaryConnection the connection that is used for the bridge status
+     * @param size the total number of connections (including the primary connection)
+     * @param requestTimeout the maximum time to wait for a free connection in ms
+     * @param scheduler the scheduler for (re-)starting the secondary connections
+     */
+    public OwserverConnectionPool(OwserverConnection primaryConnection, int size, int requestTimeout,
+            ScheduledExecutorService scheduler) {
+        this.primaryConnection = primaryConnection;
+        this.scheduler = scheduler;
+        this.requestTimeout = requestTimeout;
+        this.idleConnections = new ArrayBlockingQueue<>(Math.max(1, size));
+        idleConnections.add(primaryConnection);
+        for (int i = 1; i < size; i++) {
+            SecondaryConnectionListener listener = new SecondaryConnectionListener();
+            secondaryConnections.add(listener.connection);
+            // secondary connections become available once they are connected
+            unavailableConnections.add(listener.connection);
+        }
+    }
+
+    /**
+     * set the owserver address for all secondary connections
+     *
+     * @param host the host
+     * @param port the port
+     * @param timeout the request timeout in ms
+     */
+    public void configureSecondaryConnections(String host, int port, int timeout) {
+        for (OwserverConnection connection : secondaryConnections) {
+            connection.setHost(host);
+            connection.setPort(port);
+            connection.setTimeout(timeout);
+        }
+    }
+
+    /**
+     * start the secondary connections (the primary connection is managed by the bridge handler)
+     */
+    public void start() {
+        running = true;
+        secondaryConnections.forEach(this::startSecondaryConnection);
+    }
+
+    /**
+     * stop all secondary connections
+     */
+    public void stop() {
+        running = false;
+        for (OwserverConnection connection : secondaryConnections) {
+            idleConnections.remove(connection);
+            unavailableConnections.add(connection);
+            synchronized (connection) {
+                connection.stop();
+            }
+        }
+    }
+
+    /**
+     * execute a request on the next free connection
+     *
+     * @param request the request
+     * @return the result of the request
+     * @throws OwException if the request failed or no connection was available within the request timeout
+     */
+    public <T> T execute(Request<T> request) throws OwException {
+        OwserverConnection connection = borrowConnection();
+        long start = System.nanoTime();
+        try {
+            synchronized (connection) {
+                return request.execute(connection);
+            }
+        } finally {
+            busyTime.addAndGet(System.nanoTime() - start);
+            releaseConnection(connection);
+        }
+    }
+
+    /**
+     * get the number of connections in this pool
+     *
+     * @return the number of connections
+     */
+    public int getSize() {
+        return secondaryConnections.size() + 1;
+    }
+
+    /**
+     * get the accumulated time all connections spent processing requests
+     *
+     * @return the busy time in ns
+     */
+    public long getBusyTime() {
+        return busyTime.get();
+    }
+
+    private OwserverConnection borrowConnection() throws OwException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeout);
+        try {
+            while (true) {
+                OwserverConnection connection = idleConnections.poll(deadline - System.nanoTime(),
+                        TimeUnit.NANOSECONDS);
+                if (connection == null) {
+                    throw new OwException("no owserver connection available within " + requestTimeout + " ms");
+                } else if (!unavailableConnections.contains(connection)) {
+                    return connection;
+                }
+                // failed connections are returned to the pool after a successful restart
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OwException("interrupted while waiting for an owserver connection");
+        }
+    }
+
+    private void releaseConnection(OwserverConnection connection) {
+        if (!unavailableConnections.contains(connection)) {
+            idleConnections.offer(connection);
+        }
+    }
+
+    private void startSecondaryConnection(OwserverConnection connection) {
+        scheduler.execute(() -> {
+            if (running) {
+                synchronized (connection) {
+                    connection.start();
+                }
+            }
+        });
+    }
+
+    private class SecondaryConnectionListener implements Consumer<OwserverConnectionState> {
+        private final OwserverConnection connection = new OwserverConnection(this);
+
+        @Override
+        public void accept(OwserverConnectionState connectionState) {
+            switch (connectionState) {
+                case FAILED:
+                    if (unavailableConnections.add(connection)) {
+                        idleConnections.remove(connection);
+                    }
+                    if (running) {
+                        logger.debug("Secondary owserver connection failed, retrying in {} ms",
+                                RECONNECT_AFTER_FAIL_TIME);
+                        scheduler.schedule(() -> startSecondaryConnection(connection), RECONNECT_AFTER_FAIL_TIME,
+                                TimeUnit.MILLISECONDS);
+                    }
+                    break;
+                case OPENED:
+                case CLOSED:
+                    if (running && unavailableConnections.remove(connection)) {
+                        idleConnections.offer(connection);
+                    }
+                    break;
+                case STOPPED:
+                    break;
+            }
+        }
+    }
+}
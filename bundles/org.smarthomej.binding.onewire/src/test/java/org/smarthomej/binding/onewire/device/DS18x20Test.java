@@ -31,6 +31,7 @@ import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
 import org.smarthomej.binding.onewire.internal.OwException;
 import org.smarthomej.binding.onewire.internal.device.DS18x20;
+import org.smarthomej.binding.onewire.internal.owserver.OwserverDeviceParameter;
 
 /**
  * Tests cases for {@link DS18x20}.
@@ -65,6 +66,29 @@ public class DS18x20Test extends DeviceTestParent<DS18x20> {
         inOrder.verify(mockThingHandler).postUpdate(eq(CHANNEL_TEMPERATURE), eq(new QuantityType<>("15.0 °C")));
     }
 
+    @Test
+    public void temperatureSimultaneousConversionTest() throws OwException {
+        final DS18x20 testDevice = instantiateDevice();
+        final InOrder inOrder = Mockito.inOrder(mockThingHandler, mockBridgeHandler);
+
+        Mockito.when(mockBridgeHandler.isTemperatureConverted()).thenReturn(true);
+        Mockito.when(mockBridgeHandler.readDecimalType(eq(testSensorId), any())).thenReturn(new DecimalType(15.0));
+
+        testDevice.enableChannel(CHANNEL_TEMPERATURE);
+        testDevice.configureChannels();
+
+        // forced refresh reads with own conversion (and sets the resolution)
+        testDevice.refresh(mockBridgeHandler, true);
+        inOrder.verify(mockBridgeHandler).readDecimalType(eq(testSensorId),
+                eq(new OwserverDeviceParameter("/temperature")));
+
+        // normal refresh reads the result of the simultaneous conversion
+        testDevice.refresh(mockBridgeHandler, false);
+        inOrder.verify(mockBridgeHandler).readDecimalType(eq(testSensorId),
+                eq(new OwserverDeviceParameter("uncached/", "/latesttemp")));
+        inOrder.verify(mockThingHandler).postUpdate(eq(CHANNEL_TEMPERATURE), eq(new QuantityType<>("15.0 °C")));
+    }
+
     @Test
     public void temperatureIgnorePORTest() throws OwException {
         final DS18x20 testDevice = instantiateDevice();
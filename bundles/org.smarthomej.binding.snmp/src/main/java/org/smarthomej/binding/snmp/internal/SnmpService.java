@@ -14,6 +14,7 @@
 package org.smarthomej.binding.snmp.internal;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -23,6 +24,7 @@ import org.snmp4j.CommandResponder;
 import org.snmp4j.PDU;
 import org.snmp4j.Target;
 import org.snmp4j.event.ResponseListener;
+import org.snmp4j.smi.OID;
 
 /**
  * The {@link SnmpService} is responsible for SNMP communication
@@ -34,9 +36,16 @@ import org.snmp4j.event.ResponseListener;
 @NonNullByDefault
 public interface SnmpService {
 
-    void addCommandResponder(CommandResponder listener);
+    /**
+     * add a listener for traps or update the registration of an already registered listener
+     *
+     * @param listener the listener
+     * @param address the IP address of the trap source (or <code>null</code> if not known)
+     * @param enterpriseOids the OIDs of SNMP v1 traps that shall be received from any source
+     */
+    void addTrapListener(CommandResponder listener, @Nullable String address, Collection<OID> enterpriseOids);
 
-    void removeCommandResponder(CommandResponder listener);
+    void removeTrapListener(CommandResponder listener);
 
     void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener) throws IOException;
 
@@ -14,9 +14,8 @@
 package org.smarthomej.binding.snmp.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -43,6 +42,7 @@ import org.snmp4j.security.SecurityModels;
 import org.snmp4j.security.SecurityProtocols;
 import org.snmp4j.security.USM;
 import org.snmp4j.security.UsmUser;
+import org.snmp4j.smi.OID;
 import org.snmp4j.smi.OctetString;
 import org.snmp4j.smi.UdpAddress;
 import org.snmp4j.transport.DefaultUdpTransportMapping;
@@ -65,7 +65,7 @@ public class SnmpServiceImpl implements SnmpService {
     private @Nullable Snmp snmp;
     private @Nullable DefaultUdpTransportMapping transport;
 
-    private final List<CommandResponder> listeners = new ArrayList<>();
+    private final SnmpTrapDispatcher trapDispatcher;
     private final Set<UserEntry> userEntries = new HashSet<>();
 
     @Activate
@@ -77,12 +77,16 @@ public class SnmpServiceImpl implements SnmpService {
         USM usm = new USM(SecurityProtocols.getInstance(), localEngineId, 0);
         SecurityModels.getInstance().addSecurityModel(usm);
 
+        SnmpServiceConfiguration serviceConfig = new Configuration(config).as(SnmpServiceConfiguration.class);
+        trapDispatcher = new SnmpTrapDispatcher(serviceConfig.trapThreads, serviceConfig.trapQueueSize);
+
         modified(config);
     }
 
     @Modified
     protected void modified(Map<String, Object> config) {
         this.config = new Configuration(config).as(SnmpServiceConfiguration.class);
+        trapDispatcher.configure(this.config.trapThreads, this.config.trapQueueSize);
         try {
             shutdownSnmp();
 
@@ -95,7 +99,7 @@ public class SnmpServiceImpl implements SnmpService {
             }
 
             final Snmp snmp = new Snmp(transport);
-            listeners.forEach(listener -> snmp.addCommandResponder(listener));
+            snmp.addCommandResponder(trapDispatcher);
             snmp.listen();
 
             // re-add user entries
@@ -118,6 +122,7 @@ public class SnmpServiceImpl implements SnmpService {
         } catch (IOException e) {
             logger.info("could not end SNMP: {}", e.getMessage());
         }
+        trapDispatcher.dispose();
     }
 
     private void shutdownSnmp() throws IOException {
@@ -134,21 +139,13 @@ public class SnmpServiceImpl implements SnmpService {
     }
 
     @Override
-    public void addCommandResponder(CommandResponder listener) {
-        Snmp snmp = this.snmp;
-        if (snmp != null) {
-            snmp.addCommandResponder(listener);
-        }
-        listeners.add(listener);
+    public void addTrapListener(CommandResponder listener, @Nullable String address, Collection<OID> enterpriseOids) {
+        trapDispatcher.addListener(listener, address, enterpriseOids);
     }
 
     @Override
-    public void removeCommandResponder(CommandResponder listener) {
-        Snmp snmp = this.snmp;
-        if (snmp != null) {
-            snmp.removeCommandResponder(listener);
-        }
-        listeners.remove(listener);
+    public void removeTrapListener(CommandResponder listener) {
+        trapDispatcher.removeListener(listener);
     }
 
     @Override
@@ -18,7 +18,11 @@ import static org.smarthomej.binding.snmp.internal.SnmpBindingConstants.*;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
@@ -90,6 +94,7 @@ import org.snmp4j.smi.VariableBinding;
 public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
+    private static final int MIN_TABLE_WALK_OIDS = 4;
 
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
@@ -97,6 +102,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private final SnmpService snmpService;
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
+    // a refresh sends several requests, so that timeouts are only counted once per refresh cycle
+    private volatile boolean timeoutInRefreshCycle = false;
 
     private @NonNullByDefault({}) AbstractTarget target;
     private @NonNullByDefault({}) String targetAddressString;
@@ -104,6 +111,13 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private Map<OID, List<SnmpInternalChannelConfiguration>> readChannelIndex = Map.of();
+    private Map<OID, List<SnmpInternalChannelConfiguration>> trapChannelIndex = Map.of();
+
+    private List<OID> singleOids = List.of();
+    private Map<OID, TableColumn> tableColumns = Map.of();
+    private volatile int maxOidsPerRequest = 1;
+    private volatile int maxRepetitions = 1;
 
     public SnmpTargetHandler(Thing thing, SnmpService snmpService) {
         super(thing);
@@ -223,8 +237,6 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
 
-            snmpService.addCommandResponder(this);
-
             target.setRetries(config.retries);
             target.setTimeout(config.timeout);
             target.setVersion(config.protocol.toInteger());
@@ -238,6 +250,10 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             return;
         }
 
+        maxOidsPerRequest = Math.max(1, config.maxOidsPerRequest);
+        maxRepetitions = Math.max(1, config.maxRepetitions);
+        planRequests();
+
         updateStatus(ThingStatus.UNKNOWN);
         refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
     }
@@ -248,7 +264,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         if (r != null && !r.isCancelled()) {
             r.cancel(true);
         }
-        snmpService.removeCommandResponder(this);
+        snmpService.removeTrapListener(this);
     }
 
     @Override
@@ -269,10 +285,13 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         if (response == null) {
             Exception e = event.getError();
             if (e == null) { // no response, no error -> request timed out
-                timeoutCounter++;
-                if (timeoutCounter > config.retries) {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
-                    target.setAddress(null);
+                if (!timeoutInRefreshCycle) {
+                    timeoutInRefreshCycle = true;
+                    timeoutCounter++;
+                    if (timeoutCounter > config.retries) {
+                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
+                        target.setAddress(null);
+                    }
                 }
                 return;
             }
@@ -285,11 +304,27 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
         logger.trace("{} received {}", thing.getUID(), response);
 
-        response.getVariableBindings().forEach(variable -> {
-            if (variable != null) {
-                updateChannels(variable.getOid(), variable.getVariable(), readChannelSet);
-            }
-        });
+        PDU request = event.getRequest();
+        if (response.getErrorStatus() == PDU.tooBig && request != null) {
+            retryTooBigRequest(request);
+            return;
+        }
+
+        if (request != null && request.getType() == PDU.GETBULK) {
+            // table walks return all rows, only process those that are linked to a channel
+            response.getVariableBindings().forEach(variable -> {
+                if (variable != null && readChannelIndex.containsKey(variable.getOid())) {
+                    updateChannels(variable.getOid(), variable.getVariable(), readChannelIndex);
+                }
+            });
+            continueTableWalk(request, response);
+        } else {
+            response.getVariableBindings().forEach(variable -> {
+                if (variable != null) {
+                    updateChannels(variable.getOid(), variable.getVariable(), readChannelIndex);
+                }
+            });
+        }
     }
 
     @Override
@@ -311,13 +346,13 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             if (trapValue == PDUv1.ENTERPRISE_SPECIFIC) {
                 trapValue = pduv1.getSpecificTrap();
             }
-            updateChannels(oidEnterprise, new UnsignedInteger32(trapValue), trapChannelSet);
+            updateChannels(oidEnterprise, new UnsignedInteger32(trapValue), trapChannelIndex);
         }
         if ((pdu.getType() == PDU.TRAP || pdu.getType() == PDU.V1TRAP) && config.community.equals(community)
                 && targetAddressString.equals(address)) {
             pdu.getVariableBindings().forEach(variable -> {
                 if (variable != null) {
-                    updateChannels(variable.getOid(), variable.getVariable(), trapChannelSet);
+                    updateChannels(variable.getOid(), variable.getVariable(), trapChannelIndex);
                 }
             });
         }
@@ -407,11 +442,52 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 .collect(Collectors.toSet());
         this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
                 .collect(Collectors.toSet());
+        this.readChannelIndex = readChannelSet.stream().collect(Collectors.groupingBy(c -> c.oid));
+        this.trapChannelIndex = trapChannelSet.stream().collect(Collectors.groupingBy(c -> c.oid));
     }
 
-    private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
-        Set<SnmpInternalChannelConfiguration> updateChannelConfigs = channelConfigs.stream()
-                .filter(c -> c.oid.equals(oid)).collect(Collectors.toSet());
+    /**
+     * split the read OIDs into OIDs that are requested with GET and table columns that are walked with GETBULK
+     *
+     * A column is walked if the protocol supports GETBULK and it contains at least {@link #MIN_TABLE_WALK_OIDS} OIDs
+     * which cover at least half of the index range between the first and the last OID.
+     */
+    private void planRequests() {
+        boolean bulkSupported = config.protocol.toInteger() != SnmpConstants.version1;
+        List<OID> singleOids = new ArrayList<>();
+        Map<OID, TableColumn> tableColumns = new HashMap<>();
+
+        Map<OID, List<OID>> columnOids = new HashMap<>();
+        for (OID oid : readChannelIndex.keySet()) {
+            if (bulkSupported && oid.size() > 1) {
+                columnOids.computeIfAbsent(getParentOid(oid), k -> new ArrayList<>()).add(oid);
+            } else {
+                singleOids.add(oid);
+            }
+        }
+        columnOids.forEach((column, oids) -> {
+            long firstIndex = oids.stream().mapToLong(OID::lastUnsigned).min().orElse(0);
+            long lastIndex = oids.stream().mapToLong(OID::lastUnsigned).max().orElse(0);
+            if (oids.size() >= MIN_TABLE_WALK_OIDS && lastIndex - firstIndex + 1 <= 2L * oids.size()) {
+                logger.trace("{} walking table column {} from index {} to {}", thing.getUID(), column, firstIndex,
+                        lastIndex);
+                tableColumns.put(column, new TableColumn(column, firstIndex, lastIndex));
+            } else {
+                singleOids.addAll(oids);
+            }
+        });
+
+        this.singleOids = List.copyOf(singleOids);
+        this.tableColumns = Map.copyOf(tableColumns);
+    }
+
+    private static OID getParentOid(OID oid) {
+        return new OID(oid.getValue(), 0, oid.size() - 1);
+    }
+
+    private void updateChannels(OID oid, Variable value,
+            Map<OID, List<SnmpInternalChannelConfiguration>> channelConfigIndex) {
+        List<SnmpInternalChannelConfiguration> updateChannelConfigs = channelConfigIndex.getOrDefault(oid, List.of());
         if (!updateChannelConfigs.isEmpty()) {
             updateChannelConfigs.forEach(channelConfig -> {
                 ChannelUID channelUID = channelConfig.channelUID;
@@ -547,6 +623,9 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         try {
             target.setAddress(new UdpAddress(InetAddress.getByName(config.hostname), config.port));
             targetAddressString = ((UdpAddress) target.getAddress()).getInetAddress().getHostAddress();
+            if (!trapChannelIndex.isEmpty()) {
+                snmpService.addTrapListener(this, targetAddressString, trapChannelIndex.keySet());
+            }
             return true;
         } catch (UnknownHostException e) {
             target.setAddress(null);
@@ -562,15 +641,94 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
         }
+        timeoutInRefreshCycle = false;
+        List<OID> singleOids = this.singleOids;
+        int chunkSize = maxOidsPerRequest;
+        for (int i = 0; i < singleOids.size(); i += chunkSize) {
+            sendGet(singleOids.subList(i, Math.min(i + chunkSize, singleOids.size())));
+        }
+        tableColumns.values().forEach(column -> sendGetBulk(column.getStartOid(),
+                column.lastIndex - column.firstIndex + 1));
+    }
+
+    private void sendGet(List<OID> oids) {
         PDU pdu = getPDU();
         pdu.setType(PDU.GET);
-        readChannelSet.stream().map(c -> new VariableBinding(c.oid)).forEach(pdu::add);
-        if (!pdu.getVariableBindings().isEmpty()) {
-            try {
-                snmpService.send(pdu, target, null, this);
-            } catch (IOException e) {
-                logger.info("Could not send PDU", e);
-            }
+        oids.stream().map(VariableBinding::new).forEach(pdu::add);
+        send(pdu);
+    }
+
+    private void sendGetBulk(OID startOid, long remainingRows) {
+        PDU pdu = getPDU();
+        pdu.setType(PDU.GETBULK);
+        pdu.setNonRepeaters(0);
+        pdu.setMaxRepetitions((int) Math.min(maxRepetitions, remainingRows));
+        pdu.add(new VariableBinding(startOid));
+        send(pdu);
+    }
+
+    private void send(PDU pdu) {
+        try {
+            snmpService.send(pdu, target, null, this);
+        } catch (IOException e) {
+            logger.info("Could not send PDU", e);
+        }
+    }
+
+    /**
+     * request the next rows of a table column if the response did not contain all requested rows
+     *
+     * @param request the GETBULK request
+     * @param response the response to the request
+     */
+    private void continueTableWalk(PDU request, PDU response) {
+        List<? extends VariableBinding> variableBindings = response.getVariableBindings();
+        if (variableBindings.isEmpty() || request.getVariableBindings().isEmpty()) {
+            return;
+        }
+        VariableBinding lastBinding = variableBindings.get(variableBindings.size() - 1);
+        OID lastOid = lastBinding.getOid();
+        if (lastBinding.getVariable().isException() || lastOid.size() < 2) {
+            // end of MIB view reached
+            return;
+        }
+        OID column = getParentOid(lastOid);
+        TableColumn tableColumn = tableColumns.get(column);
+        if (tableColumn == null || !request.get(0).getOid().startsWith(column)) {
+            // the walk left the requested column
+            return;
+        }
+        long lastIndex = lastOid.lastUnsigned();
+        if (lastIndex < tableColumn.lastIndex) {
+            sendGetBulk(lastOid, tableColumn.lastIndex - lastIndex);
+        }
+    }
+
+    /**
+     * re-send a request that could not be answered because the response exceeded the maximum message size of the
+     * agent
+     *
+     * GET requests are split in two halves, GETBULK requests are repeated with less repetitions. The reduced limits
+     * are also used for all following requests.
+     *
+     * @param request the failed request
+     */
+    private void retryTooBigRequest(PDU request) {
+        List<? extends VariableBinding> variableBindings = request.getVariableBindings();
+        if (request.getType() == PDU.GETBULK && request.getMaxRepetitions() > 1 && !variableBindings.isEmpty()) {
+            maxRepetitions = Math.max(1, request.getMaxRepetitions() / 2);
+            logger.debug("{} response too big, reducing max-repetitions to {}", thing.getUID(), maxRepetitions);
+            sendGetBulk(variableBindings.get(0).getOid(), request.getMaxRepetitions());
+        } else if (request.getType() == PDU.GET && variableBindings.size() > 1) {
+            int half = variableBindings.size() / 2;
+            maxOidsPerRequest = Math.max(1, Math.min(maxOidsPerRequest, half));
+            logger.debug("{} response too big, reducing OIDs per request to {}", thing.getUID(), maxOidsPerRequest);
+            List<OID> oids = variableBindings.stream().map(VariableBinding::getOid).collect(Collectors.toList());
+            sendGet(oids.subList(0, half));
+            sendGet(oids.subList(half, oids.size()));
+        } else {
+            logger.warn("{} response to request {} exceeds the maximum message size of the agent", thing.getUID(),
+                    request);
         }
     }
 
@@ -581,4 +739,25 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             return new PDU();
         }
     }
+
+    private static class TableColumn {
+        private final OID column;
+        private final long firstIndex;
+        private final long lastIndex;
+
+        public TableColumn(OID column, long firstIndex, long lastIndex) {
+            this.column = column;
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+        }
+
+        /**
+         * get the OID that directly precedes the first row (GETBULK returns the successors of the requested OID)
+         *
+         * @return the start OID
+         */
+        public OID getStartOid() {
+            return firstIndex > 0 ? new OID(column).appendUnsigned(firstIndex - 1) : new OID(column);
+        }
+    }
 }
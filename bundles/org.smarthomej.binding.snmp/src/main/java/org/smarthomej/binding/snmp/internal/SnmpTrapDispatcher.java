@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.snmp.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.snmp4j.CommandResponder;
+import org.snmp4j.CommandResponderEvent;
+import org.snmp4j.PDU;
+import org.snmp4j.PDUv1;
+import org.snmp4j.smi.Address;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.TransportIpAddress;
+
+/**
+ * The {@link SnmpTrapDispatcher} receives all traps and hands them to the listeners that registered for the source
+ * address of the trap or (for SNMP v1 traps) for the enterprise OID.
+ *
+ * Listeners are called on a bounded pool of single-threaded workers. All traps from the same source address are
+ * processed by the same worker, so that they are handled in the order they were received. If the queue of a worker is
+ * full, traps are dropped and counted.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpTrapDispatcher implements CommandResponder {
+    private final Logger logger = LoggerFactory.getLogger(SnmpTrapDispatcher.class);
+
+    private final Map<CommandResponder, Registration> registrations = new HashMap<>();
+    private final Map<String, Set<CommandResponder>> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<OID, Set<CommandResponder>> listenersByOid = new ConcurrentHashMap<>();
+
+    private final AtomicLong receivedTraps = new AtomicLong();
+    private final AtomicLong droppedTraps = new AtomicLong();
+
+    private List<ExecutorService> executors;
+
+    /**
+     * create a new dispatcher
+     *
+     * @param threads the number of worker threads
+     * @param queueSize the maximum number of traps that wait for processing
+     */
+    public SnmpTrapDispatcher(int threads, int queueSize) {
+        executors = createExecutors(threads, queueSize);
+    }
+
+    /**
+     * change the size of the worker pool (traps that are already queued are processed by the old pool)
+     *
+     * @param threads the number of worker threads
+     * @param queueSize the maximum number of traps that wait for processing
+     */
+    public synchronized void configure(int threads, int queueSize) {
+        executors.forEach(ExecutorService::shutdown);
+        executors = createExecutors(threads, queueSize);
+    }
+
+    private static List<ExecutorService> createExecutors(int threads, int queueSize) {
+        int poolSize = Math.max(1, threads);
+        // the queue size is shared between the workers
+        int workerQueueSize = Math.max(1, queueSize / poolSize);
+        List<ExecutorService> executors = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(workerQueueSize), new NamedThreadFactory("snmp-trap"));
+            executor.allowCoreThreadTimeOut(true);
+            executors.add(executor);
+        }
+        return List.copyOf(executors);
+    }
+
+    public synchronized void dispose() {
+        executors.forEach(ExecutorService::shutdownNow);
+    }
+
+    /**
+     * add a listener or update the registration of an already registered listener
+     *
+     * @param listener the listener
+     * @param address the IP address of the trap source (or <code>null</code> if not known)
+     * @param enterpriseOids the OIDs of SNMP v1 traps that shall be received from any source
+     */
+    public synchronized void addListener(CommandResponder listener, @Nullable String address,
+            Collection<OID> enterpriseOids) {
+        removeListener(listener);
+        Registration registration = new Registration(address, Set.copyOf(enterpriseOids));
+        registrations.put(listener, registration);
+        if (address != null) {
+            listenersByAddress.computeIfAbsent(address, k -> ConcurrentHashMap.newKeySet()).add(listener);
+        }
+        registration.enterpriseOids
+                .forEach(oid -> listenersByOid.computeIfAbsent(oid, k -> ConcurrentHashMap.newKeySet()).add(listener));
+    }
+
+    /**
+     * remove a listener
+     *
+     * @param listener the listener
+     */
+    public synchronized void removeListener(CommandResponder listener) {
+        Registration registration = registrations.remove(listener);
+        if (registration == null) {
+            return;
+        }
+        String address = registration.address;
+        if (address != null) {
+            removeFromIndex(listenersByAddress, address, listener);
+        }
+        registration.enterpriseOids.forEach(oid -> removeFromIndex(listenersByOid, oid, listener));
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<CommandResponder>> index, K key, CommandResponder listener) {
+        index.computeIfPresent(key, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    @Override
+    public void processPdu(@Nullable CommandResponderEvent event) {
+        if (event == null) {
+            return;
+        }
+        PDU pdu = event.getPDU();
+        if (pdu == null || (pdu.getType() != PDU.TRAP && pdu.getType() != PDU.V1TRAP)) {
+            return;
+        }
+        receivedTraps.incrementAndGet();
+
+        Set<CommandResponder> listeners = new LinkedHashSet<>();
+        Address peerAddress = event.getPeerAddress();
+        String address = "";
+        if (peerAddress instanceof TransportIpAddress) {
+            address = ((TransportIpAddress) peerAddress).getInetAddress().getHostAddress();
+            listeners.addAll(listenersByAddress.getOrDefault(address, Set.of()));
+        }
+        if (pdu instanceof PDUv1) {
+            listeners.addAll(listenersByOid.getOrDefault(((PDUv1) pdu).getEnterprise(), Set.of()));
+        }
+        if (listeners.isEmpty()) {
+            logger.trace("No listener for trap {} from {}", pdu, peerAddress);
+            return;
+        }
+
+        try {
+            synchronized (this) {
+                // the same source always uses the same worker to keep the order of its traps
+                executors.get(Math.floorMod(address.hashCode(), executors.size())).execute(() -> listeners.forEach(listener -> {
+                    try {
+                        listener.processPdu(event);
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener {} failed to process trap: {}", listener, e.getMessage());
+                    }
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            long dropped = droppedTraps.incrementAndGet();
+            if (dropped % 100 == 1) {
+                logger.warn("Trap queue is full, dropped {} of {} received traps so far", dropped,
+                        receivedTraps.get());
+            }
+        }
+    }
+
+    /**
+     * get the number of traps that were received since the dispatcher was created
+     *
+     * @return number of traps
+     */
+    public long getReceivedTraps() {
+        return receivedTraps.get();
+    }
+
+    /**
+     * get the number of traps that were dropped because the queue was full
+     *
+     * @return number of traps
+     */
+    public long getDroppedTraps() {
+        return droppedTraps.get();
+    }
+
+    private static class Registration {
+        private final @Nullable String address;
+        private final Set<OID> enterpriseOids;
+
+        public Registration(@Nullable String address, Set<OID> enterpriseOids) {
+            this.address = address;
+            this.enterpriseOids = enterpriseOids;
+        }
+    }
+}
@@ -23,4 +23,6 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public class SnmpServiceConfiguration {
     public int port = 0;
+    public int trapThreads = 2;
+    public int trapQueueSize = 1000;
 }
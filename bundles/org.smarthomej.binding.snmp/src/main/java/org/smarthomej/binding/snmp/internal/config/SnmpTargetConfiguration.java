@@ -35,6 +35,8 @@ public class SnmpTargetConfiguration {
     public int refresh = 60;
     public int timeout = 1500;
     public int retries = 2;
+    public int maxOidsPerRequest = 20;
+    public int maxRepetitions = 25;
 
     // v1/v2c only
     public String community = "public";
@@ -155,7 +155,11 @@ public abstract class AbstractSnmpTargetHandlerTest extends JavaTest {
         setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, channelMode);
 
         verifyStatus(ThingStatus.UNKNOWN);
-        verify(snmpService).addCommandResponder(any());
+        if (channelMode == SnmpChannelMode.TRAP) {
+            verify(snmpService, timeout(500)).addTrapListener(eq(thingHandler), any(), any());
+        } else {
+            verify(snmpService, never()).addTrapListener(any(), any(), any());
+        }
 
         if (refresh) {
             ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
@@ -14,16 +14,22 @@
 package org.smarthomej.binding.snmp.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
@@ -168,6 +174,49 @@ public class SnmpTargetHandlerTest extends AbstractSnmpTargetHandlerTest {
         verifyStatus(ThingStatus.ONLINE);
     }
 
+    @Test
+    public void testTooBigResponseSplitsRequest() throws IOException {
+        setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, SnmpChannelMode.READ);
+        verify(snmpService, timeout(500).atLeast(1)).send(any(), any(), eq(null), eq(thingHandler));
+        clearInvocations(snmpService);
+
+        PDU requestPDU = new PDU(PDU.GET,
+                List.of(new VariableBinding(new OID(TEST_OID)), new VariableBinding(new OID("1.2.3.5"))));
+        PDU responsePDU = new PDU(PDU.RESPONSE, List.of());
+        responsePDU.setErrorStatus(PDU.tooBig);
+        thingHandler.onResponse(new ResponseEvent("test", null, requestPDU, responsePDU, null));
+
+        ArgumentCaptor<PDU> pduCaptor = ArgumentCaptor.forClass(PDU.class);
+        verify(snmpService, times(2)).send(pduCaptor.capture(), any(), eq(null), eq(thingHandler));
+        List<PDU> pdus = pduCaptor.getAllValues();
+        assertEquals(new OID(TEST_OID), pdus.get(0).get(0).getOid());
+        assertEquals(1, pdus.get(0).size());
+        assertEquals(new OID("1.2.3.5"), pdus.get(1).get(0).getOid());
+        assertEquals(1, pdus.get(1).size());
+    }
+
+    @Test
+    public void testTimeoutsAreCountedOncePerRefreshCycle() throws IOException {
+        setup(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING, SnmpChannelMode.READ);
+        verify(snmpService, timeout(500).atLeast(1)).send(any(), any(), eq(null), eq(thingHandler));
+
+        // a refresh with a GET and two GETBULK requests, all requests of this cycle time out
+        PDU getPDU = new PDU(PDU.GET, List.of(new VariableBinding(new OID(TEST_OID))));
+        PDU bulkPDU1 = new PDU(PDU.GETBULK, List.of(new VariableBinding(new OID("1.2.3.5"))));
+        PDU bulkPDU2 = new PDU(PDU.GETBULK, List.of(new VariableBinding(new OID("1.2.3.6"))));
+        for (PDU requestPDU : List.of(getPDU, bulkPDU1, bulkPDU2)) {
+            thingHandler.onResponse(new ResponseEvent("test", null, requestPDU, null, null));
+        }
+
+        // retries is 2, a single lost refresh cycle must not set the thing OFFLINE
+        verifyStatus(ThingStatus.UNKNOWN);
+
+        PDU responsePDU = new PDU(PDU.RESPONSE,
+                List.of(new VariableBinding(new OID(TEST_OID), new OctetString("foo"))));
+        thingHandler.onResponse(new ResponseEvent("test", null, getPDU, responsePDU, null));
+        verifyStatus(ThingStatus.ONLINE);
+    }
+
     static class SnmpMock extends Snmp {
         public int cancelCallCounter = 0;
 
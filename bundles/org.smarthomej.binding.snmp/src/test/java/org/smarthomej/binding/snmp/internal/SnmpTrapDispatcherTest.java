@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.snmp.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.snmp4j.CommandResponder;
+import org.snmp4j.CommandResponderEvent;
+import org.snmp4j.PDU;
+import org.snmp4j.PDUv1;
+import org.snmp4j.smi.Integer32;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.UdpAddress;
+
+/**
+ * Tests cases for {@link SnmpTrapDispatcher}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class SnmpTrapDispatcherTest {
+    private static final String ADDRESS_1 = "192.168.0.1";
+    private static final String ADDRESS_2 = "192.168.0.2";
+    private static final OID ENTERPRISE_OID = new OID("1.3.6.1.4.1.9999");
+
+    private @NonNullByDefault({}) SnmpTrapDispatcher dispatcher;
+    private @NonNullByDefault({}) CommandResponder listener1;
+    private @NonNullByDefault({}) CommandResponder listener2;
+
+    @BeforeEach
+    public void setup() {
+        dispatcher = new SnmpTrapDispatcher(1, 10);
+        listener1 = mock(CommandResponder.class);
+        listener2 = mock(CommandResponder.class);
+        dispatcher.addListener(listener1, ADDRESS_1, List.of());
+        dispatcher.addListener(listener2, ADDRESS_2, Set.of(ENTERPRISE_OID));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.dispose();
+    }
+
+    @Test
+    public void trapIsDispatchedBySourceAddress() {
+        CommandResponderEvent event = createEvent(new PDU(PDU.TRAP, List.of()), ADDRESS_1);
+        dispatcher.processPdu(event);
+
+        verify(listener1, timeout(500)).processPdu(event);
+        verify(listener2, after(100).never()).processPdu(any());
+    }
+
+    @Test
+    public void v1TrapIsDispatchedByEnterpriseOid() {
+        PDUv1 pdu = new PDUv1();
+        pdu.setType(PDU.V1TRAP);
+        pdu.setEnterprise(ENTERPRISE_OID);
+        CommandResponderEvent event = createEvent(pdu, "192.168.0.3");
+        dispatcher.processPdu(event);
+
+        verify(listener2, timeout(500)).processPdu(event);
+        verify(listener1, after(100).never()).processPdu(any());
+    }
+
+    @Test
+    public void removedListenerIsNotCalled() {
+        dispatcher.removeListener(listener1);
+        dispatcher.processPdu(createEvent(new PDU(PDU.TRAP, List.of()), ADDRESS_1));
+
+        verify(listener1, after(100).never()).processPdu(any());
+    }
+
+    @Test
+    public void updatedAddressIsUsed() {
+        dispatcher.addListener(listener1, ADDRESS_2, List.of());
+        CommandResponderEvent event = createEvent(new PDU(PDU.TRAP, List.of()), ADDRESS_2);
+        dispatcher.processPdu(event);
+
+        verify(listener1, timeout(500)).processPdu(event);
+        verify(listener2, timeout(500)).processPdu(event);
+        dispatcher.processPdu(createEvent(new PDU(PDU.TRAP, List.of()), ADDRESS_1));
+        verify(listener1, after(100).times(1)).processPdu(any());
+    }
+
+    @Test
+    public void trapsFromSameSourceAreProcessedInOrder() throws InterruptedException {
+        dispatcher.dispose();
+        dispatcher = new SnmpTrapDispatcher(4, 1000);
+
+        int traps = 200;
+        List<Integer> receivedIds = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(traps);
+        dispatcher.addListener(new CommandResponder() {
+            @Override
+            public void processPdu(@Nullable CommandResponderEvent event) {
+                if (event != null) {
+                    receivedIds.add(event.getPDU().getRequestID().getValue());
+                }
+                latch.countDown();
+            }
+        }, ADDRESS_1, List.of());
+
+        for (int i = 0; i < traps; i++) {
+            PDU pdu = new PDU(PDU.TRAP, List.of());
+            pdu.setRequestID(new Integer32(i));
+            dispatcher.processPdu(createEvent(pdu, ADDRESS_1));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, traps).boxed().collect(Collectors.toList()), receivedIds);
+    }
+
+    private CommandResponderEvent createEvent(PDU pdu, String address) {
+        CommandResponderEvent event = mock(CommandResponderEvent.class);
+        when(event.getPDU()).thenReturn(pdu);
+        when(event.getPeerAddress()).thenReturn(new UdpAddress(address + "/162"));
+        return event;
+    }
+}
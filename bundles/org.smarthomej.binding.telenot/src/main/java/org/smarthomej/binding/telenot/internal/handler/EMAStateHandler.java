@@ -13,6 +13,9 @@
 package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
+import static org.smarthomej.binding.telenot.internal.handler.TelenotHandlerRegistry.ANY_ADDRESS;
+
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.library.types.OnOffType;
@@ -54,6 +57,11 @@ public class EMAStateHandler extends TelenotThingHandler {
         // All channels are read-only, so ignore all commands.
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(EMAStateMessage.class, ANY_ADDRESS);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
     }
@@ -13,6 +13,9 @@
 package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
+import static org.smarthomej.binding.telenot.internal.handler.TelenotHandlerRegistry.ANY_ADDRESS;
+
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -64,6 +67,11 @@ public class InputHandler extends TelenotThingHandler {
         }
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(InputMessage.class, ANY_ADDRESS, UsedContactInfoMessage.class, ANY_ADDRESS);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
         if (!(msg instanceof UsedContactInfoMessage)) {
@@ -14,6 +14,8 @@ package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.OpenClosedType;
@@ -91,6 +93,11 @@ public class MBHandler extends TelenotThingHandler {
         }
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(MBMessage.class, config.address, MBDMessage.class, config.address);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
         logger.trace("handleUpdateChannel");
@@ -14,6 +14,8 @@ package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.thing.ChannelUID;
@@ -70,6 +72,11 @@ public class MPHandler extends TelenotThingHandler {
         // All channels are read-only, so ignore all commands.
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(MPMessage.class, config.address);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
         logger.trace("handleUpdateChannel");
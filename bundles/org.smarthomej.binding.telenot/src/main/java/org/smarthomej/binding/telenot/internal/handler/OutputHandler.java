@@ -13,7 +13,9 @@
 package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
+import static org.smarthomej.binding.telenot.internal.handler.TelenotHandlerRegistry.ANY_ADDRESS;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -95,6 +97,12 @@ public class OutputHandler extends TelenotThingHandler {
         }
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(MBMessage.class, ANY_ADDRESS, MBDMessage.class, ANY_ADDRESS, UsedMbMessage.class,
+                ANY_ADDRESS);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
         if (!(msg instanceof UsedMbMessage)) {
@@ -14,6 +14,8 @@ package org.smarthomej.binding.telenot.internal.handler;
 
 import static org.smarthomej.binding.telenot.internal.TelenotBindingConstants.*;
 
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.StringType;
@@ -134,6 +136,11 @@ public class SBHandler extends TelenotThingHandler {
         }
     }
 
+    @Override
+    public Map<Class<? extends TelenotMessage>, Integer> getSubscriptions() {
+        return Map.of(SBMessage.class, config.address, SBStateMessage.class, config.address);
+    }
+
     @Override
     public void handleUpdateChannel(TelenotMessage msg) {
         logger.trace("handleUpdateChannel");
@@ -14,7 +14,6 @@ package org.smarthomej.binding.telenot.internal.handler;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -24,12 +23,10 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -40,6 +37,7 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
+import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerService;
 import org.openhab.core.types.Command;
 import org.openhab.core.util.HexUtils;
@@ -56,6 +54,7 @@ import org.smarthomej.binding.telenot.internal.protocol.MPMessage;
 import org.smarthomej.binding.telenot.internal.protocol.SBMessage;
 import org.smarthomej.binding.telenot.internal.protocol.SBStateMessage;
 import org.smarthomej.binding.telenot.internal.protocol.TelenotCommand;
+import org.smarthomej.binding.telenot.internal.protocol.TelenotFrameDecoder;
 import org.smarthomej.binding.telenot.internal.protocol.TelenotMessage;
 import org.smarthomej.binding.telenot.internal.protocol.TelenotMsgType;
 import org.smarthomej.binding.telenot.internal.protocol.UsedContactInfoMessage;
@@ -103,10 +102,26 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
     protected @Nullable ScheduledFuture<?> connectRetryJob;
     protected @Nullable ScheduledFuture<?> updateTelenotClockJob;
 
+    private final TelenotHandlerRegistry handlerRegistry = new TelenotHandlerRegistry();
+
     public TelenotBridgeHandler(Bridge bridge) {
         super(bridge);
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof TelenotThingHandler) {
+            handlerRegistry.register((TelenotThingHandler) childHandler);
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof TelenotThingHandler) {
+            handlerRegistry.unregister((TelenotThingHandler) childHandler);
+        }
+    }
+
     @Override
     public void dispose() {
         logger.trace("dispose called");
@@ -185,7 +200,7 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
      */
     private void readerThread() {
         logger.debug("Message reader thread started");
-        String message = "";
+        TelenotFrameDecoder frameDecoder = new TelenotFrameDecoder();
         try {
             // read from the stream
             if (discovery) {
@@ -196,34 +211,11 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
                 logger.info("Starting discovery");
             }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
             byte[] content = new byte[2048];
             int bytesRead = -1;
-            int count = 0;
             InputStream is = this.inputStream;
             while (!Thread.interrupted() && is != null && (bytesRead = is.read(content)) != -1) {
-                baos.reset();
-                baos.write(content, 0, bytesRead);
-
-                message += HexUtils.bytesToHex(baos.toByteArray());
-                if (message.matches("^68\\w\\w\\w\\w68(.*)")) {
-                    logger.trace("HEX String: {}", message);
-                    if (message.substring(2, 4).equals(message.substring(4, 6))) {
-                        Integer msgLength = Integer.parseInt(message.substring(2, 4), 16) * 2 + 12;
-                        if (message.length() >= msgLength) {
-                            if (TelenotCommand.isValid(message.substring(0, msgLength))) {
-                                processMessage(message);
-                            }
-                            message = "";
-                            count = 0;
-                        }
-                    }
-                }
-                if (count >= 100) {
-                    message = "";
-                    count = 0;
-                }
-                count++;
+                frameDecoder.decode(content, bytesRead, this::processFrame);
             }
         } catch (IOException e) {
             logger.debug("I/O error while reading from stream: {}", e.getMessage());
@@ -232,10 +224,22 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
             logger.warn("Runtime exception in reader thread", e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
         } finally {
-            logger.debug("Message reader thread exiting");
+            logger.debug("Message reader thread exiting ({} bytes skipped, {} invalid frames)",
+                    frameDecoder.getSkippedBytes(), frameDecoder.getInvalidFrames());
         }
     }
 
+    /**
+     * process a complete frame (framing and checksum are already validated by the decoder)
+     *
+     * @param frame the frame
+     */
+    private void processFrame(byte[] frame) {
+        String message = HexUtils.bytesToHex(frame);
+        logger.trace("HEX String: {}", message);
+        processMessage(message);
+    }
+
     private void processMessage(String message) {
         TelenotMsgType msgType = TelenotMsgType.getMsgType(message);
         if (msgType != TelenotMsgType.INVALID) {
@@ -372,7 +376,7 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
 
         BitSet msgReverseBinaryArray = hexStringToReversedByteOrderBitSet(msg);
         processMessageBitSet(msgReverseBinaryArray, lastMsgReverseBinaryArrayMP, 0,
-                List.of(MPMessage::new, InputMessage::new));
+                Map.of(MPMessage.class, MPMessage::new, InputMessage.class, InputMessage::new));
         lastMsgReverseBinaryArrayMP = msgReverseBinaryArray;
     }
 
@@ -402,10 +406,8 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
                 int endBit = (i + 1) * 8;
                 BitSet value = msgReverseBinaryArraySb.get(startBit, endBit);
                 BitSet oldValue = lastMsgReverseBinaryArraySB.get(startBit, endBit);
-                if (refresh || !oldValue.equals(value)) {
-                    String msgStr = addr + "," + IntStream.range(0, 8).mapToObj(j -> booleanToString(value.get(j)))
-                            .collect(Collectors.joining(","));
-                    notifyChildHandlers(new SBMessage(msgStr));
+                if ((refresh || !oldValue.equals(value)) && handlerRegistry.hasSubscribers(SBMessage.class, addr)) {
+                    notifyChildHandlers(new SBMessage(addr, value), addr);
                 }
                 addr++;
             }
@@ -415,11 +417,13 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
         lastMsgReverseBinaryArraySB = msgReverseBinaryArraySb;
 
         BitSet msgReverseBinaryArrayMb = hexStringToReversedByteOrderBitSet(msg.substring(52, 84));
-        processMessageBitSet(msgReverseBinaryArrayMb, lastMsgReverseBinaryArrayMB, 1, List.of(MBMessage::new));
+        processMessageBitSet(msgReverseBinaryArrayMb, lastMsgReverseBinaryArrayMB, 1,
+                Map.of(MBMessage.class, MBMessage::new));
         lastMsgReverseBinaryArrayMB = msgReverseBinaryArrayMb;
 
         BitSet msgReverseBinaryArrayMbd = hexStringToReversedByteOrderBitSet(msg.substring(84, 116));
-        processMessageBitSet(msgReverseBinaryArrayMbd, lastMsgReverseBinaryArrayMBD, 1, List.of(MBDMessage::new));
+        processMessageBitSet(msgReverseBinaryArrayMbd, lastMsgReverseBinaryArrayMBD, 1,
+                Map.of(MBDMessage.class, MBDMessage::new));
         lastMsgReverseBinaryArrayMBD = msgReverseBinaryArrayMbd;
     }
 
@@ -443,7 +447,7 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
         } catch (TelenotMessageException e) {
             throw new MessageParseException(e.getMessage());
         }
-        notifyChildHandlers(sbStateMessage);
+        notifyChildHandlers(sbStateMessage, sbStateMessage.address);
     }
 
     /**
@@ -554,7 +558,7 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
      */
     private void parseEmaStateMessage(TelenotMsgType mt, String msg) throws MessageParseException {
         try {
-            notifyChildHandlers(new EMAStateMessage(mt + ":" + msg));
+            notifyChildHandlers(new EMAStateMessage(mt + ":" + msg), TelenotHandlerRegistry.ANY_ADDRESS);
         } catch (TelenotMessageException e) {
             throw new MessageParseException(e.getMessage());
         }
@@ -563,24 +567,30 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
     /**
      * process and notify all child handlers
      *
+     * Only the addresses that changed since the last message are processed (all addresses if a refresh is needed) and
+     * messages are only created for addresses that have a subscribed handler.
+     *
      * @param newValues a BitSet containing the new values
      * @param oldValues a BitSet containing the old values
      * @param startAddress the start address for the messages
-     * @param messageCreators a List of methods that create the message
+     * @param messageCreators a map of message type to the method that creates the message
      * @throws MessageParseException if message creation fails
      */
     private void processMessageBitSet(BitSet newValues, BitSet oldValues, int startAddress,
-            List<Function<String, TelenotMessage>> messageCreators) throws MessageParseException {
+            Map<Class<? extends TelenotMessage>, BitMessageCreator> messageCreators) throws MessageParseException {
         // if the size of the old and new BitSet is different, we need to send the value
         boolean needsRefresh = refresh || (newValues.size() != oldValues.size());
 
         try {
-            for (int i = 0; i < newValues.length(); i++) {
-                int address = startAddress + i;
-                boolean value = newValues.get(i);
-                if (needsRefresh || (newValues.get(i) != oldValues.get(i))) {
-                    String message = address + "," + booleanToString(value);
-                    messageCreators.forEach(m -> notifyChildHandlers(m.apply(message)));
+            if (needsRefresh) {
+                for (int i = 0; i < newValues.length(); i++) {
+                    notifyBitChange(startAddress + i, newValues.get(i), messageCreators);
+                }
+            } else {
+                BitSet changedValues = (BitSet) newValues.clone();
+                changedValues.xor(oldValues);
+                for (int i = changedValues.nextSetBit(0); i >= 0; i = changedValues.nextSetBit(i + 1)) {
+                    notifyBitChange(startAddress + i, newValues.get(i), messageCreators);
                 }
             }
         } catch (IllegalArgumentException e) {
@@ -588,38 +598,24 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
         }
     }
 
-    /**
-     * convert a boolean to a 0/1 String
-     * 
-     * @param b the input value
-     * @return "0" if false, "1" if true
-     */
-    private String booleanToString(boolean b) {
-        return b ? "1" : "0";
+    private void notifyBitChange(int address, boolean value,
+            Map<Class<? extends TelenotMessage>, BitMessageCreator> messageCreators) {
+        int data = value ? 1 : 0;
+        messageCreators.forEach((messageType, messageCreator) -> {
+            if (handlerRegistry.hasSubscribers(messageType, address)) {
+                notifyChildHandlers(messageCreator.create(address, data), address);
+            }
+        });
     }
 
     /**
      * Notify appropriate child thing handlers of an Telenot message by calling their handleUpdate() methods.
      *
      * @param msg message to forward to child handler(s)
+     * @param address the address the message refers to
      */
-    private void notifyChildHandlers(TelenotMessage msg) {
-        for (Thing thing : getThing().getThings()) {
-            TelenotThingHandler handler = (TelenotThingHandler) thing.getHandler();
-            //@formatter:off
-            if (handler != null && ((handler instanceof SBHandler && msg instanceof SBMessage) ||
-                                    (handler instanceof SBHandler && msg instanceof SBStateMessage) ||
-                                    (handler instanceof MBHandler && msg instanceof MBMessage) ||
-                                    (handler instanceof MBHandler && msg instanceof MBDMessage) ||
-                                    (handler instanceof MPHandler && msg instanceof MPMessage) ||
-                                    (handler instanceof InputHandler && msg instanceof InputMessage) ||
-                                    (handler instanceof OutputHandler && msg instanceof MBMessage) ||
-                                    (handler instanceof OutputHandler && msg instanceof MBDMessage) ||
-                                    (handler instanceof EMAStateHandler && msg instanceof EMAStateMessage))) {
-                handler.handleUpdate(msg);
-            }
-            //@formatter:on
-        }
+    private void notifyChildHandlers(TelenotMessage msg, int address) {
+        handlerRegistry.forEach(msg.getClass(), address, handler -> handler.handleUpdate(msg));
     }
 
     /**
@@ -628,15 +624,8 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
      * @param msg message to forward to child handler(s)
      */
     private void notifyChildHandlersChannel(TelenotMessage msg) {
-        for (Thing thing : getThing().getThings()) {
-            TelenotThingHandler handler = (TelenotThingHandler) thing.getHandler();
-            //@formatter:off
-            if (handler != null && ((handler instanceof InputHandler && msg instanceof UsedContactInfoMessage) ||
-                                    (handler instanceof OutputHandler && msg instanceof UsedMbMessage))) {
-                handler.handleUpdateChannel(msg);
-            }
-            //@formatter:on
-        }
+        handlerRegistry.forEach(msg.getClass(), TelenotHandlerRegistry.ANY_ADDRESS,
+                handler -> handler.handleUpdateChannel(msg));
     }
 
     /**
@@ -670,6 +659,14 @@ public abstract class TelenotBridgeHandler extends BaseBridgeHandler {
         return BitSet.valueOf(reversedBytes);
     }
 
+    /**
+     * Creates a message from the address and value of a single bit
+     */
+    @FunctionalInterface
+    private interface BitMessageCreator {
+        TelenotMessage create(int address, int data);
+    }
+
     /**
      * Exception thrown by message parsing code when it encounters a malformed message
      */
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.telenot.internal.handler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.smarthomej.binding.telenot.internal.protocol.TelenotMessage;
+
+/**
+ * The {@link TelenotHandlerRegistry} maps message types and addresses to the child handlers that subscribed to them.
+ *
+ * @author Ronny Grun - Initial contribution
+ */
+@NonNullByDefault
+public class TelenotHandlerRegistry {
+    /** address used by handlers that receive messages for all addresses */
+    public static final int ANY_ADDRESS = Integer.MIN_VALUE;
+
+    private final Map<Class<? extends TelenotMessage>, Map<Integer, Set<TelenotThingHandler>>> handlers =
+            new ConcurrentHashMap<>();
+
+    /**
+     * add the subscriptions of a handler
+     *
+     * @param handler the handler
+     */
+    public void register(TelenotThingHandler handler) {
+        handler.getSubscriptions().forEach((messageType, address) -> handlers
+                .computeIfAbsent(messageType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(address, k -> ConcurrentHashMap.newKeySet()).add(handler));
+    }
+
+    /**
+     * remove all subscriptions of a handler
+     *
+     * @param handler the handler
+     */
+    public void unregister(TelenotThingHandler handler) {
+        handlers.values().forEach(addressMap -> addressMap.values().forEach(set -> set.remove(handler)));
+    }
+
+    /**
+     * check if any handler subscribed to the message type and address
+     *
+     * @param messageType the type of the message
+     * @param address the address the message refers to
+     * @return true if at least one handler is subscribed
+     */
+    public boolean hasSubscribers(Class<? extends TelenotMessage> messageType, int address) {
+        Map<Integer, Set<TelenotThingHandler>> addressMap = handlers.get(messageType);
+        if (addressMap == null) {
+            return false;
+        }
+        Set<TelenotThingHandler> addressHandlers = addressMap.get(address);
+        Set<TelenotThingHandler> anyAddressHandlers = addressMap.get(ANY_ADDRESS);
+        return (addressHandlers != null && !addressHandlers.isEmpty())
+                || (anyAddressHandlers != null && !anyAddressHandlers.isEmpty());
+    }
+
+    /**
+     * call all handlers that subscribed to the message type and address
+     *
+     * @param messageType the type of the message
+     * @param address the address the message refers to
+     * @param action the action that shall be executed for each handler
+     */
+    public void forEach(Class<? extends TelenotMessage> messageType, int address,
+            Consumer<TelenotThingHandler> action) {
+        Map<Integer, Set<TelenotThingHandler>> addressMap = handlers.get(messageType);
+        if (addressMap == null) {
+            return;
+        }
+        Set<TelenotThingHandler> addressHandlers = addressMap.get(address);
+        if (addressHandlers != null) {
+            addressHandlers.forEach(action);
+        }
+        if (address != ANY_ADDRESS) {
+            Set<TelenotThingHandler> anyAddressHandlers = addressMap.get(ANY_ADDRESS);
+            if (anyAddressHandlers != null) {
+                anyAddressHandlers.forEach(action);
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.smarthomej.binding.telenot.internal.handler;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -65,6 +66,15 @@ public abstract class TelenotThingHandler extends BaseThingHandler {
      */
     public abstract void initChannelState();
 
+    /**
+     * Get the message types and addresses this handler wants to receive from the bridge. Handlers that process messages
+     * for all addresses use {@link TelenotHandlerRegistry#ANY_ADDRESS}. The subscriptions are evaluated by the bridge
+     * after the handler is initialized.
+     *
+     * @return map of message type to address
+     */
+    public abstract Map<Class<? extends TelenotMessage>, Integer> getSubscriptions();
+
     /**
      * Notify handler of a message from the Telenot via the bridge
      *
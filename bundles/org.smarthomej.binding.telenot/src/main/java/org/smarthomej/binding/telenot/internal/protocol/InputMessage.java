@@ -29,6 +29,11 @@ public class InputMessage extends TelenotMessage {
     /** Message data */
     public final int data;
 
+    public InputMessage(int address, int data) {
+        this.address = String.format("0x%04x", address);
+        this.data = data;
+    }
+
     public InputMessage(String message) throws IllegalArgumentException {
         super(message);
 
@@ -49,4 +54,9 @@ public class InputMessage extends TelenotMessage {
             throw new IllegalArgumentException("MP status should only be 0 or 1");
         }
     }
+
+    @Override
+    public String toString() {
+        return address + "," + data;
+    }
 }
@@ -29,6 +29,11 @@ public class MBDMessage extends TelenotMessage {
     /** Message data */
     public final int data;
 
+    public MBDMessage(int address, int data) {
+        this.address = address;
+        this.data = data;
+    }
+
     public MBDMessage(String message) throws IllegalArgumentException {
         super(message);
 
@@ -49,4 +54,9 @@ public class MBDMessage extends TelenotMessage {
             throw new IllegalArgumentException("MBD status should only be 0 or 1");
         }
     }
+
+    @Override
+    public String toString() {
+        return address + "," + data;
+    }
 }
@@ -29,6 +29,11 @@ public class MBMessage extends TelenotMessage {
     /** Message data */
     public final int data;
 
+    public MBMessage(int address, int data) {
+        this.address = address;
+        this.data = data;
+    }
+
     public MBMessage(String message) throws IllegalArgumentException {
         super(message);
 
@@ -49,4 +54,9 @@ public class MBMessage extends TelenotMessage {
             throw new IllegalArgumentException("MB status should only be 0 or 1");
         }
     }
+
+    @Override
+    public String toString() {
+        return address + "," + data;
+    }
 }
@@ -29,6 +29,11 @@ public class MPMessage extends TelenotMessage {
     /** Message data */
     public final int data;
 
+    public MPMessage(int address, int data) {
+        this.address = address;
+        this.data = data;
+    }
+
     public MPMessage(String message) throws IllegalArgumentException {
         super(message);
 
@@ -49,4 +54,9 @@ public class MPMessage extends TelenotMessage {
             throw new IllegalArgumentException("MP status should only be 0 or 1");
         }
     }
+
+    @Override
+    public String toString() {
+        return address + "," + data;
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.smarthomej.binding.telenot.internal.protocol;
 
+import java.util.BitSet;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
@@ -35,6 +37,24 @@ public class SBMessage extends TelenotMessage {
     public final boolean readyToArmExternally;
     public final boolean statusInternalSignalHorn;
 
+    /**
+     * create a message from the eight status bits of a security area (a cleared bit means the state is active)
+     *
+     * @param address the security area
+     * @param value the status bits
+     */
+    public SBMessage(int address, BitSet value) {
+        this.address = address;
+        disarmed = !value.get(0);
+        internallyArmed = !value.get(1);
+        externallyArmed = !value.get(2);
+        alarm = !value.get(3);
+        malfunction = !value.get(4);
+        readyToArmInternally = !value.get(5);
+        readyToArmExternally = !value.get(6);
+        statusInternalSignalHorn = !value.get(7);
+    }
+
     public SBMessage(String message) throws IllegalArgumentException {
         super(message);
 
@@ -59,4 +79,11 @@ public class SBMessage extends TelenotMessage {
             throw new IllegalArgumentException("SB message contains invalid number: " + e.getMessage());
         }
     }
+
+    @Override
+    public String toString() {
+        return address + "," + disarmed + "," + internallyArmed + "," + externallyArmed + "," + alarm + ","
+                + malfunction + "," + readyToArmInternally + "," + readyToArmExternally + ","
+                + statusInternalSignalHorn;
+    }
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.telenot.internal.protocol;
+
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link TelenotFrameDecoder} extracts frames from the byte stream of the GMS interface.
+ *
+ * A frame has the format <code>68 L L 68 [L data bytes] CS 16</code>, the checksum CS is the sum of all data bytes.
+ * Received bytes are stored in a ring buffer. Bytes that do not belong to a valid frame (e.g. noise on a serial line)
+ * are skipped until the next frame start is found. A new decoder is used for every connection.
+ *
+ * @author Ronny Grun - Initial contribution
+ */
+@NonNullByDefault
+public class TelenotFrameDecoder {
+    private static final byte FRAME_START = 0x68;
+    private static final byte FRAME_END = 0x16;
+    private static final int HEADER_LENGTH = 4;
+    // header, checksum and end byte
+    private static final int FRAME_OVERHEAD = HEADER_LENGTH + 2;
+    // must be a power of two and larger than the maximum frame length (255 + FRAME_OVERHEAD)
+    private static final int BUFFER_SIZE = 1024;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int readPosition = 0;
+    private int available = 0;
+
+    private long skippedBytes = 0;
+    private long invalidFrames = 0;
+
+    /**
+     * add received data and pass all complete frames to the consumer
+     *
+     * @param data the received data
+     * @param length the number of valid bytes in data
+     * @param frameConsumer the consumer for the frames
+     */
+    public void decode(byte[] data, int length, Consumer<byte[]> frameConsumer) {
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(length - offset, BUFFER_SIZE - available);
+            for (int i = 0; i < count; i++) {
+                buffer[(readPosition + available + i) & BUFFER_MASK] = data[offset + i];
+            }
+            available += count;
+            offset += count;
+            extractFrames(frameConsumer);
+        }
+    }
+
+    /**
+     * get the number of bytes that were skipped because they did not belong to a frame
+     *
+     * @return number of bytes
+     */
+    public long getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    /**
+     * get the number of frames that were dropped because of a wrong checksum or end byte
+     *
+     * @return number of frames
+     */
+    public long getInvalidFrames() {
+        return invalidFrames;
+    }
+
+    private void extractFrames(Consumer<byte[]> frameConsumer) {
+        while (true) {
+            // synchronize to the next frame start
+            while (available > 0 && peek(0) != FRAME_START) {
+                skip(1);
+                skippedBytes++;
+            }
+            if (available < HEADER_LENGTH) {
+                return;
+            }
+            if (peek(1) != peek(2) || peek(3) != FRAME_START) {
+                // not a frame header, try next start byte
+                skip(1);
+                skippedBytes++;
+                continue;
+            }
+            int dataLength = peek(1) & 0xff;
+            int frameLength = dataLength + FRAME_OVERHEAD;
+            if (available < frameLength) {
+                // wait for more data
+                return;
+            }
+            if (peek(frameLength - 1) != FRAME_END || checksum(dataLength) != peek(HEADER_LENGTH + dataLength)) {
+                // the header was probably part of the noise, re-synchronize after the start byte
+                skip(1);
+                invalidFrames++;
+                continue;
+            }
+            byte[] frame = new byte[frameLength];
+            for (int i = 0; i < frameLength; i++) {
+                frame[i] = peek(i);
+            }
+            skip(frameLength);
+            frameConsumer.accept(frame);
+        }
+    }
+
+    private byte checksum(int dataLength) {
+        int sum = 0;
+        for (int i = HEADER_LENGTH; i < HEADER_LENGTH + dataLength; i++) {
+            sum += peek(i);
+        }
+        return (byte) sum;
+    }
+
+    private byte peek(int index) {
+        return buffer[(readPosition + index) & BUFFER_MASK];
+    }
+
+    private void skip(int count) {
+        readPosition = (readPosition + count) & BUFFER_MASK;
+        available -= count;
+    }
+}
@@ -29,6 +29,13 @@ public abstract class TelenotMessage {
         this.message = message;
     }
 
+    /**
+     * constructor for messages that are created from already decoded values
+     */
+    protected TelenotMessage() {
+        this.message = "";
+    }
+
     @Override
     public String toString() {
         return message;
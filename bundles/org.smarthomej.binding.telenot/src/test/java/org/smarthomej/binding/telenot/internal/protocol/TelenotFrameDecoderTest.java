@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.telenot.internal.protocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@link TelenotFrameDecoderTest} contains tests for the {@link TelenotFrameDecoder}
+ *
+ * @author Ronny Grun - Initial contribution
+ */
+@NonNullByDefault
+public class TelenotFrameDecoderTest {
+    private static final byte[] FRAME_1 = frame(0x02, 0x01, 0x05);
+    private static final byte[] FRAME_2 = frame(0x73, 0x02, 0x02, 0x00, 0x24);
+
+    private final TelenotFrameDecoder decoder = new TelenotFrameDecoder();
+    private final List<byte[]> frames = new ArrayList<>();
+
+    @Test
+    public void framesAreExtracted() {
+        decode(concat(FRAME_1, FRAME_2));
+
+        assertEquals(2, frames.size());
+        assertArrayEquals(FRAME_1, frames.get(0));
+        assertArrayEquals(FRAME_2, frames.get(1));
+        assertEquals(0, decoder.getSkippedBytes());
+        assertEquals(0, decoder.getInvalidFrames());
+    }
+
+    @Test
+    public void resyncAfterGarbage() {
+        decode(concat(new byte[] { 0x00, 0x68, 0x01, 0x68, 0x16, (byte) 0xff }, FRAME_1));
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(FRAME_1, frames.get(0));
+        assertEquals(6, decoder.getSkippedBytes());
+    }
+
+    @Test
+    public void frameSplitAcrossReads() {
+        decode(new byte[] { FRAME_2[0], FRAME_2[1] });
+        decode(new byte[] { FRAME_2[2], FRAME_2[3], FRAME_2[4], FRAME_2[5] });
+        assertTrue(frames.isEmpty());
+
+        byte[] remaining = new byte[FRAME_2.length - 6];
+        System.arraycopy(FRAME_2, 6, remaining, 0, remaining.length);
+        decode(remaining);
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(FRAME_2, frames.get(0));
+    }
+
+    @Test
+    public void frameWithBadChecksumIsDropped() {
+        byte[] badFrame = FRAME_1.clone();
+        badFrame[badFrame.length - 2]++;
+        decode(concat(badFrame, FRAME_2));
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(FRAME_2, frames.get(0));
+        assertEquals(1, decoder.getInvalidFrames());
+    }
+
+    @Test
+    public void frameWithBadEndByteIsDropped() {
+        byte[] badFrame = FRAME_1.clone();
+        badFrame[badFrame.length - 1] = 0x17;
+        decode(concat(badFrame, FRAME_2));
+
+        assertEquals(1, frames.size());
+        assertArrayEquals(FRAME_2, frames.get(0));
+        assertEquals(1, decoder.getInvalidFrames());
+    }
+
+    @Test
+    public void readsLargerThanBufferAreProcessed() {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        for (int i = 0; i < 300; i++) {
+            os.writeBytes(FRAME_1);
+        }
+        decode(os.toByteArray());
+
+        assertEquals(300, frames.size());
+        frames.forEach(frame -> assertArrayEquals(FRAME_1, frame));
+    }
+
+    private void decode(byte[] data) {
+        decoder.decode(data, data.length, frames::add);
+    }
+
+    private static byte[] frame(int... data) {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        os.write(0x68);
+        os.write(data.length);
+        os.write(data.length);
+        os.write(0x68);
+        int checksum = 0;
+        for (int b : data) {
+            os.write(b);
+            checksum += b;
+        }
+        os.write(checksum);
+        os.write(0x16);
+        return os.toByteArray();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -16,6 +16,9 @@ package org.smarthomej.binding.tr064.internal;
 import static org.smarthomej.binding.tr064.internal.Tr064BindingConstants.THING_TYPE_FRITZBOX;
 
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -23,6 +26,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.thing.Bridge;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -49,9 +53,13 @@ public class Tr064HandlerFactory extends BaseThingHandlerFactory {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(Tr064RootHandler.SUPPORTED_THING_TYPES, Tr064SubHandler.SUPPORTED_THING_TYPES).flatMap(Set::stream)
             .collect(Collectors.toSet());
+    private static final int SOAP_THREADS = 8;
 
     private final Logger logger = LoggerFactory.getLogger(Tr064HandlerFactory.class);
     private final HttpClient httpClient;
+    // shared by the SOAP connectors of all devices for concurrent requests
+    private final ThreadPoolExecutor soapExecutor = new ThreadPoolExecutor(SOAP_THREADS, SOAP_THREADS, 60,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("tr064-soap"));
     private final PhonebookProfileFactory phonebookProfileFactory;
 
     // the Tr064ChannelTypeProvider is needed for creating the channels and
@@ -65,6 +73,7 @@ public class Tr064HandlerFactory extends BaseThingHandlerFactory {
             @Reference PhonebookProfileFactory phonebookProfileFactory) {
         this.channelTypeProvider = channelTypeProvider;
         this.phonebookProfileFactory = phonebookProfileFactory;
+        this.soapExecutor.allowCoreThreadTimeOut(true);
         // use an insecure client (i.e. without verifying the certificate)
         this.httpClient = new HttpClient(new SslContextFactory.Client(true));
         try {
@@ -78,6 +87,7 @@ public class Tr064HandlerFactory extends BaseThingHandlerFactory {
 
     @Deactivate
     public void deactivate() {
+        soapExecutor.shutdownNow();
         try {
             httpClient.stop();
         } catch (Exception e) {
@@ -96,7 +106,7 @@ public class Tr064HandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (Tr064RootHandler.SUPPORTED_THING_TYPES.contains(thingTypeUID)) {
-            Tr064RootHandler handler = new Tr064RootHandler((Bridge) thing, httpClient);
+            Tr064RootHandler handler = new Tr064RootHandler((Bridge) thing, httpClient, soapExecutor);
             if (THING_TYPE_FRITZBOX.equals(thingTypeUID)) {
                 phonebookProfileFactory.registerPhonebookProvider(handler);
             }
@@ -29,6 +29,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -90,6 +92,7 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
 
     private final Logger logger = LoggerFactory.getLogger(Tr064RootHandler.class);
     private final HttpClient httpClient;
+    private final Executor soapExecutor;
 
     private @Nullable SCPDUtil scpdUtil;
     private SOAPConnector soapConnector;
@@ -97,6 +100,8 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
     // these are set when the config is available
     private Tr064RootConfiguration config = new Tr064RootConfiguration();
     private String endpointBaseURL = "";
+    // the device definitions are always requested from the unsecured endpoint, endpointBaseURL may change to https
+    private String scpdEndpointURL = "";
     private int timeout = Tr064RootConfiguration.DEFAULT_HTTP_TIMEOUT;
 
     private String deviceType = "";
@@ -109,13 +114,15 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
     private @Nullable ScheduledFuture<?> connectFuture;
     private @Nullable ScheduledFuture<?> pollFuture;
     private @Nullable ScheduledFuture<?> phonebookFuture;
+    private @Nullable Future<?> scpdCacheCheckFuture;
 
     private boolean communicationEstablished = false;
 
-    Tr064RootHandler(Bridge bridge, HttpClient httpClient) {
+    Tr064RootHandler(Bridge bridge, HttpClient httpClient, Executor soapExecutor) {
         super(bridge);
         this.httpClient = httpClient;
-        this.soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
+        this.soapExecutor = soapExecutor;
+        this.soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout, soapExecutor);
     }
 
     @Override
@@ -156,7 +163,8 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
         }
 
         endpointBaseURL = "http://" + config.host + ":49000";
-        soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
+        scpdEndpointURL = endpointBaseURL;
+        soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout, soapExecutor);
         timeout = config.timeout;
         updateStatus(ThingStatus.UNKNOWN);
 
@@ -167,30 +175,99 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
      * internal thing initializer (sets SCPDUtil and connects to remote device)
      */
     private void internalInitialize() {
-        try {
-            scpdUtil = new SCPDUtil(httpClient, endpointBaseURL, timeout);
-        } catch (SCPDException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                    "could not get device definitions from " + config.host);
-            return;
+        SCPDUtil scpdUtil = this.scpdUtil;
+        if (scpdUtil == null) {
+            Optional<SCPDUtil> cachedScpdUtil = SCPDUtil.readFromCache(config.host);
+            if (cachedScpdUtil.isPresent()) {
+                // use the cached definitions and check in the background if they are still valid
+                logger.debug("Using cached device definitions for '{}'", thing.getUID());
+                scpdUtil = cachedScpdUtil.get();
+            } else {
+                try {
+                    scpdUtil = new SCPDUtil(httpClient, scpdEndpointURL, timeout);
+                    scpdUtil.writeToCache(config.host);
+                } catch (SCPDException e) {
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                            "could not get device definitions from " + config.host);
+                    return;
+                }
+            }
+            synchronized (this) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // the connect job was cancelled by dispose()
+                    return;
+                }
+                this.scpdUtil = scpdUtil;
+                String endpoint = scpdEndpointURL;
+                String host = config.host;
+                cachedScpdUtil.ifPresent(cached -> scpdCacheCheckFuture = scheduler
+                        .submit(() -> checkSCPDCache(cached, endpoint, host)));
+            }
         }
 
         if (establishSecureConnectionAndUpdateProperties()) {
-            removeConnectScheduler();
+            synchronized (this) {
+                if (scpdUtil != this.scpdUtil) {
+                    // disposed or the device definitions were replaced in the meantime
+                    return;
+                }
+                removeConnectScheduler();
+
+                // connection successful, check channels
+                ThingBuilder thingBuilder = editThing();
+                thingBuilder.withoutChannels(thing.getChannels());
+                final ThingHandlerCallback callback = getCallback();
+                if (callback != null) {
+                    Util.checkAvailableChannels(thing, callback, thingBuilder, scpdUtil, "", deviceType, channels);
+                    updateThing(thingBuilder.build());
+                }
 
-            // connection successful, check channels
-            ThingBuilder thingBuilder = editThing();
-            thingBuilder.withoutChannels(thing.getChannels());
-            final SCPDUtil scpdUtil = this.scpdUtil;
-            final ThingHandlerCallback callback = getCallback();
-            if (scpdUtil != null && callback != null) {
-                Util.checkAvailableChannels(thing, callback, thingBuilder, scpdUtil, "", deviceType, channels);
-                updateThing(thingBuilder.build());
+                communicationEstablished = true;
+                installPolling();
+                updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
             }
+        }
+    }
 
-            communicationEstablished = true;
-            installPolling();
-            updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
+    /**
+     * check if the cached device definitions match the device (UDN and firmware version) and reconnect with new
+     * definitions if not
+     *
+     * @param cachedScpdUtil the cached device definitions
+     * @param endpoint the endpoint the device definitions are requested from
+     * @param host the host the device definitions are cached for
+     */
+    private void checkSCPDCache(SCPDUtil cachedScpdUtil, String endpoint, String host) {
+        SCPDUtil newScpdUtil;
+        try {
+            String cacheKey = SCPDUtil.getCacheKey(httpClient, endpoint, timeout);
+            if (cacheKey.equals(cachedScpdUtil.getCacheKey())) {
+                logger.debug("Cached device definitions for '{}' are valid", thing.getUID());
+                return;
+            }
+            logger.debug("Device definitions for '{}' changed ({} -> {}), refreshing", thing.getUID(),
+                    cachedScpdUtil.getCacheKey(), cacheKey);
+            newScpdUtil = new SCPDUtil(httpClient, endpoint, timeout);
+            newScpdUtil.writeToCache(host);
+        } catch (SCPDException e) {
+            // the device is not reachable, the cache is checked again with the next initialization
+            logger.debug("Could not check cached device definitions for '{}': {}", thing.getUID(), e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (scpdUtil != cachedScpdUtil) {
+                // the handler was disposed in the meantime
+                return;
+            }
+            scpdCacheCheckFuture = null;
+            // reconnect with the new definitions, this also checks the channels again
+            removeConnectScheduler();
+            uninstallPolling();
+            communicationEstablished = false;
+            scpdUtil = newScpdUtil;
+            updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, "Device definitions changed");
+            connectFuture = scheduler.scheduleWithFixedDelay(this::internalInitialize, 0, RETRY_INTERVAL,
+                    TimeUnit.SECONDS);
         }
     }
 
@@ -204,11 +281,18 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
 
     @Override
     public void dispose() {
-        communicationEstablished = false;
-        removeConnectScheduler();
-        uninstallPolling();
+        synchronized (this) {
+            communicationEstablished = false;
+            removeConnectScheduler();
+            Future<?> scpdCacheCheckFuture = this.scpdCacheCheckFuture;
+            if (scpdCacheCheckFuture != null) {
+                scpdCacheCheckFuture.cancel(true);
+                this.scpdCacheCheckFuture = null;
+            }
+            uninstallPolling();
+            scpdUtil = null;
+        }
         stateCache.clear();
-        scpdUtil = null;
 
         super.dispose();
     }
@@ -218,6 +302,9 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
      */
     private void poll() {
         try {
+            // send all requests at once, the states are then processed from the cache
+            soapConnector.prefetchChannelStates(channels.entrySet().stream().filter(e -> isLinked(e.getKey()))
+                    .map(Map.Entry::getValue).collect(Collectors.toList()));
             channels.forEach((channelUID, channelConfig) -> {
                 if (isLinked(channelUID)) {
                     State state = stateCache.putIfAbsentAndGet(channelUID,
@@ -260,7 +347,7 @@ public class Tr064RootHandler extends BaseBridgeHandler implements PhonebookProv
                     soapValueConverter.getStateFromSOAPValue(soapResponse, "NewSecurityPort", null)
                             .ifPresentOrElse(port -> {
                                 endpointBaseURL = "https://" + config.host + ":" + port.toString();
-                                soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout);
+                                soapConnector = new SOAPConnector(httpClient, endpointBaseURL, timeout, soapExecutor);
                                 logger.debug("endpointBaseURL is now '{}'", endpointBaseURL);
                             }, () -> logger.warn("Could not determine secure port, disabling https"));
                 } else {
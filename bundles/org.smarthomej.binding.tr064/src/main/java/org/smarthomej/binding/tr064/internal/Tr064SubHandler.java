@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -72,6 +73,8 @@ public class Tr064SubHandler extends BaseThingHandler {
     private final ExpiringCacheMap<ChannelUID, State> stateCache = new ExpiringCacheMap<>(2000);
 
     private @Nullable SOAPConnector soapConnector;
+    // the device definitions of the bridge that were used for the initialization
+    private @Nullable SCPDUtil scpdUtil;
     private @Nullable ScheduledFuture<?> connectFuture;
     private @Nullable ScheduledFuture<?> pollFuture;
 
@@ -160,6 +163,7 @@ public class Tr064SubHandler extends BaseThingHandler {
             // remove connect scheduler
             removeConnectScheduler();
             soapConnector = bridgeHandler.getSOAPConnector();
+            this.scpdUtil = scpdUtil;
 
             isInitialized = true;
             installPolling();
@@ -182,6 +186,7 @@ public class Tr064SubHandler extends BaseThingHandler {
 
         stateCache.clear();
         isInitialized = false;
+        scpdUtil = null;
 
         super.dispose();
     }
@@ -191,6 +196,11 @@ public class Tr064SubHandler extends BaseThingHandler {
      */
     private void poll() {
         SOAPConnector soapConnector = this.soapConnector;
+        if (soapConnector != null) {
+            // send all requests at once, the states are then processed from the cache
+            soapConnector.prefetchChannelStates(channels.entrySet().stream().filter(e -> isLinked(e.getKey()))
+                    .map(Map.Entry::getValue).collect(Collectors.toList()));
+        }
         channels.forEach((channelUID, channelConfig) -> {
             if (isLinked(channelUID)) {
                 State state = stateCache.putIfAbsentAndGet(channelUID, () -> soapConnector == null ? UnDefType.UNDEF
@@ -237,9 +247,11 @@ public class Tr064SubHandler extends BaseThingHandler {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.BRIDGE_OFFLINE);
             removeConnectScheduler();
         } else {
-            if (isInitialized) {
+            if (isInitialized && !bridgeDefinitionsChanged()) {
                 updateStatus(ThingStatus.ONLINE);
             } else {
+                // not initialized yet or the bridge reconnected with new device definitions
+                isInitialized = false;
                 updateStatus(ThingStatus.UNKNOWN);
                 connectFuture = scheduler.scheduleWithFixedDelay(this::internalInitialize, 0, RETRY_INTERVAL,
                         TimeUnit.SECONDS);
@@ -247,6 +259,12 @@ public class Tr064SubHandler extends BaseThingHandler {
         }
     }
 
+    private boolean bridgeDefinitionsChanged() {
+        final Bridge bridge = getBridge();
+        final Tr064RootHandler bridgeHandler = bridge != null ? (Tr064RootHandler) bridge.getHandler() : null;
+        return bridgeHandler != null && bridgeHandler.getSCPDUtil() != scpdUtil;
+    }
+
     /**
      * uninstall update polling
      */
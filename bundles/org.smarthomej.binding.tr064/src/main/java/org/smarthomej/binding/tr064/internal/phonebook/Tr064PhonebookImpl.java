@@ -13,7 +13,10 @@
  */
 package org.smarthomej.binding.tr064.internal.phonebook;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -34,7 +37,8 @@ import org.smarthomej.binding.tr064.internal.util.Util;
 public class Tr064PhonebookImpl implements Phonebook {
     private final Logger logger = LoggerFactory.getLogger(Tr064PhonebookImpl.class);
 
-    protected Map<String, String> phonebook = new HashMap<>();
+    private volatile Map<String, String> phonebook = Map.of();
+    private volatile PhonebookIndex phonebookIndex = new PhonebookIndex(phonebook);
 
     private final HttpClient httpClient;
     private final String phonebookUrl;
@@ -58,14 +62,25 @@ public class Tr064PhonebookImpl implements Phonebook {
         }
         phonebookName = phonebooksType.getPhonebook().getName();
 
-        phonebook = phonebooksType.getPhonebook().getContact().stream().map(contact -> {
+        Map<String, String> phonebook = phonebooksType.getPhonebook().getContact().stream().map(contact -> {
             String contactName = contact.getPerson().getRealName();
             return contact.getTelephony().getNumber().stream().collect(Collectors.toMap(
                     number -> normalizeNumber(number.getValue()), number -> contactName, this::mergeSameContactNames));
         }).collect(HashMap::new, HashMap::putAll, HashMap::putAll);
+        setPhonebook(phonebook);
         logger.debug("Downloaded phonebook {}: {}", phonebookName, phonebook);
     }
 
+    /**
+     * set the entries of this phonebook and build the index for number lookups
+     *
+     * @param phonebook a map of normalized numbers to names
+     */
+    void setPhonebook(Map<String, String> phonebook) {
+        this.phonebookIndex = new PhonebookIndex(phonebook);
+        this.phonebook = phonebook;
+    }
+
     // in case there are multiple phone entries with same number -> name mapping, i.e. in phonebooks exported from
     // mobiles containing multiple accounts like: local, cloudprovider1, messenger1, messenger2,...
     private String mergeSameContactNames(String nameA, String nameB) {
@@ -93,8 +108,10 @@ public class Tr064PhonebookImpl implements Phonebook {
             matchString = normalized;
         }
         logger.trace("Normalized '{}' to '{}', matchString is '{}'", number, normalized, matchString);
-        return matchString.isBlank() ? Optional.empty()
-                : phonebook.keySet().stream().filter(n -> n.endsWith(matchString)).findFirst().map(phonebook::get);
+        if (matchString.isBlank()) {
+            return Optional.empty();
+        }
+        return phonebookIndex.lookup(matchString);
     }
 
     @Override
@@ -111,4 +128,45 @@ public class Tr064PhonebookImpl implements Phonebook {
     public final String normalizeNumber(String number) {
         return number.replaceAll("[^0-9\\*\\+]", "");
     }
+
+    /**
+     * The {@link PhonebookIndex} contains the numbers of a phonebook in reversed order, sorted lexicographically.
+     * All numbers ending with the same digits are therefore stored next to each other and can be found with a binary
+     * search.
+     */
+    private static class PhonebookIndex {
+        private final String[] reversedNumbers;
+        private final String[] names;
+
+        public PhonebookIndex(Map<String, String> phonebook) {
+            List<Map.Entry<String, String>> entries = phonebook.entrySet().stream()
+                    .map(entry -> Map.entry(reverse(entry.getKey()), entry.getValue()))
+                    .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder())).collect(Collectors.toList());
+            reversedNumbers = entries.stream().map(Map.Entry::getKey).toArray(String[]::new);
+            names = entries.stream().map(Map.Entry::getValue).toArray(String[]::new);
+        }
+
+        /**
+         * find a name for a number ending with the given string
+         *
+         * @param matchString the last digits of the number
+         * @return an Optional containing the name (empty if no number matches)
+         */
+        public Optional<String> lookup(String matchString) {
+            String reversedMatchString = reverse(matchString);
+            int position = Arrays.binarySearch(reversedNumbers, reversedMatchString);
+            if (position < 0) {
+                // not found, check the insertion point (first number that starts with the reversed match string)
+                position = -position - 1;
+            }
+            if (position < reversedNumbers.length && reversedNumbers[position].startsWith(reversedMatchString)) {
+                return Optional.of(names[position]);
+            }
+            return Optional.empty();
+        }
+
+        private static String reverse(String number) {
+            return new StringBuilder(number).reverse().toString();
+        }
+    }
 }
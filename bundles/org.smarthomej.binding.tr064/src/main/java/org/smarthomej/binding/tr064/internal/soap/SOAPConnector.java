@@ -18,12 +18,16 @@ import static org.smarthomej.binding.tr064.internal.util.Util.getSOAPElement;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -39,6 +43,7 @@ import javax.xml.soap.SOAPMessage;
 import javax.xml.soap.SOAPPart;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
@@ -68,20 +73,44 @@ import org.smarthomej.binding.tr064.internal.dto.scpd.service.SCPDActionType;
  */
 @NonNullByDefault
 public class SOAPConnector {
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+    private static final long CACHE_EXPIRY = TimeUnit.MILLISECONDS.toNanos(2000);
+    // SAAJ factories are not thread-safe, so every thread gets its own instance
+    private static final ThreadLocal<@Nullable MessageFactory> MESSAGE_FACTORY = new ThreadLocal<>();
+
     private final Logger logger = LoggerFactory.getLogger(SOAPConnector.class);
     private final HttpClient httpClient;
     private final String endpointBaseURL;
     private final SOAPValueConverter soapValueConverter;
     private final int timeout;
 
-    private final ExpiringCacheMap<SOAPRequest, SOAPMessage> soapMessageCache = new ExpiringCacheMap<>(
-            Duration.ofMillis(2000));
+    private final Map<SOAPRequest, CachedResponse> soapMessageCache = new ConcurrentHashMap<>();
+    private final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS, true);
+    private final Executor prefetchExecutor;
 
-    public SOAPConnector(HttpClient httpClient, String endpointBaseURL, int timeout) {
+    /**
+     * create a new connector
+     *
+     * @param httpClient the HTTP client
+     * @param endpointBaseURL the base URL of the device
+     * @param timeout the timeout for requests (in s)
+     * @param prefetchExecutor the (shared) executor that is used for concurrent requests
+     */
+    public SOAPConnector(HttpClient httpClient, String endpointBaseURL, int timeout, Executor prefetchExecutor) {
         this.httpClient = httpClient;
         this.endpointBaseURL = endpointBaseURL;
         this.timeout = timeout;
         this.soapValueConverter = new SOAPValueConverter(httpClient, timeout);
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    private static MessageFactory getMessageFactory() throws SOAPException {
+        MessageFactory messageFactory = MESSAGE_FACTORY.get();
+        if (messageFactory == null) {
+            messageFactory = MessageFactory.newInstance();
+            MESSAGE_FACTORY.set(messageFactory);
+        }
+        return messageFactory;
     }
 
     /**
@@ -93,8 +122,7 @@ public class SOAPConnector {
      * @throws SOAPException if a problem with creating the SOAP message occurs
      */
     private Request prepareSOAPRequest(SOAPRequest soapRequest) throws IOException, SOAPException {
-        MessageFactory messageFactory = MessageFactory.newInstance();
-        SOAPMessage soapMessage = messageFactory.createMessage();
+        SOAPMessage soapMessage = getMessageFactory().createMessage();
         SOAPPart soapPart = soapMessage.getSOAPPart();
         SOAPEnvelope envelope = soapPart.getEnvelope();
         envelope.setEncodingStyle("http://schemas.xmlsoap.org/soap/encoding/");
@@ -134,42 +162,85 @@ public class SOAPConnector {
     /**
      * execute a SOAP request with cache
      *
+     * Identical requests that are issued while the first request is still in progress wait for the result of the
+     * first request.
+     *
      * @param soapRequest the request itself
      * @return the SOAPMessage answer from the remote host
      * @throws Tr064CommunicationException if an error occurs during the request
      */
     public SOAPMessage doSOAPRequest(SOAPRequest soapRequest) throws Tr064CommunicationException {
+        CachedResponse newResponse = new CachedResponse();
+        CachedResponse cachedResponse = soapMessageCache.compute(soapRequest,
+                (request, oldResponse) -> oldResponse == null || oldResponse.isExpired() ? newResponse : oldResponse);
+        if (cachedResponse != newResponse) {
+            logger.trace("Returning from cache: {}", soapRequest);
+            return cachedResponse.get();
+        }
+        // a new request is sent anyway, so this is a good time to remove all expired responses
+        soapMessageCache.values().removeIf(CachedResponse::isExpired);
+
         try {
-            SOAPMessage soapMessage = Objects.requireNonNull(soapMessageCache.putIfAbsentAndGet(soapRequest, () -> {
-                try {
-                    SOAPMessage newValue = doSOAPRequestUncached(soapRequest);
-                    logger.trace("Storing in cache: {}", newValue);
-                    return newValue;
-                } catch (Tr064CommunicationException e) {
-                    // wrap exception
-                    throw new IllegalArgumentException(e);
-                }
-            }));
-            logger.trace("Returning from cache: {}", soapMessage);
+            SOAPMessage soapMessage = doSOAPRequestUncached(soapRequest);
+            logger.trace("Storing in cache: {}", soapMessage);
+            newResponse.complete(soapMessage);
             return soapMessage;
-        } catch (IllegalArgumentException e) {
-            Throwable cause = e.getCause();
-            if (cause instanceof Tr064CommunicationException) {
-                throw (Tr064CommunicationException) cause;
-            } else {
-                throw e;
-            }
+        } catch (Tr064CommunicationException | RuntimeException e) {
+            // failed requests are not cached, but waiting requests receive the same exception
+            soapMessageCache.remove(soapRequest, newResponse);
+            newResponse.future.completeExceptionally(e);
+            throw e;
         }
     }
 
     /**
      * execute a SOAP request without cache
      *
+     * At most {@link #MAX_CONCURRENT_REQUESTS} requests are sent to the device at the same time.
+     *
      * @param soapRequest the request itself
      * @return the SOAPMessage answer from the remote host
      * @throws Tr064CommunicationException if an error occurs during the request
      */
-    public synchronized SOAPMessage doSOAPRequestUncached(SOAPRequest soapRequest) throws Tr064CommunicationException {
+    public SOAPMessage doSOAPRequestUncached(SOAPRequest soapRequest) throws Tr064CommunicationException {
+        try {
+            if (!requestPermits.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                throw new Tr064CommunicationException("Too many concurrent requests to " + endpointBaseURL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Tr064CommunicationException(e);
+        }
+        try {
+            return sendSOAPRequest(soapRequest);
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    /**
+     * request the values of all given channels concurrently
+     *
+     * The responses are stored in the cache, so that subsequent calls of
+     * {@link #getChannelStateFromDevice(Tr064ChannelConfig, Map, ExpiringCacheMap)} do not need to wait for the device.
+     * Requests that are needed for several channels are only sent once.
+     *
+     * @param channelConfigs the configurations of the channels
+     */
+    public void prefetchChannelStates(Collection<Tr064ChannelConfig> channelConfigs) {
+        CompletableFuture<?>[] requests = channelConfigs.stream().map(this::getChannelStateRequest)
+                .flatMap(Optional::stream).distinct().map(soapRequest -> CompletableFuture.runAsync(() -> {
+                    try {
+                        doSOAPRequest(soapRequest);
+                    } catch (Tr064CommunicationException e) {
+                        // failed requests are repeated (and reported) when the channel state is requested
+                        logger.trace("Prefetching {} failed: {}", soapRequest, e.getMessage());
+                    }
+                }, prefetchExecutor)).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(requests).join();
+    }
+
+    private SOAPMessage sendSOAPRequest(SOAPRequest soapRequest) throws Tr064CommunicationException {
         try {
             Request request = prepareSOAPRequest(soapRequest).timeout(timeout, TimeUnit.SECONDS);
             if (logger.isTraceEnabled()) {
@@ -187,7 +258,7 @@ public class SOAPConnector {
             try (final ByteArrayInputStream is = new ByteArrayInputStream(response.getContent())) {
                 logger.trace("Received response: {}", response.getContentAsString());
 
-                SOAPMessage soapMessage = MessageFactory.newInstance().createMessage(null, is);
+                SOAPMessage soapMessage = getMessageFactory().createMessage(null, is);
                 if (soapMessage.getSOAPBody().hasFault()) {
                     String soapError = getSOAPElement(soapMessage, "errorCode").orElse("unknown");
                     String soapReason = getSOAPElement(soapMessage, "errorDescription").orElse("unknown");
@@ -260,14 +331,7 @@ public class SOAPConnector {
             }
 
             // get value(s) from remote device
-            Map<String, String> arguments = new HashMap<>();
-            String parameter = channelConfig.getParameter();
-            ActionType action = channelConfig.getChannelTypeDescription().getGetAction();
-            if (parameter != null && !action.getParameter().isInternalOnly()) {
-                arguments.put(action.getParameter().getName(), parameter);
-            }
-            SOAPMessage soapResponse = doSOAPRequest(
-                    new SOAPRequest(channelConfig.getService(), getAction.getName(), arguments));
+            SOAPMessage soapResponse = doSOAPRequest(getChannelStateRequest(channelConfig).orElseThrow());
             String argumentName = channelConfig.getChannelTypeDescription().getGetAction().getArgument();
             // find all other channels with the same action that are already in cache, so we can update them
             Map<ChannelUID, Tr064ChannelConfig> channelsInRequest = channelConfigMap.entrySet().stream()
@@ -304,4 +368,60 @@ public class SOAPConnector {
             return UnDefType.UNDEF;
         }
     }
+
+    /**
+     * get the request that is needed to get the value of a channel
+     *
+     * @param channelConfig the channel config containing all information
+     * @return the request (empty if the channel has no get action)
+     */
+    private Optional<SOAPRequest> getChannelStateRequest(Tr064ChannelConfig channelConfig) {
+        SCPDActionType getAction = channelConfig.getGetAction();
+        if (getAction == null) {
+            return Optional.empty();
+        }
+        Map<String, String> arguments = new HashMap<>();
+        String parameter = channelConfig.getParameter();
+        ActionType action = channelConfig.getChannelTypeDescription().getGetAction();
+        if (parameter != null && !action.getParameter().isInternalOnly()) {
+            arguments.put(action.getParameter().getName(), parameter);
+        }
+        return Optional.of(new SOAPRequest(channelConfig.getService(), getAction.getName(), arguments));
+    }
+
+    private static class CachedResponse {
+        private final CompletableFuture<SOAPMessage> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        public void complete(SOAPMessage soapMessage) {
+            completedAt = System.nanoTime();
+            future.complete(soapMessage);
+        }
+
+        /**
+         * check if the response is expired (requests in progress never expire)
+         *
+         * @return true if expired
+         */
+        public boolean isExpired() {
+            return future.isDone() && System.nanoTime() - completedAt > CACHE_EXPIRY;
+        }
+
+        public SOAPMessage get() throws Tr064CommunicationException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new Tr064CommunicationException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Tr064CommunicationException) {
+                    throw (Tr064CommunicationException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new Tr064CommunicationException(e);
+            }
+        }
+    }
 }
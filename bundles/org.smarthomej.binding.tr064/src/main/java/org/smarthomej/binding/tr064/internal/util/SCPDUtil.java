@@ -13,16 +13,37 @@
  */
 package org.smarthomej.binding.tr064.internal.util;
 
+import static org.smarthomej.binding.tr064.internal.Tr064BindingConstants.BINDING_ID;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.openhab.core.OpenHAB;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.smarthomej.binding.tr064.internal.SCPDException;
 import org.smarthomej.binding.tr064.internal.dto.scpd.root.SCPDDeviceType;
 import org.smarthomej.binding.tr064.internal.dto.scpd.root.SCPDRootType;
@@ -37,17 +58,25 @@ import org.smarthomej.binding.tr064.internal.dto.scpd.service.SCPDScpdType;
  */
 @NonNullByDefault
 public class SCPDUtil {
+    private static final Path CACHE_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "cache", BINDING_ID);
+    private static final String CACHE_FILE_EXTENSION = ".scpd";
+    // increase if the layout of the cache file changes
+    private static final int CACHE_FORMAT_VERSION = 1;
+    // the serialVersionUID of the generated DTOs is fixed, so files written by other versions of the binding are
+    // discarded
+    private static final String CACHE_VERSION = getCacheVersion();
+    // only the SCPD model classes and the classes they use are accepted when reading the cache
+    private static final ObjectInputFilter CACHE_FILTER = ObjectInputFilter.Config
+            .createFilter("org.smarthomej.binding.tr064.internal.dto.scpd.**;java.lang.*;java.util.*;!*");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SCPDUtil.class);
+
     private SCPDRootType scpdRoot;
     private final List<SCPDDeviceType> scpdDevicesList = new ArrayList<>();
     private final Map<String, SCPDScpdType> serviceMap = new HashMap<>();
 
     public SCPDUtil(HttpClient httpClient, String endpoint, int timeout) throws SCPDException {
-        SCPDRootType scpdRoot = Util.getAndUnmarshalXML(httpClient, endpoint + "/tr64desc.xml", SCPDRootType.class,
-                timeout);
-        if (scpdRoot == null) {
-            throw new SCPDException("could not get SCPD root");
-        }
-        this.scpdRoot = scpdRoot;
+        this.scpdRoot = getRoot(httpClient, endpoint, timeout);
 
         scpdDevicesList.addAll(flatDeviceList(scpdRoot.getDevice()).collect(Collectors.toList()));
         for (SCPDDeviceType device : scpdDevicesList) {
@@ -61,6 +90,122 @@ public class SCPDUtil {
         }
     }
 
+    private SCPDUtil(SCPDRootType scpdRoot, Map<String, SCPDScpdType> serviceMap) {
+        this.scpdRoot = scpdRoot;
+        this.serviceMap.putAll(serviceMap);
+        scpdDevicesList.addAll(flatDeviceList(scpdRoot.getDevice()).collect(Collectors.toList()));
+    }
+
+    private static SCPDRootType getRoot(HttpClient httpClient, String endpoint, int timeout) throws SCPDException {
+        SCPDRootType scpdRoot = Util.getAndUnmarshalXML(httpClient, endpoint + "/tr64desc.xml", SCPDRootType.class,
+                timeout);
+        if (scpdRoot == null) {
+            throw new SCPDException("could not get SCPD root");
+        }
+        return scpdRoot;
+    }
+
+    /**
+     * get the key that identifies the device definitions (device UDN and firmware version)
+     *
+     * @return the key
+     */
+    public String getCacheKey() {
+        return getCacheKey(scpdRoot);
+    }
+
+    private static String getCacheKey(SCPDRootType scpdRoot) {
+        return scpdRoot.getDevice().getUDN() + "/" + scpdRoot.getSystemVersion().getDisplay();
+    }
+
+    /**
+     * get the key of the device definitions that are currently provided by a device
+     *
+     * Only the root description is requested from the device.
+     *
+     * @param httpClient the HTTP client
+     * @param endpoint the endpoint of the device
+     * @param timeout the timeout in s
+     * @return the key
+     * @throws SCPDException if the root description could not be retrieved
+     */
+    public static String getCacheKey(HttpClient httpClient, String endpoint, int timeout) throws SCPDException {
+        return getCacheKey(getRoot(httpClient, endpoint, timeout));
+    }
+
+    /**
+     * read the device definitions of a device from the cache
+     *
+     * @param host the host of the device
+     * @return the device definitions (empty if not present or not readable)
+     */
+    public static Optional<SCPDUtil> readFromCache(String host) {
+        Path cacheFile = getCacheFile(host);
+        if (!Files.exists(cacheFile)) {
+            return Optional.empty();
+        }
+        try (InputStream is = Files.newInputStream(cacheFile); ObjectInputStream ois = new CacheInputStream(is)) {
+            ois.setObjectInputFilter(CACHE_FILTER);
+            String version = ois.readUTF();
+            if (CACHE_VERSION.equals(version)) {
+                SCPDRootType scpdRoot = (SCPDRootType) ois.readObject();
+                @SuppressWarnings("unchecked")
+                Map<String, SCPDScpdType> serviceMap = (Map<String, SCPDScpdType>) ois.readObject();
+                return Optional.of(new SCPDUtil(scpdRoot, serviceMap));
+            }
+            LOGGER.debug("Discarding cached device definitions in '{}', version '{}' does not match '{}'", cacheFile,
+                    version, CACHE_VERSION);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.debug("Discarding cached device definitions in '{}', could not read them: {}", cacheFile,
+                    e.getMessage());
+        }
+        deleteFile(cacheFile);
+        return Optional.empty();
+    }
+
+    /**
+     * write the device definitions to the cache
+     *
+     * @param host the host of the device
+     */
+    public void writeToCache(String host) {
+        Path cacheFile = getCacheFile(host);
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + "." + UUID.randomUUID());
+        try {
+            Files.createDirectories(CACHE_FOLDER);
+            try (OutputStream os = Files.newOutputStream(tempFile);
+                    ObjectOutputStream oos = new ObjectOutputStream(os)) {
+                oos.writeUTF(CACHE_VERSION);
+                oos.writeObject(scpdRoot);
+                oos.writeObject(new HashMap<>(serviceMap));
+            }
+            // replace atomically, so that a concurrent read never sees a partially written file
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.debug("Could not write device definitions to cache '{}': {}", cacheFile, e.getMessage());
+            deleteFile(tempFile);
+        }
+    }
+
+    private static Path getCacheFile(String host) {
+        // the host is used because the endpoint URL changes when a secure connection is established
+        return CACHE_FOLDER.resolve(UUID.nameUUIDFromBytes(host.getBytes(StandardCharsets.UTF_8)).toString()
+                + CACHE_FILE_EXTENSION);
+    }
+
+    private static String getCacheVersion() {
+        Bundle bundle = FrameworkUtil.getBundle(SCPDUtil.class);
+        return CACHE_FORMAT_VERSION + "/" + (bundle != null ? bundle.getVersion() : "");
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete '{}': {}", file, e.getMessage());
+        }
+    }
+
     /**
      * recursively flatten the device tree to a stream
      *
@@ -104,4 +249,26 @@ public class SCPDUtil {
     public Optional<SCPDScpdType> getService(String serviceId) {
         return Optional.ofNullable(serviceMap.get(serviceId));
     }
+
+    /**
+     * The {@link CacheInputStream} resolves classes with the class loader of the binding (the default implementation
+     * does not know the bundle class loader)
+     */
+    private static class CacheInputStream extends ObjectInputStream {
+        public CacheInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(@Nullable ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (desc == null) {
+                throw new InvalidClassException("no class description");
+            }
+            try {
+                return Class.forName(desc.getName(), false, SCPDUtil.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
 }
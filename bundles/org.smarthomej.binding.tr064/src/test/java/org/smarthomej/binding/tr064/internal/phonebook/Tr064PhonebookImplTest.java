@@ -13,6 +13,7 @@
 package org.smarthomej.binding.tr064.internal.phonebook;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -78,13 +79,24 @@ public class Tr064PhonebookImplTest {
         assertEquals("bar", result.get());
     }
 
+    @Test
+    public void testLookupWithCommonSuffix() {
+        when(httpClient.newRequest((String) any())).thenThrow(new IllegalArgumentException("testing"));
+        TestPhonebook testPhonebook = new TestPhonebook(httpClient, "", 0);
+        testPhonebook.setPhonebook(Map.of("+491238007001", "foo", "+4933998007001", "bar", "**820", "baz"));
+
+        assertEquals("foo", testPhonebook.lookupNumber("01238007001", 10).get());
+        assertEquals("bar", testPhonebook.lookupNumber("033998007001", 10).get());
+        assertEquals("baz", testPhonebook.lookupNumber("**820", 0).get());
+        assertEquals(Optional.empty(), testPhonebook.lookupNumber("01238007002", 10));
+        assertEquals(Optional.empty(), testPhonebook.lookupNumber("5", 0));
+        // both numbers end with the same digits, any of them may be returned
+        assertTrue(List.of("foo", "bar").contains(testPhonebook.lookupNumber("8007001", 0).get()));
+    }
+
     private static class TestPhonebook extends Tr064PhonebookImpl {
         public TestPhonebook(HttpClient httpClient, String phonebookUrl, int httpTimeout) {
             super(httpClient, phonebookUrl, httpTimeout);
         }
-
-        public void setPhonebook(Map<String, String> phonebook) {
-            this.phonebook = phonebook;
-        }
     }
 }
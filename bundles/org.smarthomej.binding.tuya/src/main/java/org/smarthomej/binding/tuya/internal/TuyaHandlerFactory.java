@@ -16,11 +16,13 @@ import static org.smarthomej.binding.tuya.internal.TuyaBindingConstants.*;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.storage.Storage;
 import org.openhab.core.storage.StorageService;
@@ -33,8 +35,10 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.smarthomej.binding.tuya.internal.config.BindingConfiguration;
 import org.smarthomej.binding.tuya.internal.handler.ProjectHandler;
 import org.smarthomej.binding.tuya.internal.handler.TuyaDeviceHandler;
+import org.smarthomej.binding.tuya.internal.local.ConnectionSupervisor;
 import org.smarthomej.binding.tuya.internal.local.UdpDiscoveryListener;
 import org.smarthomej.binding.tuya.internal.util.SchemaDp;
 import org.smarthomej.commons.SimpleDynamicCommandDescriptionProvider;
@@ -42,9 +46,6 @@ import org.smarthomej.commons.SimpleDynamicCommandDescriptionProvider;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-
 /**
  * The {@link TuyaHandlerFactory} is responsible for creating things and thing
  * handlers.
@@ -63,24 +64,24 @@ public class TuyaHandlerFactory extends BaseThingHandlerFactory {
     private final HttpClient httpClient;
     private final Gson gson = new Gson();
     private final UdpDiscoveryListener udpDiscoveryListener;
-    private final EventLoopGroup eventLoopGroup;
+    private final ConnectionSupervisor connectionSupervisor;
     private final Storage<String> storage;
 
     @Activate
     public TuyaHandlerFactory(@Reference HttpClientFactory httpClientFactory,
             @Reference SimpleDynamicCommandDescriptionProvider dynamicCommandDescriptionProvider,
-            @Reference StorageService storageService) {
+            @Reference StorageService storageService, Map<String, Object> config) {
         this.httpClient = httpClientFactory.getCommonHttpClient();
         this.dynamicCommandDescriptionProvider = dynamicCommandDescriptionProvider;
-        this.eventLoopGroup = new NioEventLoopGroup();
-        this.udpDiscoveryListener = new UdpDiscoveryListener(eventLoopGroup);
+        this.connectionSupervisor = new ConnectionSupervisor(new Configuration(config).as(BindingConfiguration.class));
+        this.udpDiscoveryListener = new UdpDiscoveryListener(connectionSupervisor);
         this.storage = storageService.getStorage("org.smarthomej.binding.tuya.Schema");
     }
 
     @Deactivate
     public void deactivate() {
         udpDiscoveryListener.deactivate();
-        eventLoopGroup.shutdownGracefully();
+        connectionSupervisor.dispose();
     }
 
     @Override
@@ -96,7 +97,7 @@ public class TuyaHandlerFactory extends BaseThingHandlerFactory {
             return new ProjectHandler(thing, httpClient, storage, gson);
         } else if (THING_TYPE_TUYA_DEVICE.equals(thingTypeUID)) {
             return new TuyaDeviceHandler(thing, gson.fromJson(storage.get(thing.getUID().getId()), STORAGE_TYPE), gson,
-                    dynamicCommandDescriptionProvider, eventLoopGroup, udpDiscoveryListener);
+                    dynamicCommandDescriptionProvider, connectionSupervisor, udpDiscoveryListener);
         }
 
         return null;
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.config;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link BindingConfiguration} holds the configuration of the binding
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class BindingConfiguration {
+    public int eventLoopThreads = 0;
+    public boolean nativeTransport = false;
+
+    public int connectTimeout = 2000;
+    public int maxConcurrentHandshakes = 4;
+    public int maxReconnectDelay = 300;
+}
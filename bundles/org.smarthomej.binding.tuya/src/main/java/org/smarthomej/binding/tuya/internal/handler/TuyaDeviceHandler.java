@@ -54,6 +54,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.smarthomej.binding.tuya.internal.config.ChannelConfiguration;
 import org.smarthomej.binding.tuya.internal.config.DeviceConfiguration;
+import org.smarthomej.binding.tuya.internal.local.ConnectionSupervisor;
 import org.smarthomej.binding.tuya.internal.local.DeviceInfoSubscriber;
 import org.smarthomej.binding.tuya.internal.local.DeviceStatusListener;
 import org.smarthomej.binding.tuya.internal.local.TuyaDevice;
@@ -65,8 +66,6 @@ import org.smarthomej.commons.SimpleDynamicCommandDescriptionProvider;
 
 import com.google.gson.Gson;
 
-import io.netty.channel.EventLoopGroup;
-
 /**
  * The {@link TuyaDeviceHandler} handles commands and state updates
  *
@@ -83,7 +82,7 @@ public class TuyaDeviceHandler extends BaseThingHandler implements DeviceInfoSub
     private final Gson gson;
     private final UdpDiscoveryListener udpDiscoveryListener;
     private final SimpleDynamicCommandDescriptionProvider dynamicCommandDescriptionProvider;
-    private final EventLoopGroup eventLoopGroup;
+    private final ConnectionSupervisor connectionSupervisor;
     private DeviceConfiguration configuration = new DeviceConfiguration();
     private @Nullable TuyaDevice tuyaDevice;
     private final List<SchemaDp> schemaDps;
@@ -104,12 +103,12 @@ public class TuyaDeviceHandler extends BaseThingHandler implements DeviceInfoSub
     private final Map<String, State> channelStateCache = new HashMap<>();
 
     public TuyaDeviceHandler(Thing thing, @Nullable List<SchemaDp> schemaDps, Gson gson,
-            SimpleDynamicCommandDescriptionProvider dynamicCommandDescriptionProvider, EventLoopGroup eventLoopGroup,
-            UdpDiscoveryListener udpDiscoveryListener) {
+            SimpleDynamicCommandDescriptionProvider dynamicCommandDescriptionProvider,
+            ConnectionSupervisor connectionSupervisor, UdpDiscoveryListener udpDiscoveryListener) {
         super(thing);
         this.gson = gson;
         this.udpDiscoveryListener = udpDiscoveryListener;
-        this.eventLoopGroup = eventLoopGroup;
+        this.connectionSupervisor = connectionSupervisor;
         this.dynamicCommandDescriptionProvider = dynamicCommandDescriptionProvider;
         this.schemaDps = Objects.requireNonNullElse(schemaDps, List.of());
     }
@@ -216,7 +215,8 @@ public class TuyaDeviceHandler extends BaseThingHandler implements DeviceInfoSub
             // only re-connect if a device is present, we are not disposing the thing and either the reconnectFuture is
             // empty or already done
             if (tuyaDevice != null && !disposing && (reconnectFuture == null || reconnectFuture.isDone())) {
-                this.reconnectFuture = scheduler.schedule(tuyaDevice::connect, 5000, TimeUnit.MILLISECONDS);
+                this.reconnectFuture = scheduler.schedule(tuyaDevice::connect, tuyaDevice.getReconnectDelay(),
+                        TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -380,7 +380,7 @@ public class TuyaDeviceHandler extends BaseThingHandler implements DeviceInfoSub
         }
         updateStatus(ThingStatus.UNKNOWN);
 
-        this.tuyaDevice = new TuyaDevice(gson, this, eventLoopGroup, configuration.deviceId,
+        this.tuyaDevice = new TuyaDevice(gson, this, connectionSupervisor, configuration.deviceId,
                 configuration.localKey.getBytes(StandardCharsets.UTF_8), deviceInfo.ip, deviceInfo.protocolVersion);
     }
 
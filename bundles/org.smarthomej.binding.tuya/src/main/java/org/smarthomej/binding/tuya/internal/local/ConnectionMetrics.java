@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.local;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link ConnectionMetrics} collects connection and latency metrics of a single device
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ConnectionMetrics {
+    private volatile long connectStart = 0;
+    private volatile long connectLatency = 0;
+    private volatile int connects = 0;
+    private volatile int failedConnects = 0;
+
+    private volatile long requestSent = 0;
+    private volatile long responseLatency = 0;
+    private volatile long averageResponseLatency = 0;
+
+    void connectStarted() {
+        connectStart = System.nanoTime();
+    }
+
+    void connected() {
+        connectLatency = System.nanoTime() - connectStart;
+        connects++;
+    }
+
+    void connectFailed() {
+        failedConnects++;
+    }
+
+    void requestSent() {
+        requestSent = System.nanoTime();
+    }
+
+    /**
+     * record the reception of a response (unsolicited status messages are ignored)
+     */
+    public void responseReceived() {
+        long requestSent = this.requestSent;
+        if (requestSent != 0) {
+            this.requestSent = 0;
+            long latency = System.nanoTime() - requestSent;
+            responseLatency = latency;
+            // exponentially weighted moving average with alpha = 1/8
+            long average = averageResponseLatency;
+            averageResponseLatency = average == 0 ? latency : average + (latency - average) / 8;
+        }
+    }
+
+    /**
+     * get the duration of the last successful connection attempt (including the session key negotiation)
+     *
+     * @return the duration in ms
+     */
+    public long getConnectLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(connectLatency);
+    }
+
+    /**
+     * get the number of successful re-connects (i.e. not counting the first connection)
+     *
+     * @return the number of re-connects
+     */
+    public int getReconnects() {
+        return Math.max(0, connects - 1);
+    }
+
+    /**
+     * get the number of failed connection attempts
+     *
+     * @return the number of failed attempts
+     */
+    public int getFailedConnects() {
+        return failedConnects;
+    }
+
+    /**
+     * get the latency of the last response
+     *
+     * @return the latency in ms
+     */
+    public long getResponseLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(responseLatency);
+    }
+
+    /**
+     * get the (moving) average of the response latency
+     *
+     * @return the average latency in ms
+     */
+    public long getAverageResponseLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(averageResponseLatency);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionMetrics{connectLatency=" + getConnectLatency() + "ms, reconnects=" + getReconnects()
+                + ", failedConnects=" + failedConnects + ", responseLatency=" + getResponseLatency()
+                + "ms, averageResponseLatency=" + getAverageResponseLatency() + "ms}";
+    }
+}
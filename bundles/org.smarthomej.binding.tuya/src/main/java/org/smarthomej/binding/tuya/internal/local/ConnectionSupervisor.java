@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.local;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.smarthomej.binding.tuya.internal.config.BindingConfiguration;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * The {@link ConnectionSupervisor} provides the shared event loop for all device connections, limits the number of
+ * concurrent connection attempts (including the session key negotiation) and calculates the re-connect delays.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class ConnectionSupervisor {
+    private static final long RECONNECT_INITIAL_DELAY = TimeUnit.SECONDS.toMillis(5);
+    private static final int RECONNECT_MAX_EXPONENT = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(ConnectionSupervisor.class);
+
+    private final EventLoopGroup eventLoopGroup;
+    private final Class<? extends SocketChannel> channelClass;
+    private final Class<? extends DatagramChannel> datagramChannelClass;
+    private final int connectTimeout;
+    private final int maxConcurrentHandshakes;
+    private final long maxReconnectDelay;
+
+    private final Deque<TuyaDevice> pendingConnects = new ArrayDeque<>();
+    private int activeHandshakes = 0;
+
+    public ConnectionSupervisor(BindingConfiguration configuration) {
+        int threads = Math.max(0, configuration.eventLoopThreads); // 0 = netty default (2 * number of cores)
+        EventLoopGroup eventLoopGroup = null;
+        Class<? extends SocketChannel> channelClass = NioSocketChannel.class;
+        Class<? extends DatagramChannel> datagramChannelClass = NioDatagramChannel.class;
+        if (configuration.nativeTransport) {
+            try {
+                if (EpollTransport.isAvailable()) {
+                    eventLoopGroup = EpollTransport.createEventLoopGroup(threads);
+                    channelClass = EpollTransport.getChannelClass();
+                    datagramChannelClass = EpollTransport.getDatagramChannelClass();
+                    logger.debug("Using native epoll transport.");
+                } else {
+                    logger.info("Native epoll transport is not available on this system, using NIO transport.");
+                }
+            } catch (LinkageError e) {
+                logger.info("Native epoll transport is not installed, using NIO transport.");
+            }
+        }
+        this.eventLoopGroup = eventLoopGroup != null ? eventLoopGroup : new NioEventLoopGroup(threads);
+        this.channelClass = channelClass;
+        this.datagramChannelClass = datagramChannelClass;
+        this.connectTimeout = Math.max(100, configuration.connectTimeout);
+        this.maxConcurrentHandshakes = Math.max(1, configuration.maxConcurrentHandshakes);
+        this.maxReconnectDelay = TimeUnit.SECONDS.toMillis(Math.max(5, configuration.maxReconnectDelay));
+    }
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    Class<? extends SocketChannel> getChannelClass() {
+        return channelClass;
+    }
+
+    Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return datagramChannelClass;
+    }
+
+    int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * request a connection for a device
+     *
+     * The connection is started immediately if the number of active handshakes is below the limit, otherwise it is
+     * queued until another handshake finishes. Every started connection needs to call {@link #handshakeFinished()}.
+     *
+     * @param device the device that shall be connected
+     */
+    void requestConnect(TuyaDevice device) {
+        synchronized (this) {
+            if (activeHandshakes >= maxConcurrentHandshakes) {
+                if (!pendingConnects.contains(device)) {
+                    pendingConnects.add(device);
+                }
+                logger.trace("{}: Connection queued, {} connection(s) pending", device.getDeviceId(),
+                        pendingConnects.size());
+                return;
+            }
+            activeHandshakes++;
+        }
+        device.doConnect();
+    }
+
+    /**
+     * remove a device from the queue of pending connections
+     *
+     * @param device the device
+     */
+    synchronized void cancelConnect(TuyaDevice device) {
+        pendingConnects.remove(device);
+    }
+
+    /**
+     * release the handshake slot of a connection (successful or not) and start the next pending connection
+     */
+    void handshakeFinished() {
+        TuyaDevice next;
+        synchronized (this) {
+            next = pendingConnects.poll();
+            if (next == null) {
+                activeHandshakes = Math.max(0, activeHandshakes - 1);
+                return;
+            }
+            // slot is handed over to the next device
+        }
+        next.doConnect();
+    }
+
+    /**
+     * calculate the delay before the next re-connect attempt (exponential backoff with jitter)
+     *
+     * @param failedAttempts the number of failed attempts since the last successful connection
+     * @return the delay in ms
+     */
+    long getReconnectDelay(int failedAttempts) {
+        long delay = Math.min(maxReconnectDelay,
+                RECONNECT_INITIAL_DELAY << Math.min(Math.max(0, failedAttempts), RECONNECT_MAX_EXPONENT));
+        // use half of the delay as fixed part, randomize the other half to prevent reconnect storms
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    public void dispose() {
+        synchronized (this) {
+            pendingConnects.clear();
+        }
+        eventLoopGroup.shutdownGracefully();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.local;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+
+/**
+ * The {@link EpollTransport} encapsulates all references to the (optional) native epoll transport. It is only loaded
+ * if the native transport is enabled, so that a missing <code>io.netty.channel.epoll</code> package results in a
+ * {@link LinkageError} that can be handled by the caller.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class EpollTransport {
+
+    private EpollTransport() {
+        // prevent instantiation
+    }
+
+    static boolean isAvailable() {
+        return Epoll.isAvailable();
+    }
+
+    static EventLoopGroup createEventLoopGroup(int threads) {
+        return new EpollEventLoopGroup(threads);
+    }
+
+    static Class<? extends SocketChannel> getChannelClass() {
+        return EpollSocketChannel.class;
+    }
+
+    static Class<? extends DatagramChannel> getDatagramChannelClass() {
+        return EpollDatagramChannel.class;
+    }
+}
@@ -24,6 +24,8 @@ import static org.smarthomej.binding.tuya.internal.local.ProtocolVersion.V3_4;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -45,9 +47,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
 
 /**
@@ -57,10 +57,14 @@ import io.netty.handler.timeout.IdleStateHandler;
  */
 @NonNullByDefault
 public class TuyaDevice implements ChannelFutureListener {
+    private static final long HANDSHAKE_TIMEOUT = 5; // in s
+
     private final Logger logger = LoggerFactory.getLogger(TuyaDevice.class);
 
     private final Bootstrap bootstrap = new Bootstrap();
     private final DeviceStatusListener deviceStatusListener;
+    private final ConnectionSupervisor connectionSupervisor;
+    private final ConnectionMetrics connectionMetrics = new ConnectionMetrics();
     private final String deviceId;
 
     private final String address;
@@ -68,15 +72,21 @@ public class TuyaDevice implements ChannelFutureListener {
     private final KeyStore keyStore;
     private @Nullable Channel channel;
 
-    public TuyaDevice(Gson gson, DeviceStatusListener deviceStatusListener, EventLoopGroup eventLoopGroup,
+    private final AtomicBoolean handshakeInProgress = new AtomicBoolean(false);
+    private volatile int failedAttempts = 0;
+    private volatile boolean disposed = false;
+
+    public TuyaDevice(Gson gson, DeviceStatusListener deviceStatusListener, ConnectionSupervisor connectionSupervisor,
             String deviceId, byte[] deviceKey, String address, String protocolVersion) {
         this.address = address;
         this.deviceId = deviceId;
         this.keyStore = new KeyStore(deviceKey);
         this.deviceStatusListener = deviceStatusListener;
+        this.connectionSupervisor = connectionSupervisor;
         this.protocolVersion = ProtocolVersion.fromString(protocolVersion);
-        bootstrap.group(eventLoopGroup).channel(NioSocketChannel.class);
-        bootstrap.option(ChannelOption.TCP_NODELAY, true).option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000);
+        bootstrap.group(connectionSupervisor.getEventLoopGroup()).channel(connectionSupervisor.getChannelClass());
+        bootstrap.option(ChannelOption.TCP_NODELAY, true).option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                connectionSupervisor.getConnectTimeout());
         bootstrap.handler(new ChannelInitializer<SocketChannel>() {
             @Override
             protected void initChannel(SocketChannel ch) throws Exception {
@@ -88,7 +98,8 @@ public class TuyaDevice implements ChannelFutureListener {
                 pipeline.addLast("messageDecoder",
                         new TuyaDecoder(gson, deviceId, keyStore, TuyaDevice.this.protocolVersion));
                 pipeline.addLast("heartbeatHandler", new HeartbeatHandler(deviceId));
-                pipeline.addLast("deviceHandler", new TuyaMessageHandler(deviceId, keyStore, deviceStatusListener));
+                pipeline.addLast("deviceHandler",
+                        new TuyaMessageHandler(deviceId, keyStore, deviceStatusListener, TuyaDevice.this));
                 pipeline.addLast("userEventHandler", new UserEventHandler(deviceId));
             }
         });
@@ -96,10 +107,62 @@ public class TuyaDevice implements ChannelFutureListener {
     }
 
     public void connect() {
+        if (!disposed) {
+            connectionSupervisor.requestConnect(this);
+        }
+    }
+
+    /**
+     * start the connection (only called by the {@link ConnectionSupervisor} after a handshake slot was assigned)
+     */
+    void doConnect() {
+        if (disposed) {
+            connectionSupervisor.handshakeFinished();
+            return;
+        }
+        handshakeInProgress.set(true);
         keyStore.reset(); // reset session key
+        connectionMetrics.connectStarted();
         bootstrap.connect(address, 6668).addListener(this);
     }
 
+    /**
+     * mark the handshake as completed (called after the connection is established for protocol 3.1/3.3 and after the
+     * session key negotiation for protocol 3.4)
+     */
+    public void handshakeCompleted() {
+        if (handshakeInProgress.compareAndSet(true, false)) {
+            connectionSupervisor.handshakeFinished();
+            connectionMetrics.connected();
+            failedAttempts = 0;
+            logger.debug("{}: Connection ready, {}", deviceId, connectionMetrics);
+        }
+    }
+
+    private void handshakeFailed() {
+        if (handshakeInProgress.compareAndSet(true, false)) {
+            connectionSupervisor.handshakeFinished();
+            connectionMetrics.connectFailed();
+        }
+    }
+
+    /**
+     * get the delay before the next connection attempt (increases with every failed attempt)
+     *
+     * @return the delay in ms
+     */
+    public long getReconnectDelay() {
+        return connectionSupervisor.getReconnectDelay(failedAttempts++);
+    }
+
+    public ConnectionMetrics getConnectionMetrics() {
+        return connectionMetrics;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
     private void disconnect() {
         Channel channel = this.channel;
         if (channel != null) { // if channel == null we are not connected anyway
@@ -113,6 +176,7 @@ public class TuyaDevice implements ChannelFutureListener {
         MessageWrapper<?> m = new MessageWrapper<>(commandType, Map.of("dps", command));
         Channel channel = this.channel;
         if (channel != null) {
+            connectionMetrics.requestSent();
             channel.writeAndFlush(m);
         } else {
             logger.warn("{}: Setting {} failed. Device is not connected.", deviceId, command);
@@ -123,6 +187,7 @@ public class TuyaDevice implements ChannelFutureListener {
         MessageWrapper<?> m = new MessageWrapper<>(DP_QUERY, Map.of("dps", Map.of()));
         Channel channel = this.channel;
         if (channel != null) {
+            connectionMetrics.requestSent();
             channel.writeAndFlush(m);
         } else {
             logger.warn("{}: Querying status failed. Device is not connected.", deviceId);
@@ -133,6 +198,7 @@ public class TuyaDevice implements ChannelFutureListener {
         MessageWrapper<?> m = new MessageWrapper<>(DP_REFRESH, Map.of("dpId", List.of(4, 5, 6, 18, 19, 20)));
         Channel channel = this.channel;
         if (channel != null) {
+            connectionMetrics.requestSent();
             channel.writeAndFlush(m);
         } else {
             logger.warn("{}: Refreshing status failed. Device is not connected.", deviceId);
@@ -140,6 +206,9 @@ public class TuyaDevice implements ChannelFutureListener {
     }
 
     public void dispose() {
+        disposed = true;
+        connectionSupervisor.cancelConnect(this);
+        handshakeFailed();
         disconnect();
     }
 
@@ -148,12 +217,21 @@ public class TuyaDevice implements ChannelFutureListener {
         if (channelFuture.isSuccess()) {
             Channel channel = channelFuture.channel();
             this.channel = channel;
+            // release the handshake slot if the connection is closed before the handshake is completed
+            channel.closeFuture().addListener(f -> handshakeFailed());
             if (protocolVersion == V3_4) {
                 // handshake for session key required
                 MessageWrapper<?> m = new MessageWrapper<>(SESS_KEY_NEG_START, keyStore.getRandom());
                 channel.writeAndFlush(m);
+                channel.eventLoop().schedule(() -> {
+                    if (handshakeInProgress.get() && this.channel == channel) {
+                        logger.debug("{}: Session key negotiation timed out.", deviceId);
+                        channel.close();
+                    }
+                }, HANDSHAKE_TIMEOUT, TimeUnit.SECONDS);
             } else {
                 // no handshake for 3.1/3.3
+                handshakeCompleted();
                 requestStatus();
             }
         } else {
@@ -161,6 +239,7 @@ public class TuyaDevice implements ChannelFutureListener {
                     Objects.requireNonNullElse(channelFuture.channel().remoteAddress(), ""),
                     channelFuture.cause().getMessage());
             this.channel = null;
+            handshakeFailed();
             deviceStatusListener.connectionStatus(false);
         }
     }
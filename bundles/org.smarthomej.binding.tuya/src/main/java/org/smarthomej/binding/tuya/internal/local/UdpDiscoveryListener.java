@@ -35,9 +35,7 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.DatagramChannel;
-import io.netty.channel.socket.nio.NioDatagramChannel;
 
 /**
  * The {@link UdpDiscoveryListener} handles UDP device discovery message
@@ -57,18 +55,19 @@ public class UdpDiscoveryListener implements ChannelFutureListener {
 
     private @NonNullByDefault({}) Channel encryptedChannel;
     private @NonNullByDefault({}) Channel rawChannel;
-    private final EventLoopGroup group;
+    private final ConnectionSupervisor connectionSupervisor;
     private boolean deactivate = false;
 
-    public UdpDiscoveryListener(EventLoopGroup group) {
-        this.group = group;
+    public UdpDiscoveryListener(ConnectionSupervisor connectionSupervisor) {
+        this.connectionSupervisor = connectionSupervisor;
         activate();
     }
 
     private void activate() {
         try {
             Bootstrap b = new Bootstrap();
-            b.group(group).channel(NioDatagramChannel.class).option(ChannelOption.SO_BROADCAST, true)
+            b.group(connectionSupervisor.getEventLoopGroup()).channel(connectionSupervisor.getDatagramChannelClass())
+                    .option(ChannelOption.SO_BROADCAST, true)
                     .handler(new ChannelInitializer<DatagramChannel>() {
                         @Override
                         protected void initChannel(DatagramChannel ch) throws Exception {
@@ -22,13 +22,14 @@ import static org.smarthomej.binding.tuya.internal.local.ProtocolVersion.V3_3;
 import static org.smarthomej.binding.tuya.internal.local.ProtocolVersion.V3_4;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,176 +39,232 @@ import org.smarthomej.binding.tuya.internal.local.ProtocolVersion;
 import org.smarthomej.binding.tuya.internal.local.TuyaDevice;
 import org.smarthomej.binding.tuya.internal.local.dto.DiscoveryMessage;
 import org.smarthomej.binding.tuya.internal.local.dto.TcpStatusPayload;
+import org.smarthomej.binding.tuya.internal.util.CipherCache;
 import org.smarthomej.binding.tuya.internal.util.CryptoUtil;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 
 /**
  * The {@link TuyaDecoder} is a Netty Decoder for encoding Tuya Local messages
  *
+ * Frames are extracted by their length field and decoded directly from the {@link ByteBuf}, incomplete frames are left
+ * in the buffer without copying.
+ *
  * Parts of this code are inspired by the TuyAPI project (see notice file)
  *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
-public class TuyaDecoder extends ByteToMessageDecoder {
+public class TuyaDecoder extends LengthFieldBasedFrameDecoder {
+    private static final int PREFIX = 0x000055aa;
+    private static final int SUFFIX = 0x0000aa55;
+    private static final int HEADER_LENGTH = 16;
+    private static final int MAX_FRAME_LENGTH = 0x10000;
+
     private final Logger logger = LoggerFactory.getLogger(TuyaDecoder.class);
 
     private final TuyaDevice.KeyStore keyStore;
     private final ProtocolVersion version;
+    private final byte[] versionBytes;
     private final Gson gson;
     private final String deviceId;
+    private final CipherCache cipherCache = new CipherCache();
 
     public TuyaDecoder(Gson gson, String deviceId, TuyaDevice.KeyStore keyStore, ProtocolVersion version) {
+        // the length field (offset 12) contains the number of bytes following the 16 byte header
+        super(MAX_FRAME_LENGTH, 12, 4, 0, 0);
         this.gson = gson;
         this.keyStore = keyStore;
         this.version = version;
+        this.versionBytes = version.getBytes();
         this.deviceId = deviceId;
     }
 
     @Override
-    public void decode(@NonNullByDefault({}) ChannelHandlerContext ctx, @NonNullByDefault({}) ByteBuf in,
-            @NonNullByDefault({}) List<Object> out) throws Exception {
-        if (in.readableBytes() < 24) {
-            // minimum packet size is 16 bytes header + 8 bytes suffix
-            return;
+    public @Nullable Object decode(@NonNullByDefault({}) ChannelHandlerContext ctx,
+            @NonNullByDefault({}) ByteBuf in) throws Exception {
+        // skip everything before the next prefix, so that we can resync after receiving garbage
+        int skipped = 0;
+        while (in.readableBytes() >= 4 && in.getInt(in.readerIndex()) != PREFIX) {
+            in.skipBytes(1);
+            skipped++;
+        }
+        if (skipped > 0) {
+            logger.debug("{}{}: Skipped {} bytes while searching for the next frame", deviceId,
+                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), skipped);
         }
 
-        // we need to take a copy first so the buffer stays intact if we exit early
-        ByteBuf inCopy = in.copy();
-        byte[] bytes = new byte[inCopy.readableBytes()];
-        inCopy.readBytes(bytes);
-        inCopy.release();
+        ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+        if (frame == null) {
+            // there are less bytes than needed, exit early
+            return null;
+        }
+
+        try {
+            return decodeFrame(ctx, frame);
+        } finally {
+            frame.release();
+        }
+    }
 
+    private @Nullable MessageWrapper<?> decodeFrame(ChannelHandlerContext ctx, ByteBuf frame) {
         if (logger.isTraceEnabled()) {
             logger.trace("{}{}: Received encoded '{}'", deviceId,
-                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), HexUtils.bytesToHex(bytes));
+                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), ByteBufUtil.hexDump(frame));
         }
 
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        int prefix = buffer.getInt();
-        int sequenceNumber = buffer.getInt();
-        CommandType commandType = CommandType.fromCode(buffer.getInt());
-        int payloadLength = buffer.getInt();
+        int frameStart = frame.readerIndex();
+        int frameLength = frame.readableBytes();
+        CommandType commandType = CommandType.fromCode(frame.getInt(frameStart + 8));
+        boolean hmacChecksum = version == V3_4 && commandType != UDP && commandType != UDP_NEW;
+        // checksum (HMAC or CRC) and suffix
+        int trailerLength = hmacChecksum ? 36 : 8;
 
-        //
-        if (buffer.limit() < payloadLength + 16) {
-            // there are less bytes than needed, exit early
-            logger.trace("Did not receive enough bytes from '{}', exiting early", deviceId);
-            return;
-        } else {
-            // we have enough bytes, skip them from the input buffer and proceed processing
-            in.skipBytes(payloadLength + 16);
+        int payloadStart = HEADER_LENGTH;
+        int returnCode = frame.getInt(frameStart + HEADER_LENGTH);
+        if ((returnCode & 0xffffff00) == 0) {
+            // skip return code
+            payloadStart += 4;
         }
-
-        int returnCode = buffer.getInt();
-
-        byte[] payload;
-        if ((returnCode & 0xffffff00) != 0) {
-            // rewind if no return code is present
-            buffer.position(buffer.position() - 4);
-            payload = version == V3_4 ? new byte[payloadLength - 32] : new byte[payloadLength - 8];
-        } else {
-            payload = version == V3_4 ? new byte[payloadLength - 32 - 8] : new byte[payloadLength - 8 - 4];
+        int payloadEnd = frameLength - trailerLength;
+        if (payloadEnd < payloadStart) {
+            logger.warn("{}{}: Decoding failed: Frame too short.", deviceId,
+                    Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
+            return null;
         }
 
-        buffer.get(payload);
-
-        if (version == V3_4 && commandType != UDP && commandType != UDP_NEW) {
-            byte[] fullMessage = new byte[buffer.position()];
-            buffer.position(0);
-            buffer.get(fullMessage);
-            byte[] expectedHmac = new byte[32];
-            buffer.get(expectedHmac);
-            byte[] calculatedHmac = CryptoUtil.hmac(fullMessage, keyStore.getSessionKey());
-            if (!Arrays.equals(expectedHmac, calculatedHmac)) {
+        if (hmacChecksum) {
+            byte[] calculatedHmac = cipherCache.hmac(frame.nioBuffer(frameStart, payloadEnd),
+                    keyStore.getSessionKey());
+            if (calculatedHmac == null || !equals(frame, frameStart + payloadEnd, calculatedHmac)) {
                 logger.warn("{}{}: Checksum failed for message: calculated {}, found {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""),
                         calculatedHmac != null ? HexUtils.bytesToHex(calculatedHmac) : "<null>",
-                        HexUtils.bytesToHex(expectedHmac));
-                return;
+                        ByteBufUtil.hexDump(frame, frameStart + payloadEnd, 32));
+                return null;
             }
         } else {
-            int crc = buffer.getInt();
+            int crc = frame.getInt(frameStart + payloadEnd);
             // header + payload without suffix and checksum
-            int calculatedCrc = CryptoUtil.calculateChecksum(bytes, 0, 16 + payloadLength - 8);
+            int calculatedCrc = CryptoUtil.calculateChecksum(frame, frameStart, frameStart + payloadEnd);
             if (calculatedCrc != crc) {
                 logger.warn("{}{}: Checksum failed for message: calculated {}, found {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), calculatedCrc, crc);
-                return;
+                return null;
             }
         }
 
-        int suffix = buffer.getInt();
-        if (prefix != 0x000055aa || suffix != 0x0000aa55) {
+        if (frame.getInt(frameStart + frameLength - 4) != SUFFIX) {
             logger.warn("{}{}: Decoding failed: Prefix or suffix invalid.", deviceId,
                     Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
-            return;
+            return null;
         }
 
-        if (Arrays.equals(Arrays.copyOfRange(payload, 0, version.getBytes().length), version.getBytes())) {
+        ByteBuffer payload = frame.nioBuffer(frameStart + payloadStart, payloadEnd - payloadStart);
+        if (startsWithVersion(payload)) {
             if (version == V3_3) {
                 // Remove 3.3 header
-                payload = Arrays.copyOfRange(payload, 15, payload.length);
+                payload.position(payload.position() + 15);
             } else {
-                payload = Base64.getDecoder().decode(Arrays.copyOfRange(payload, 19, payload.length));
+                payload.position(payload.position() + 19);
+                payload = Base64.getDecoder().decode(payload);
             }
         }
 
         MessageWrapper<?> m;
         if (commandType == UDP) {
             // UDP is unencrypted
-            m = new MessageWrapper<>(commandType,
-                    Objects.requireNonNull(gson.fromJson(new String(payload), DiscoveryMessage.class)));
+            m = new MessageWrapper<>(commandType, Objects.requireNonNull(
+                    gson.fromJson(Charset.defaultCharset().decode(payload).toString(), DiscoveryMessage.class)));
         } else {
-            byte[] decodedMessage = version == V3_4 ? CryptoUtil.decryptAesEcb(payload, keyStore.getSessionKey(), true)
-                    : CryptoUtil.decryptAesEcb(payload, keyStore.getDeviceKey(), false);
-            if (decodedMessage == null) {
-                return;
+            byte[] decryptedMessage = version == V3_4 ? cipherCache.decryptAesEcb(payload, keyStore.getSessionKey())
+                    : cipherCache.decryptAesEcb(payload, keyStore.getDeviceKey());
+            if (decryptedMessage == null) {
+                return null;
             }
-            if (Arrays.equals(Arrays.copyOfRange(decodedMessage, 0, version.getBytes().length), version.getBytes())) {
-                if (version == V3_4) {
-                    // Remove 3.4 header
-                    decodedMessage = Arrays.copyOfRange(decodedMessage, 15, decodedMessage.length);
+            int messageStart = 0;
+            int messageEnd = decryptedMessage.length;
+            if (version == V3_4 && messageEnd > 0) {
+                // remove padding
+                messageEnd -= decryptedMessage[messageEnd - 1] & 0xff;
+                if (messageEnd < 0) {
+                    logger.warn("{}{}: Decoding failed: Invalid padding.", deviceId,
+                            Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
+                    return null;
                 }
             }
+            if (version == V3_4 && startsWithVersion(ByteBuffer.wrap(decryptedMessage, 0, messageEnd))) {
+                // Remove 3.4 header
+                messageStart = Math.min(15, messageEnd);
+            }
             if (logger.isTraceEnabled()) {
                 logger.trace("{}{}: Decoded raw payload: {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""),
-                        HexUtils.bytesToHex(decodedMessage));
+                        HexUtils.bytesToHex(Arrays.copyOfRange(decryptedMessage, messageStart, messageEnd)));
             }
 
             try {
-                String decodedString = new String(decodedMessage).trim();
-                if (commandType == DP_QUERY && "json obj data unvalid".equals(decodedString)) {
-                    // "json obj data unvalid" would also result in a JSONSyntaxException but is a known error when
-                    // DP_QUERY is not supported by the device. Using a CONTROL message with null values is a known
-                    // workaround, cf. https://github.com/codetheweb/tuyapi/blob/master/index.js#L156
-                    logger.info("{}{}: DP_QUERY not supported. Trying to request with CONTROL.", deviceId,
-                            Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
-                    m = new MessageWrapper<>(DP_QUERY_NOT_SUPPORTED, Map.of());
-                } else if (commandType == STATUS || commandType == DP_QUERY) {
-                    m = new MessageWrapper<>(commandType,
-                            Objects.requireNonNull(gson.fromJson(decodedString, TcpStatusPayload.class)));
-                } else if (commandType == UDP_NEW || commandType == BROADCAST_LPV34) {
-                    m = new MessageWrapper<>(commandType,
-                            Objects.requireNonNull(gson.fromJson(decodedString, DiscoveryMessage.class)));
+                if (commandType == STATUS || commandType == DP_QUERY || commandType == UDP_NEW
+                        || commandType == BROADCAST_LPV34) {
+                    String decodedString = new String(decryptedMessage, messageStart, messageEnd - messageStart).trim();
+                    if (commandType == DP_QUERY && "json obj data unvalid".equals(decodedString)) {
+                        // "json obj data unvalid" would also result in a JSONSyntaxException but is a known error when
+                        // DP_QUERY is not supported by the device. Using a CONTROL message with null values is a known
+                        // workaround, cf. https://github.com/codetheweb/tuyapi/blob/master/index.js#L156
+                        logger.info("{}{}: DP_QUERY not supported. Trying to request with CONTROL.", deviceId,
+                                Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""));
+                        m = new MessageWrapper<>(DP_QUERY_NOT_SUPPORTED, Map.of());
+                    } else if (commandType == STATUS || commandType == DP_QUERY) {
+                        m = new MessageWrapper<>(commandType,
+                                Objects.requireNonNull(gson.fromJson(decodedString, TcpStatusPayload.class)));
+                    } else {
+                        m = new MessageWrapper<>(commandType,
+                                Objects.requireNonNull(gson.fromJson(decodedString, DiscoveryMessage.class)));
+                    }
                 } else {
+                    byte[] decodedMessage = messageStart == 0 && messageEnd == decryptedMessage.length
+                            ? decryptedMessage
+                            : Arrays.copyOfRange(decryptedMessage, messageStart, messageEnd);
                     m = new MessageWrapper<>(commandType, decodedMessage);
                 }
             } catch (JsonSyntaxException e) {
                 logger.warn("{}{} failed to parse JSON: {}", deviceId,
                         Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), e.getMessage());
-                return;
+                return null;
             }
         }
 
         logger.debug("{}{}: Received {}", deviceId, Objects.requireNonNullElse(ctx.channel().remoteAddress(), ""), m);
-        out.add(m);
+        return m;
+    }
+
+    private boolean startsWithVersion(ByteBuffer buffer) {
+        if (buffer.remaining() < versionBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < versionBytes.length; i++) {
+            if (buffer.get(buffer.position() + i) != versionBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(ByteBuf buf, int index, byte[] expected) {
+        if (buf.writerIndex() < index + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buf.getByte(index + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -38,6 +38,7 @@ import org.smarthomej.binding.tuya.internal.local.CommandType;
 import org.smarthomej.binding.tuya.internal.local.MessageWrapper;
 import org.smarthomej.binding.tuya.internal.local.ProtocolVersion;
 import org.smarthomej.binding.tuya.internal.local.TuyaDevice;
+import org.smarthomej.binding.tuya.internal.util.CipherCache;
 import org.smarthomej.binding.tuya.internal.util.CryptoUtil;
 
 import com.google.gson.Gson;
@@ -61,6 +62,7 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
     private final ProtocolVersion version;
     private final String deviceId;
     private final Gson gson;
+    private final CipherCache cipherCache = new CipherCache();
 
     private int sequenceNo = 0;
 
@@ -136,7 +138,7 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
         byte[] payloadBytes = payload;
         if (version == V3_3) {
             // Always encrypted
-            payloadBytes = CryptoUtil.encryptAesEcb(payloadBytes, keyStore.getDeviceKey(), true);
+            payloadBytes = cipherCache.encryptAesEcb(payloadBytes, keyStore.getDeviceKey(), true);
             if (payloadBytes == null) {
                 return Optional.empty();
             }
@@ -151,7 +153,7 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
             }
         } else if (CommandType.CONTROL.equals(commandType)) {
             // Protocol 3.1 and below, only encrypt data if necessary
-            byte[] encryptedPayload = CryptoUtil.encryptAesEcb(payloadBytes, keyStore.getDeviceKey(), true);
+            byte[] encryptedPayload = cipherCache.encryptAesEcb(payloadBytes, keyStore.getDeviceKey(), true);
             if (encryptedPayload == null) {
                 return Optional.empty();
             }
@@ -202,7 +204,7 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
         Arrays.fill(padded, padding);
         System.arraycopy(rawPayload, 0, padded, 0, rawPayload.length);
 
-        byte[] encryptedPayload = CryptoUtil.encryptAesEcb(padded, keyStore.getSessionKey(), false);
+        byte[] encryptedPayload = cipherCache.encryptAesEcb(padded, keyStore.getSessionKey(), false);
         if (encryptedPayload == null) {
             return Optional.empty();
         }
@@ -219,9 +221,8 @@ public class TuyaEncoder extends MessageToByteEncoder<MessageWrapper<?>> {
         buffer.put(encryptedPayload);
 
         // Calculate and add checksum
-        byte[] checksumContent = new byte[encryptedPayload.length + 16];
-        System.arraycopy(buffer.array(), 0, checksumContent, 0, encryptedPayload.length + 16);
-        byte[] checksum = CryptoUtil.hmac(checksumContent, this.keyStore.getSessionKey());
+        byte[] checksum = cipherCache.hmac(ByteBuffer.wrap(buffer.array(), 0, encryptedPayload.length + 16),
+                this.keyStore.getSessionKey());
         if (checksum == null) {
             return Optional.empty();
         }
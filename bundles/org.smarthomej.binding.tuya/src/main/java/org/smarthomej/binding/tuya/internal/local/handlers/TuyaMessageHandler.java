@@ -42,12 +42,14 @@ public class TuyaMessageHandler extends ChannelDuplexHandler {
     private final String deviceId;
     private final DeviceStatusListener deviceStatusListener;
     private final TuyaDevice.KeyStore keyStore;
+    private final TuyaDevice tuyaDevice;
 
-    public TuyaMessageHandler(String deviceId, TuyaDevice.KeyStore keyStore,
-            DeviceStatusListener deviceStatusListener) {
+    public TuyaMessageHandler(String deviceId, TuyaDevice.KeyStore keyStore, DeviceStatusListener deviceStatusListener,
+            TuyaDevice tuyaDevice) {
         this.deviceId = deviceId;
         this.keyStore = keyStore;
         this.deviceStatusListener = deviceStatusListener;
+        this.tuyaDevice = tuyaDevice;
     }
 
     @Override
@@ -71,6 +73,7 @@ public class TuyaMessageHandler extends ChannelDuplexHandler {
         if (msg instanceof MessageWrapper<?>) {
             MessageWrapper<?> m = (MessageWrapper<?>) msg;
             if (m.commandType == CommandType.DP_QUERY || m.commandType == CommandType.STATUS) {
+                tuyaDevice.getConnectionMetrics().responseReceived();
                 Map<Integer, Object> stateMap = null;
                 if (m.content instanceof TcpStatusPayload) {
                     TcpStatusPayload payload = (TcpStatusPayload) Objects.requireNonNull(m.content);
@@ -81,6 +84,7 @@ public class TuyaMessageHandler extends ChannelDuplexHandler {
                     deviceStatusListener.processDeviceStatus(stateMap);
                 }
             } else if (m.commandType == CommandType.DP_QUERY_NOT_SUPPORTED) {
+                tuyaDevice.getConnectionMetrics().responseReceived();
                 deviceStatusListener.processDeviceStatus(Map.of());
             } else if (m.commandType == CommandType.SESS_KEY_NEG_RESPONSE) {
                 byte[] localKeyHmac = CryptoUtil.hmac(keyStore.getRandom(), keyStore.getDeviceKey());
@@ -109,6 +113,7 @@ public class TuyaMessageHandler extends ChannelDuplexHandler {
                     return;
                 }
                 keyStore.setSessionKey(sessionKey);
+                tuyaDevice.handshakeCompleted();
             }
         }
     }
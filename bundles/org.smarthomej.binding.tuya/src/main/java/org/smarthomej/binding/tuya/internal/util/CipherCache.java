@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.util;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CipherCache} keeps {@link Cipher} and {@link Mac} instances for a single connection. The instances are
+ * only re-initialized if the key changes (e.g. after a session key negotiation).
+ *
+ * Instances of this class are not thread-safe and must only be used from the event loop of the connection.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+public class CipherCache {
+    private final Logger logger = LoggerFactory.getLogger(CipherCache.class);
+
+    private final CachedCipher decryptCipher = new CachedCipher("AES/ECB/NoPadding", Cipher.DECRYPT_MODE);
+    private final CachedCipher encryptCipher = new CachedCipher("AES/ECB/NoPadding", Cipher.ENCRYPT_MODE);
+    private final CachedCipher encryptPaddingCipher = new CachedCipher("AES/ECB/PKCS5Padding", Cipher.ENCRYPT_MODE);
+    private @Nullable Mac mac;
+    private byte[] macKey = new byte[0];
+
+    /**
+     * Decrypt an AES-ECB encoded message
+     *
+     * @param data the message (all remaining bytes are decrypted)
+     * @param key the key as array of bytes
+     * @return the decrypted message as array of bytes (or null if decryption failed)
+     */
+    public byte @Nullable [] decryptAesEcb(ByteBuffer data, byte[] key) {
+        if (!data.hasRemaining()) {
+            return new byte[0];
+        }
+        try {
+            Cipher cipher = decryptCipher.get(key);
+            byte[] decrypted = new byte[cipher.getOutputSize(data.remaining())];
+            int length = cipher.doFinal(data, ByteBuffer.wrap(decrypted));
+            return length == decrypted.length ? decrypted : Arrays.copyOf(decrypted, length);
+        } catch (GeneralSecurityException e) {
+            logger.warn("Decryption of MQ failed: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Encrypt an AES-ECB encoded message
+     *
+     * @param data the message as array of bytes
+     * @param key the key as array of bytes
+     * @param padding add PKCS5 padding
+     * @return the encrypted message as array of bytes (or null if encryption failed)
+     */
+    public byte @Nullable [] encryptAesEcb(byte[] data, byte[] key, boolean padding) {
+        try {
+            return (padding ? encryptPaddingCipher : encryptCipher).get(key).doFinal(data);
+        } catch (GeneralSecurityException e) {
+            logger.warn("Encryption of MQ failed: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Calculate an SHA-256 HMAC
+     *
+     * @param data the data (all remaining bytes are used)
+     * @param key the key as array of bytes
+     * @return the HMAC as array of bytes (or null if the calculation failed)
+     */
+    public byte @Nullable [] hmac(ByteBuffer data, byte[] key) {
+        try {
+            Mac mac = this.mac;
+            if (mac == null) {
+                mac = Mac.getInstance("HmacSHA256");
+                this.mac = mac;
+                macKey = new byte[0];
+            }
+            if (!Arrays.equals(macKey, key)) {
+                mac.init(new SecretKeySpec(key, "HmacSHA256"));
+                macKey = key.clone();
+            }
+            mac.update(data);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            logger.warn("Creating HMAC hash failed: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    private static class CachedCipher {
+        private final String transformation;
+        private final int mode;
+        private @Nullable Cipher cipher;
+        private byte[] key = new byte[0];
+
+        public CachedCipher(String transformation, int mode) {
+            this.transformation = transformation;
+            this.mode = mode;
+        }
+
+        public Cipher get(byte[] key) throws GeneralSecurityException {
+            Cipher cipher = this.cipher;
+            if (cipher == null) {
+                cipher = Cipher.getInstance(transformation);
+                this.cipher = cipher;
+                this.key = new byte[0];
+            }
+            if (!Arrays.equals(this.key, key)) {
+                cipher.init(mode, new SecretKeySpec(key, "AES"));
+                this.key = key.clone();
+            }
+            return cipher;
+        }
+    }
+}
@@ -37,6 +37,8 @@ import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * The {@link CryptoUtil} is a support class for encrypting/decrypting messages
  *
@@ -103,6 +105,24 @@ public class CryptoUtil {
         return ~crc;
     }
 
+    /**
+     * Compute a Tuya compatible checksum
+     *
+     * @param buf a {@link ByteBuf} containing the input data
+     * @param start the start index of the checksum calculation
+     * @param end the end index of the checksum calculation
+     * @return the calculated checksum
+     */
+    public static int calculateChecksum(ByteBuf buf, int start, int end) {
+        int crc = 0xffffffff;
+
+        for (int i = start; i < end; i++) {
+            crc = (crc >>> 8) ^ CRC_32_TABLE[(crc ^ buf.getByte(i)) & 0xff];
+        }
+
+        return ~crc;
+    }
+
     /**
      * Calculate an SHA-256 hash of the input data
      *
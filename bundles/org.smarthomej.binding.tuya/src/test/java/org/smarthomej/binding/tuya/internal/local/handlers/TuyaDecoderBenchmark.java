@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.tuya.internal.local.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+import static org.smarthomej.binding.tuya.internal.local.CommandType.STATUS;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.smarthomej.binding.tuya.internal.local.MessageWrapper;
+import org.smarthomej.binding.tuya.internal.local.ProtocolVersion;
+import org.smarthomej.binding.tuya.internal.local.TuyaDevice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * The {@link TuyaDecoderBenchmark} measures the throughput and allocation per message of the {@link TuyaDecoder}.
+ *
+ * It is only executed if the system property <code>tuya.benchmark</code> is set to <code>true</code>, e.g.
+ * <code>mvn test -Dtest=TuyaDecoderBenchmark -Dtuya.benchmark=true</code>.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+@EnabledIfSystemProperty(named = "tuya.benchmark", matches = "true")
+public class TuyaDecoderBenchmark {
+    private static final int WARMUP_MESSAGES = 20000;
+    private static final int MEASURED_MESSAGES = 200000;
+
+    private final Logger logger = LoggerFactory.getLogger(TuyaDecoderBenchmark.class);
+    private final Gson gson = new Gson();
+    private @Mock @NonNullByDefault({}) ChannelHandlerContext ctx;
+    private @Mock @NonNullByDefault({}) Channel channelMock;
+
+    @ParameterizedTest
+    @EnumSource(value = ProtocolVersion.class, names = { "V3_3", "V3_4" })
+    public void decodeStatusBenchmark(ProtocolVersion version) throws Exception {
+        when(ctx.channel()).thenReturn(channelMock);
+
+        TuyaDevice.KeyStore keyStore = new TuyaDevice.KeyStore("5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8));
+        byte[] frame = createFrame(version, keyStore);
+        TuyaDecoder decoder = new TuyaDecoder(gson, "benchmark", keyStore, version);
+
+        for (int i = 0; i < WARMUP_MESSAGES; i++) {
+            assertNotNull(decoder.decode(ctx, Unpooled.wrappedBuffer(frame)));
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_MESSAGES; i++) {
+            decoder.decode(ctx, Unpooled.wrappedBuffer(frame));
+        }
+        long duration = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        logger.info("Protocol {} ({} bytes/frame): {} messages/s, {} bytes allocated/message", version.getString(),
+                frame.length, Math.round(MEASURED_MESSAGES * 1e9 / duration), allocated / MEASURED_MESSAGES);
+    }
+
+    private byte[] createFrame(ProtocolVersion version, TuyaDevice.KeyStore keyStore) throws Exception {
+        TuyaEncoder encoder = new TuyaEncoder(gson, "benchmark", keyStore, version);
+        ByteBuf out = Unpooled.buffer();
+        encoder.encode(ctx, new MessageWrapper<>(STATUS, Map.of("dps", Map.of(1, true, 2, 500, 3, "white"))), out);
+        return ByteBufUtil.getBytes(out);
+    }
+}
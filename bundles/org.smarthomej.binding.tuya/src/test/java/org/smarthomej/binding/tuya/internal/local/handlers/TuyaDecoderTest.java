@@ -13,14 +13,13 @@
 package org.smarthomej.binding.tuya.internal.local.handlers;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.when;
 import static org.smarthomej.binding.tuya.internal.local.ProtocolVersion.V3_4;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
@@ -33,6 +32,7 @@ import org.smarthomej.binding.tuya.internal.local.TuyaDevice;
 
 import com.google.gson.Gson;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -50,23 +50,41 @@ public class TuyaDecoderTest {
     private @Mock @NonNullByDefault({}) ChannelHandlerContext ctx;
     private @Mock @NonNullByDefault({}) Channel channelMock;
 
+    private static final byte[] PACKET_34 = HexUtils.hexToBytes(
+            "000055aa0000fc6c0000000400000068000000004b578f442ec0802f26ca6794389ce4ebf57f94561e9367569b0ff90afebe08765460b35678102c0a96b666a6f6a3aabf9328e42ea1f29fd0eca40999ab964927c340dba68f847cb840b473c19572f8de9e222de2d5b1793dc7d4888a8b4f11b00000aa55");
+    private static final byte[] EXPECTED_RESULT_34 = HexUtils.hexToBytes(
+            "3965333963353564643232333163336605ca4f27a567a763d0df1ed6c34fa5bb334a604d900cc86b8085eef6acd0193d");
+
     @Test
     public void decode34Test() throws Exception {
         when(ctx.channel()).thenReturn(channelMock);
 
         TuyaDevice.KeyStore keyStore = new TuyaDevice.KeyStore("5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8));
-        byte[] packet = HexUtils.hexToBytes(
-                "000055aa0000fc6c0000000400000068000000004b578f442ec0802f26ca6794389ce4ebf57f94561e9367569b0ff90afebe08765460b35678102c0a96b666a6f6a3aabf9328e42ea1f29fd0eca40999ab964927c340dba68f847cb840b473c19572f8de9e222de2d5b1793dc7d4888a8b4f11b00000aa55");
-        byte[] expectedResult = HexUtils.hexToBytes(
-                "3965333963353564643232333163336605ca4f27a567a763d0df1ed6c34fa5bb334a604d900cc86b8085eef6acd0193d");
+        TuyaDecoder decoder = new TuyaDecoder(gson, "", keyStore, V3_4);
+        MessageWrapper<?> result = (MessageWrapper<?>) Objects
+                .requireNonNull(decoder.decode(ctx, Unpooled.copiedBuffer(PACKET_34)));
 
-        List<Object> out = new ArrayList<>();
+        assertThat(result.content, is(EXPECTED_RESULT_34));
+    }
 
+    @Test
+    public void decode34PartialAndGarbageTest() throws Exception {
+        when(ctx.channel()).thenReturn(channelMock);
+
+        TuyaDevice.KeyStore keyStore = new TuyaDevice.KeyStore("5c8c3ccc1f0fbdbb".getBytes(StandardCharsets.UTF_8));
         TuyaDecoder decoder = new TuyaDecoder(gson, "", keyStore, V3_4);
-        decoder.decode(ctx, Unpooled.copiedBuffer(packet), out);
 
-        assertThat(out, hasSize(1));
-        MessageWrapper<?> result = (MessageWrapper<?>) out.get(0);
-        assertThat(result.content, is(expectedResult));
+        // some garbage and the first half of the frame
+        ByteBuf in = Unpooled.buffer();
+        in.writeBytes(new byte[] { 0x01, 0x02, 0x03 });
+        in.writeBytes(PACKET_34, 0, 50);
+        assertThat(decoder.decode(ctx, in), is(nullValue()));
+
+        // remaining part of the frame
+        in.writeBytes(PACKET_34, 50, PACKET_34.length - 50);
+        MessageWrapper<?> result = (MessageWrapper<?>) Objects.requireNonNull(decoder.decode(ctx, in));
+
+        assertThat(result.content, is(EXPECTED_RESULT_34));
+        assertThat(in.readableBytes(), is(0));
     }
 }
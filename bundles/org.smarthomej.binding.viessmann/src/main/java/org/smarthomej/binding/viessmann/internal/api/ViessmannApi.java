@@ -31,7 +31,6 @@ import org.slf4j.LoggerFactory;
 import org.smarthomej.binding.viessmann.internal.dto.device.DeviceDTO;
 import org.smarthomej.binding.viessmann.internal.dto.error.ViErrorDTO;
 import org.smarthomej.binding.viessmann.internal.dto.events.EventsDTO;
-import org.smarthomej.binding.viessmann.internal.dto.features.FeaturesDTO;
 import org.smarthomej.binding.viessmann.internal.dto.installation.Data;
 import org.smarthomej.binding.viessmann.internal.dto.installation.Gateway;
 import org.smarthomej.binding.viessmann.internal.dto.installation.InstallationDTO;
@@ -40,6 +39,9 @@ import org.smarthomej.binding.viessmann.internal.handler.ViessmannBridgeHandler;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -211,7 +213,16 @@ public class ViessmannApi {
         return GSON.fromJson(response, DeviceDTO.class);
     }
 
-    public @Nullable FeaturesDTO getAllFeatures(String deviceId) throws ViessmannCommunicationException {
+    /**
+     * get all features of a device
+     *
+     * The features are returned as JSON elements, so that the caller can decide which features need to be decoded.
+     *
+     * @param deviceId the device id
+     * @return array of features (or null if no response was received)
+     * @throws ViessmannCommunicationException if the request failed
+     */
+    public @Nullable JsonArray getAllFeatures(String deviceId) throws ViessmannCommunicationException {
         String response = executeGet(VIESSMANN_BASE_URL + "iot/v1/features/installations/" + installationId
                 + "/gateways/" + gatewaySerial + "/devices/" + deviceId + "/features/");
         if (response != null) {
@@ -221,7 +232,8 @@ public class ViessmannApi {
                 response = response.substring(0, i) + "\"errorEntries\"" + response.substring(i + 9, response.length());
                 i = response.indexOf("\"entries\":{\"type\":\"array\",\"value\"");
             }
-            return GSON.fromJson(response, FeaturesDTO.class);
+            JsonElement features = JsonParser.parseString(response).getAsJsonObject().get("data");
+            return features != null && features.isJsonArray() ? features.getAsJsonArray() : new JsonArray();
         }
         return null;
     }
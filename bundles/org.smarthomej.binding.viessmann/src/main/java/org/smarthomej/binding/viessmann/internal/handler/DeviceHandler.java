@@ -21,6 +21,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -57,6 +59,9 @@ import org.smarthomej.binding.viessmann.internal.dto.schedule.ScheduleDTO;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
 /**
  * The {@link DeviceHandler} is responsible for handling DeviceHandler
@@ -70,10 +75,13 @@ public class DeviceHandler extends ViessmannThingHandler {
     private final Logger logger = LoggerFactory.getLogger(DeviceHandler.class);
 
     private static final Gson GSON = new GsonBuilder().setDateFormat("yyyy-MM-dd HH:mm:ss").create();
+    private static final Pattern CIRCUIT_PATTERN = Pattern.compile("(\\.[0-3])");
 
     private ThingsConfig config = new ThingsConfig();
 
     private final Map<String, HeatingCircuit> heatingCircuits = new HashMap<>();
+    private final Map<String, FeatureSnapshot> featureSnapshots = new ConcurrentHashMap<>();
+    private final Map<String, String> featureNames = new ConcurrentHashMap<>();
 
     public DeviceHandler(Thing thing, ViessmannDynamicStateDescriptionProvider stateDescriptionProvider) {
         super(thing, stateDescriptionProvider);
@@ -88,6 +96,7 @@ public class DeviceHandler extends ViessmannThingHandler {
             return;
         }
         updateProperty(PROPERTY_ID, config.deviceId); // set representation property used by discovery
+        featureSnapshots.clear();
 
         initDeviceState();
         logger.trace("Device handler finished initializing");
@@ -98,6 +107,8 @@ public class DeviceHandler extends ViessmannThingHandler {
         Bridge bridge = getBridge();
         ViessmannBridgeHandler bridgeHandler = bridge == null ? null : (ViessmannBridgeHandler) bridge.getHandler();
         if (bridgeHandler != null) {
+            // force a full update of all channels
+            featureSnapshots.clear();
             bridgeHandler.updateFeaturesOfDevice(this);
         }
     }
@@ -219,14 +230,59 @@ public class DeviceHandler extends ViessmannThingHandler {
         logger.trace("handleUpdateChannel: {}", msg);
     }
 
+    /**
+     * Process the features of the device. Only features with changed properties or commands since the last update
+     * are decoded and dispatched.
+     *
+     * @param features the features as returned by the API
+     * @return the number of changed features
+     */
+    public int handleFeatures(JsonArray features) {
+        updateStatus(ThingStatus.ONLINE);
+        int changedFeatures = 0;
+        for (JsonElement element : features) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            JsonObject feature = element.getAsJsonObject();
+            JsonElement featureName = feature.get("feature");
+            if (featureName == null || !featureName.isJsonPrimitive()) {
+                continue;
+            }
+            String name = featureName.getAsString();
+            JsonElement properties = feature.get("properties");
+            FeatureSnapshot snapshot = new FeatureSnapshot(properties, feature.get("commands"));
+            FeatureSnapshot previousSnapshot = featureSnapshots.get(name);
+            // the state of schedules depends on the current time, so they are always processed
+            boolean isSchedule = properties != null && properties.isJsonObject()
+                    && properties.getAsJsonObject().has("entries");
+            boolean changed = previousSnapshot == null || !previousSnapshot.equals(snapshot);
+            if (changed || isSchedule) {
+                FeatureDataDTO featureDataDTO = GSON.fromJson(feature, FeatureDataDTO.class);
+                if (featureDataDTO != null) {
+                    handleUpdate(featureDataDTO);
+                }
+                if (changed) {
+                    changedFeatures++;
+                }
+                // only store the snapshot after the feature has been processed successfully
+                featureSnapshots.put(name, snapshot);
+            }
+        }
+        logger.trace("{} of {} features of device {} changed", changedFeatures, features.size(), config.deviceId);
+        return changedFeatures;
+    }
+
     @Override
     public void handleUpdate(FeatureDataDTO featureDataDTO) {
         updateStatus(ThingStatus.ONLINE);
         ThingMessageDTO msg = new ThingMessageDTO();
         if (featureDataDTO.properties != null) {
+            String featureName = getFeatureName(featureDataDTO.feature);
+            String featureDescription = getFeatureDescription(featureDataDTO.feature);
             msg.setDeviceId(featureDataDTO.deviceId);
             msg.setFeatureClear(featureDataDTO.feature);
-            msg.setFeatureDescription(getFeatureDescription(featureDataDTO.feature));
+            msg.setFeatureDescription(featureDescription);
             FeatureCommands commands = featureDataDTO.commands;
             if (commands != null) {
                 msg.setCommands(commands);
@@ -241,7 +297,7 @@ public class DeviceHandler extends ViessmannThingHandler {
                     String viUnit = "";
                     String unit = null;
                     HeatingCircuit heatingCircuit = new HeatingCircuit();
-                    msg.setFeatureName(getFeatureName(featureDataDTO.feature));
+                    msg.setFeatureName(featureName);
                     msg.setSuffix(entry);
                     switch (entry) {
                         case "value":
@@ -294,7 +350,7 @@ public class DeviceHandler extends ViessmannThingHandler {
                         case "entries":
                             msg.setSuffix("schedule");
                             typeEntry = prop.entries.type;
-                            valueEntry = new Gson().toJson(prop.entries.value);
+                            valueEntry = GSON.toJson(prop.entries.value);
                             break;
                         case "overlapAllowed":
                             typeEntry = prop.overlapAllowed.type;
@@ -435,8 +491,8 @@ public class DeviceHandler extends ViessmannThingHandler {
                             ThingMessageDTO subMsg = new ThingMessageDTO();
                             subMsg.setDeviceId(featureDataDTO.deviceId);
                             subMsg.setFeatureClear(featureDataDTO.feature);
-                            subMsg.setFeatureDescription(getFeatureDescription(featureDataDTO.feature));
-                            subMsg.setFeatureName(getFeatureName(featureDataDTO.feature));
+                            subMsg.setFeatureDescription(featureDescription);
+                            subMsg.setFeatureName(featureName);
                             subMsg.setType(typeEntry);
                             subMsg.setValue(valueEntry);
                             switch (entry) {
@@ -604,19 +660,20 @@ public class DeviceHandler extends ViessmannThingHandler {
     }
 
     private String getFeatureName(String feature) {
-        Pattern pattern = Pattern.compile("(\\.[0-3])");
-        Matcher matcher = pattern.matcher(feature);
-        if (matcher.find()) {
-            String circuit = matcher.group(0);
-            feature = matcher.replaceAll(".N");
-            return FEATURES_MAP.getOrDefault(feature, feature) + " (Circuit: " + circuit.replace(".", "") + ")";
-        }
-        return FEATURES_MAP.getOrDefault(feature, feature);
+        return featureNames.computeIfAbsent(feature, f -> {
+            Matcher matcher = CIRCUIT_PATTERN.matcher(f);
+            if (matcher.find()) {
+                String circuit = matcher.group(0);
+                String genericFeature = matcher.replaceAll(".N");
+                return FEATURES_MAP.getOrDefault(genericFeature, genericFeature) + " (Circuit: "
+                        + circuit.replace(".", "") + ")";
+            }
+            return FEATURES_MAP.getOrDefault(f, f);
+        });
     }
 
     private @Nullable String getFeatureDescription(String feature) {
-        feature.replaceAll("\\.[0-3]", ".N");
-        return FEATURE_DESCRIPTION_MAP.get(feature);
+        return FEATURE_DESCRIPTION_MAP.get(CIRCUIT_PATTERN.matcher(feature).replaceAll(".N"));
     }
 
     private OnOffType parseSchedule(String scheduleJson) {
@@ -853,4 +910,38 @@ public class DeviceHandler extends ViessmannThingHandler {
             }
         }
     }
+
+    /**
+     * The {@link FeatureSnapshot} keeps the properties and commands of a feature for change detection. The hash is
+     * only used as a quick check, the JSON elements are compared if the hashes are equal.
+     */
+    private static class FeatureSnapshot {
+        private final @Nullable JsonElement properties;
+        private final @Nullable JsonElement commands;
+        private final int hash;
+
+        public FeatureSnapshot(@Nullable JsonElement properties, @Nullable JsonElement commands) {
+            this.properties = properties;
+            this.commands = commands;
+            this.hash = Objects.hash(properties, commands);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FeatureSnapshot that = (FeatureSnapshot) o;
+            return hash == that.hash && Objects.equals(properties, that.properties)
+                    && Objects.equals(commands, that.commands);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2021-2023 Contributors to the SmartHome/J project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.smarthomej.binding.viessmann.internal.handler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PollingPlanner} distributes the remaining API calls of the day over the devices.
+ *
+ * Devices with changing features are polled at the base interval. The interval of devices without changes is doubled
+ * with every unchanged poll (up to {@link #MAX_BACKOFF} times). The base interval is calculated from the remaining
+ * API calls and the time until the API call limit is reset.
+ *
+ * @author Ronny Grun - Initial contribution
+ */
+@NonNullByDefault
+public class PollingPlanner {
+    private static final int MAX_BACKOFF = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(PollingPlanner.class);
+
+    private final Map<String, DeviceSchedule> schedules = new HashMap<>();
+    private final long minInterval;
+
+    /**
+     * create a new planner
+     *
+     * @param minInterval the minimum time between two polls of a device in s
+     */
+    public PollingPlanner(long minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * get the devices that need to be polled now
+     *
+     * @param deviceIds the ids of all devices that can be polled
+     * @param now the current time
+     * @param remainingApiCalls the number of API calls that can be used for polling until the limit is reset
+     * @param resetTime the time the API call limit is reset
+     * @return list of device ids that are due
+     */
+    public synchronized List<String> getDueDevices(Collection<String> deviceIds, Instant now, int remainingApiCalls,
+            Instant resetTime) {
+        schedules.keySet().retainAll(deviceIds);
+
+        double weightSum = 0;
+        for (String deviceId : deviceIds) {
+            weightSum += 1.0 / (1 << schedules.computeIfAbsent(deviceId, id -> new DeviceSchedule()).backoff);
+        }
+
+        long secondsLeft = Math.max(1, resetTime.getEpochSecond() - now.getEpochSecond());
+        long baseInterval;
+        if (remainingApiCalls > 0) {
+            // sum over all devices of (1 / interval) must not exceed the available call rate
+            baseInterval = Math.max(minInterval, (long) Math.ceil(weightSum * secondsLeft / remainingApiCalls));
+        } else {
+            baseInterval = secondsLeft;
+        }
+
+        List<String> dueDevices = new ArrayList<>();
+        for (String deviceId : deviceIds) {
+            DeviceSchedule schedule = schedules.get(deviceId);
+            if (schedule == null) {
+                continue;
+            }
+            schedule.baseInterval = baseInterval;
+            if (remainingApiCalls <= 0 && schedule.nextPoll.isBefore(resetTime)) {
+                // no budget left, wait for the reset
+                schedule.nextPoll = resetTime;
+                logger.debug("API call budget exhausted, next poll of device {} at {}", deviceId, resetTime);
+            } else if (!schedule.nextPoll.isAfter(now)) {
+                dueDevices.add(deviceId);
+            }
+        }
+        return dueDevices;
+    }
+
+    /**
+     * report the result of a poll
+     *
+     * @param deviceId the device id
+     * @param now the current time
+     * @param changed if any feature of the device changed since the last poll
+     */
+    public synchronized void pollCompleted(String deviceId, Instant now, boolean changed) {
+        DeviceSchedule schedule = schedules.computeIfAbsent(deviceId, id -> new DeviceSchedule());
+        schedule.backoff = changed ? 0 : Math.min(MAX_BACKOFF, schedule.backoff + 1);
+        long interval = schedule.baseInterval << schedule.backoff;
+        schedule.nextPoll = now.plusSeconds(interval);
+        logger.trace("Device {} polled (backoff level {}), next poll in {}s", deviceId, schedule.backoff, interval);
+    }
+
+    /**
+     * report a failed poll (the device is retried after the base interval)
+     *
+     * @param deviceId the device id
+     * @param now the current time
+     */
+    public synchronized void pollFailed(String deviceId, Instant now) {
+        DeviceSchedule schedule = schedules.computeIfAbsent(deviceId, id -> new DeviceSchedule());
+        schedule.nextPoll = now.plusSeconds(schedule.baseInterval);
+    }
+
+    private class DeviceSchedule {
+        private Instant nextPoll = Instant.MIN;
+        private long baseInterval = minInterval;
+        private int backoff = 0;
+    }
+}
@@ -15,14 +15,18 @@ package org.smarthomej.binding.viessmann.internal.handler;
 import static org.smarthomej.binding.viessmann.internal.ViessmannBindingConstants.*;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -50,10 +54,9 @@ import org.smarthomej.binding.viessmann.internal.config.BridgeConfiguration;
 import org.smarthomej.binding.viessmann.internal.dto.device.DeviceDTO;
 import org.smarthomej.binding.viessmann.internal.dto.device.DeviceData;
 import org.smarthomej.binding.viessmann.internal.dto.events.EventsDTO;
-import org.smarthomej.binding.viessmann.internal.dto.features.FeatureDataDTO;
-import org.smarthomej.binding.viessmann.internal.dto.features.FeaturesDTO;
 import org.smarthomej.commons.UpdatingBaseBridgeHandler;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonSyntaxException;
 
 /**
@@ -69,6 +72,10 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
 
     private static final Set<String> ERROR_CHANNELS = Set.of("lastErrorMessage", "errorIsActive");
     private static final String STORED_API_CALLS = "apiCalls";
+    private static final String STORED_API_CALLS_DATE = "apiCallsDate";
+    private static final int STORE_API_CALLS_INTERVAL = 10;
+    private static final int POLLING_CHECK_INTERVAL = 10; // in s
+    private static final int MIN_POLLING_INTERVAL = 60; // in s
 
     private final HttpClient httpClient;
     private final @Nullable String callbackUrl;
@@ -78,7 +85,9 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
     protected @Nullable ViessmannDiscoveryService discoveryService;
 
     private int apiCalls;
+    private int storedApiCalls;
     private boolean countReset = true;
+    private PollingPlanner pollingPlanner = new PollingPlanner(MIN_POLLING_INTERVAL);
 
     private @Nullable String newInstallationId;
     private @Nullable String newGatewaySerial;
@@ -146,6 +155,7 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
         stopViessmannBridgePolling();
         stopViessmannErrorsPolling();
         stopViessmannBridgeLimitReset();
+        storeApiCalls();
     }
 
     @Override
@@ -159,12 +169,9 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
 
         BridgeConfiguration config = getConfigAs(BridgeConfiguration.class);
         this.config = config;
-        String storedApiCalls = this.stateStorage.get(STORED_API_CALLS);
-        if (storedApiCalls != null) {
-            apiCalls = Integer.parseInt(storedApiCalls);
-        } else {
-            apiCalls = 0;
-        }
+        apiCalls = restoreApiCalls();
+        storedApiCalls = apiCalls;
+        pollingPlanner = new PollingPlanner(Math.max(MIN_POLLING_INTERVAL, config.pollingInterval));
         newInstallationId = "";
         newGatewaySerial = "";
         api = new ViessmannApi(this, this.config.apiKey, httpClient, this.config.user, this.config.password,
@@ -180,7 +187,7 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
         getAllDevices();
         if (!devicesList.isEmpty()) {
             updateBridgeStatus(ThingStatus.ONLINE);
-            startViessmannBridgePolling(getPollingInterval(), 1);
+            startViessmannBridgePolling(1);
         }
     }
 
@@ -240,45 +247,101 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
         return false;
     }
 
-    private Integer getPollingInterval() {
-        if (this.config.pollingInterval > 0) {
-            return this.config.pollingInterval;
-        } else {
-            int errorApiCalls = 0;
-            if (errorChannelsLinked()) {
-                errorApiCalls = 1440 / this.config.pollingIntervalErrors;
+    /**
+     * get the number of API calls that can be used for polling the devices until the limit is reset
+     *
+     * @param resetTime the time the API call limit is reset
+     * @return the number of API calls
+     */
+    private int getRemainingPollingApiCalls(Instant resetTime) {
+        int errorApiCalls = 0;
+        if (viessmannErrorsPollingJob != null) {
+            long secondsLeft = Math.max(0, resetTime.getEpochSecond() - Instant.now().getEpochSecond());
+            errorApiCalls = (int) (secondsLeft / (60L * Math.max(1, config.pollingIntervalErrors))) + 1;
+        }
+        return config.apiCallLimit - config.bufferApiCommands - errorApiCalls - apiCalls;
+    }
+
+    private Instant getApiCallLimitResetTime() {
+        return LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    private int restoreApiCalls() {
+        String storedApiCalls = stateStorage.get(STORED_API_CALLS);
+        String storedApiCallsDate = stateStorage.get(STORED_API_CALLS_DATE);
+        if (storedApiCalls != null) {
+            try {
+                if (storedApiCallsDate == null || LocalDate.now().equals(LocalDate.parse(storedApiCallsDate))) {
+                    return Integer.parseInt(storedApiCalls);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                logger.debug("Could not restore API call count: {}", e.getMessage());
             }
-            return (86400 / (this.config.apiCallLimit - this.config.bufferApiCommands - errorApiCalls)
-                    * devicesList.size()) + 1;
         }
+        return 0;
     }
 
-    private void countApiCalls() {
+    private synchronized void storeApiCalls() {
+        if (apiCalls != storedApiCalls) {
+            stateStorage.put(STORED_API_CALLS, String.valueOf(apiCalls));
+            stateStorage.put(STORED_API_CALLS_DATE, LocalDate.now().toString());
+            storedApiCalls = apiCalls;
+        }
+    }
+
+    private synchronized void countApiCalls() {
         apiCalls++;
-        String apiCallsAsString = String.valueOf(apiCalls);
-        stateStorage.put(STORED_API_CALLS, apiCallsAsString);
-        updateState(COUNT_API_CALLS, DecimalType.valueOf(apiCallsAsString));
+        // the counter is only persisted in batches to reduce storage writes
+        if (apiCalls - storedApiCalls >= STORE_API_CALLS_INTERVAL) {
+            storeApiCalls();
+        }
+        updateState(COUNT_API_CALLS, new DecimalType(apiCalls));
     }
 
-    private void checkResetApiCalls() {
+    private synchronized void checkResetApiCalls() {
         LocalTime time = LocalTime.now();
         if (time.isAfter(LocalTime.of(0, 0, 1)) && (time.isBefore(LocalTime.of(1, 0, 0)))) {
             if (countReset) {
                 logger.debug("Resetting API call counts");
                 apiCalls = 0;
                 countReset = false;
+                storeApiCalls();
+                updateState(COUNT_API_CALLS, new DecimalType(apiCalls));
             }
         } else {
             countReset = true;
         }
     }
 
-    private void pollingFeatures() {
-        List<Thing> children = getThing().getThings().stream().filter(Thing::isEnabled).collect(Collectors.toList());
-        for (Thing child : children) {
+    private Map<String, DeviceHandler> getDeviceHandlers() {
+        Map<String, DeviceHandler> deviceHandlers = new HashMap<>();
+        for (Thing child : getThing().getThings()) {
             ThingHandler childHandler = child.getHandler();
-            if (childHandler instanceof DeviceHandler && ThingHandlerHelper.isHandlerInitialized(childHandler)) {
-                updateFeaturesOfDevice((DeviceHandler) childHandler);
+            if (child.isEnabled() && childHandler instanceof DeviceHandler
+                    && ThingHandlerHelper.isHandlerInitialized(childHandler)) {
+                DeviceHandler deviceHandler = (DeviceHandler) childHandler;
+                deviceHandlers.put(deviceHandler.getDeviceId(), deviceHandler);
+            }
+        }
+        return deviceHandlers;
+    }
+
+    private void pollingFeatures() {
+        getDeviceHandlers().values().forEach(this::updateFeaturesOfDevice);
+    }
+
+    private void pollDueDevices() {
+        Map<String, DeviceHandler> deviceHandlers = getDeviceHandlers();
+        Instant resetTime = getApiCallLimitResetTime();
+        List<String> dueDevices = pollingPlanner.getDueDevices(deviceHandlers.keySet(), Instant.now(),
+                getRemainingPollingApiCalls(resetTime), resetTime);
+        if (!dueDevices.isEmpty()) {
+            api.checkExpiringToken();
+            for (String deviceId : dueDevices) {
+                DeviceHandler handler = deviceHandlers.get(deviceId);
+                if (handler != null) {
+                    updateFeaturesOfDevice(handler);
+                }
             }
         }
     }
@@ -287,52 +350,47 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
         String deviceId = handler.getDeviceId();
         logger.debug("Loading features from Device ID: {}", deviceId);
         try {
-            FeaturesDTO allFeatures = api.getAllFeatures(deviceId);
+            JsonArray allFeatures = api.getAllFeatures(deviceId);
             countApiCalls();
+            int changedFeatures = 0;
             if (allFeatures != null) {
-                List<FeatureDataDTO> featuresData = allFeatures.data;
-                if (featuresData != null && !featuresData.isEmpty()) {
-                    for (FeatureDataDTO featureDataDTO : featuresData) {
-                        handler.handleUpdate(featureDataDTO);
-                    }
+                if (allFeatures.size() > 0) {
+                    changedFeatures = handler.handleFeatures(allFeatures);
                 } else {
                     logger.warn("Features of Device ID {} is empty.", deviceId);
                 }
             }
+            pollingPlanner.pollCompleted(deviceId, Instant.now(), changedFeatures > 0);
         } catch (ViessmannCommunicationException e) {
+            pollingPlanner.pollFailed(deviceId, Instant.now());
             handler.updateThingStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                     "Device not reachable");
         } catch (JsonSyntaxException | IllegalStateException e) {
+            pollingPlanner.pollFailed(deviceId, Instant.now());
             logger.warn("Parsing Viessmann response fails: {}", e.getMessage());
         }
     }
 
-    private void startViessmannBridgePolling(Integer pollingIntervalS, Integer initialDelay) {
+    private void startViessmannBridgePolling(Integer initialDelay) {
         ScheduledFuture<?> currentPollingJob = viessmannBridgePollingJob;
         if (currentPollingJob == null) {
             viessmannBridgePollingJob = scheduler.scheduleWithFixedDelay(() -> {
-                api.checkExpiringToken();
                 checkResetApiCalls();
                 if (!config.disablePolling) {
-                    logger.debug("Refresh job scheduled to run every {} seconds for '{}'", pollingIntervalS,
-                            getThing().getUID());
-                    pollingFeatures();
+                    pollDueDevices();
                 }
-            }, initialDelay, pollingIntervalS, TimeUnit.SECONDS);
+            }, initialDelay, POLLING_CHECK_INTERVAL, TimeUnit.SECONDS);
         }
     }
 
     protected synchronized void manageErrorPolling() {
+        // the polling planner considers the API calls needed for error polling automatically
         ScheduledFuture<?> errorPollingJob = viessmannErrorsPollingJob;
         if (errorChannelsLinked() && errorPollingJob == null) {
-            stopViessmannBridgePolling();
-            startViessmannBridgePolling(getPollingInterval(), getPollingInterval());
             startViessmannErrorsPolling(config.pollingIntervalErrors);
         } else {
             if (!errorChannelsLinked() && errorPollingJob != null) {
                 stopViessmannErrorsPolling();
-                stopViessmannBridgePolling();
-                startViessmannBridgePolling(getPollingInterval(), getPollingInterval());
             }
         }
     }
@@ -357,7 +415,7 @@ public class ViessmannBridgeHandler extends UpdatingBaseBridgeHandler {
                 getAllDevices();
                 if (!devicesList.isEmpty()) {
                     updateBridgeStatus(ThingStatus.ONLINE);
-                    startViessmannBridgePolling(getPollingInterval(), 1);
+                    startViessmannBridgePolling(1);
                     stopViessmannBridgeLimitReset();
                 }
             }, delay, 120, TimeUnit.SECONDS);
@@ -13,11 +13,14 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
+import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
@@ -34,6 +37,16 @@ import org.smarthomej.commons.transform.ValueTransformation;
  */
 @NonNullByDefault
 public abstract class AbstractTransformingItemConverter implements ItemValueConverter {
+    private static final PercentType[] PERCENT_TYPES = new PercentType[101];
+
+    static {
+        for (int i = 0; i < PERCENT_TYPES.length; i++) {
+            PERCENT_TYPES[i] = new PercentType(i);
+        }
+        PERCENT_TYPES[0] = PercentType.ZERO;
+        PERCENT_TYPES[100] = PercentType.HUNDRED;
+    }
+
     private final Consumer<State> updateState;
     private final Consumer<Command> postCommand;
     private final @Nullable Consumer<String> sendValue;
@@ -107,6 +120,71 @@ public abstract class AbstractTransformingItemConverter implements ItemValueConv
      */
     protected abstract String toString(Command command);
 
+    /**
+     * add a fixed value to a lookup map (if it is configured and not already mapped to another command)
+     *
+     * the order in which the values are added defines the precedence if the same value is configured for more than
+     * one command
+     *
+     * @param map the lookup map
+     * @param value the configured value (may be null)
+     * @param command the command this value represents
+     */
+    protected static void addFixedValue(Map<String, Command> map, @Nullable String value, Command command) {
+        if (value != null) {
+            map.putIfAbsent(value, command);
+        }
+    }
+
+    /**
+     * parse a value to a {@link PercentType}, values out of range are limited to 0 or 100
+     *
+     * plain integer values are parsed without allocation and return shared instances
+     *
+     * @param value the value
+     * @return the {@link PercentType} or null if the value is not a number
+     */
+    protected static @Nullable PercentType parsePercentType(String value) {
+        int length = value.length();
+        if (length > 0 && length < 10) {
+            int intValue = 0;
+            int i = 0;
+            while (i < length) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                intValue = intValue * 10 + (c - '0');
+                i++;
+            }
+            if (i == length) {
+                return PERCENT_TYPES[Math.min(intValue, 100)];
+            }
+        }
+        try {
+            return toPercentType(new BigDecimal(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * convert a number to a {@link PercentType}, values out of range are limited to 0 or 100
+     *
+     * @param value the value
+     * @return the {@link PercentType} (shared instance for integer values)
+     */
+    protected static PercentType toPercentType(BigDecimal value) {
+        if (value.compareTo(PercentType.HUNDRED.toBigDecimal()) > 0) {
+            return PercentType.HUNDRED;
+        } else if (value.compareTo(PercentType.ZERO.toBigDecimal()) < 0) {
+            return PercentType.ZERO;
+        } else if (value.scale() == 0) {
+            return PERCENT_TYPES[value.intValue()];
+        }
+        return new PercentType(value);
+    }
+
     @FunctionalInterface
     public interface Factory {
         ItemValueConverter create(Consumer<State> updateState, Consumer<Command> postCommand,
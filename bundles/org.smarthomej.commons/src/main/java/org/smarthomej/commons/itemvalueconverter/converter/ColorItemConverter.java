@@ -14,6 +14,8 @@
 package org.smarthomej.commons.itemvalueconverter.converter;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -22,6 +24,8 @@ import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
@@ -38,15 +42,21 @@ import org.smarthomej.commons.transform.ValueTransformation;
 @NonNullByDefault
 public class ColorItemConverter extends AbstractTransformingItemConverter {
     private static final BigDecimal BYTE_FACTOR = BigDecimal.valueOf(2.55);
-    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
     private static final Pattern TRIPLE_MATCHER = Pattern.compile("(?<r>\\d+),(?<g>\\d+),(?<b>\\d+)");
 
+    private final Map<String, Command> fixedValues = new HashMap<>();
+
     private State state = UnDefType.UNDEF;
 
     public ColorItemConverter(Consumer<State> updateState, Consumer<Command> postCommand,
             @Nullable Consumer<String> sendValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, ItemValueConverterChannelConfig channelConfig) {
         super(updateState, postCommand, sendValue, stateTransformations, commandTransformations, channelConfig);
+
+        addFixedValue(fixedValues, channelConfig.onValue, OnOffType.ON);
+        addFixedValue(fixedValues, channelConfig.offValue, OnOffType.OFF);
+        addFixedValue(fixedValues, channelConfig.increaseValue, IncreaseDecreaseType.INCREASE);
+        addFixedValue(fixedValues, channelConfig.decreaseValue, IncreaseDecreaseType.DECREASE);
     }
 
     @Override
@@ -78,33 +88,29 @@ public class ColorItemConverter extends AbstractTransformingItemConverter {
     @Override
     public Optional<State> toState(String string) {
         State newState = UnDefType.UNDEF;
-        if (string.equals(channelConfig.onValue)) {
+        Command command = fixedValues.get(string);
+
+        if (command == OnOffType.ON) {
             if (state instanceof HSBType) {
                 newState = new HSBType(((HSBType) state).getHue(), ((HSBType) state).getSaturation(),
                         PercentType.HUNDRED);
             } else {
                 newState = HSBType.WHITE;
             }
-        } else if (string.equals(channelConfig.offValue)) {
+        } else if (command == OnOffType.OFF) {
             if (state instanceof HSBType) {
                 newState = new HSBType(((HSBType) state).getHue(), ((HSBType) state).getSaturation(), PercentType.ZERO);
             } else {
                 newState = HSBType.BLACK;
             }
-        } else if (string.equals(channelConfig.increaseValue) && state instanceof HSBType) {
+        } else if (command == IncreaseDecreaseType.INCREASE && state instanceof HSBType) {
             BigDecimal newBrightness = ((HSBType) state).getBrightness().toBigDecimal().add(channelConfig.step);
-            if (HUNDRED.compareTo(newBrightness) < 0) {
-                newBrightness = HUNDRED;
-            }
             newState = new HSBType(((HSBType) state).getHue(), ((HSBType) state).getSaturation(),
-                    new PercentType(newBrightness));
-        } else if (string.equals(channelConfig.decreaseValue) && state instanceof HSBType) {
+                    toPercentType(newBrightness));
+        } else if (command == IncreaseDecreaseType.DECREASE && state instanceof HSBType) {
             BigDecimal newBrightness = ((HSBType) state).getBrightness().toBigDecimal().subtract(channelConfig.step);
-            if (BigDecimal.ZERO.compareTo(newBrightness) > 0) {
-                newBrightness = BigDecimal.ZERO;
-            }
             newState = new HSBType(((HSBType) state).getHue(), ((HSBType) state).getSaturation(),
-                    new PercentType(newBrightness));
+                    toPercentType(newBrightness));
         } else {
             Matcher matcher = TRIPLE_MATCHER.matcher(string);
             if (matcher.matches()) {
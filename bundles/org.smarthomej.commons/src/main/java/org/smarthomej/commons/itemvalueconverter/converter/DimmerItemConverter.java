@@ -13,12 +13,15 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
@@ -34,7 +37,7 @@ import org.smarthomej.commons.transform.ValueTransformation;
 
 @NonNullByDefault
 public class DimmerItemConverter extends AbstractTransformingItemConverter {
-    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private final Map<String, Command> fixedValues = new HashMap<>();
 
     private State state = UnDefType.UNDEF;
 
@@ -42,6 +45,11 @@ public class DimmerItemConverter extends AbstractTransformingItemConverter {
             @Nullable Consumer<String> sendValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, ItemValueConverterChannelConfig channelConfig) {
         super(updateState, postCommand, sendValue, stateTransformations, commandTransformations, channelConfig);
+
+        addFixedValue(fixedValues, channelConfig.onValue, OnOffType.ON);
+        addFixedValue(fixedValues, channelConfig.offValue, OnOffType.OFF);
+        addFixedValue(fixedValues, channelConfig.increaseValue, IncreaseDecreaseType.INCREASE);
+        addFixedValue(fixedValues, channelConfig.decreaseValue, IncreaseDecreaseType.DECREASE);
     }
 
     @Override
@@ -66,35 +74,20 @@ public class DimmerItemConverter extends AbstractTransformingItemConverter {
     @Override
     public Optional<State> toState(String string) {
         State newState = UnDefType.UNDEF;
+        Command command = fixedValues.get(string);
 
-        if (string.equals(channelConfig.onValue)) {
+        if (command == OnOffType.ON) {
             newState = PercentType.HUNDRED;
-        } else if (string.equals(channelConfig.offValue)) {
+        } else if (command == OnOffType.OFF) {
             newState = PercentType.ZERO;
-        } else if (string.equals(channelConfig.increaseValue) && state instanceof PercentType) {
-            BigDecimal newBrightness = ((PercentType) state).toBigDecimal().add(channelConfig.step);
-            if (HUNDRED.compareTo(newBrightness) < 0) {
-                newBrightness = HUNDRED;
-            }
-            newState = new PercentType(newBrightness);
-        } else if (string.equals(channelConfig.decreaseValue) && state instanceof PercentType) {
-            BigDecimal newBrightness = ((PercentType) state).toBigDecimal().subtract(channelConfig.step);
-            if (BigDecimal.ZERO.compareTo(newBrightness) > 0) {
-                newBrightness = BigDecimal.ZERO;
-            }
-            newState = new PercentType(newBrightness);
+        } else if (command == IncreaseDecreaseType.INCREASE && state instanceof PercentType) {
+            newState = toPercentType(((PercentType) state).toBigDecimal().add(channelConfig.step));
+        } else if (command == IncreaseDecreaseType.DECREASE && state instanceof PercentType) {
+            newState = toPercentType(((PercentType) state).toBigDecimal().subtract(channelConfig.step));
         } else {
-            try {
-                BigDecimal value = new BigDecimal(string);
-                if (value.compareTo(PercentType.HUNDRED.toBigDecimal()) > 0) {
-                    value = PercentType.HUNDRED.toBigDecimal();
-                }
-                if (value.compareTo(PercentType.ZERO.toBigDecimal()) < 0) {
-                    value = PercentType.ZERO.toBigDecimal();
-                }
-                newState = new PercentType(value);
-            } catch (NumberFormatException e) {
-                // ignore
+            PercentType value = parsePercentType(string);
+            if (value != null) {
+                newState = value;
             }
         }
 
@@ -13,6 +13,8 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -33,11 +35,29 @@ import org.smarthomej.commons.transform.ValueTransformation;
 
 @NonNullByDefault
 public class FixedValueMappingItemConverter extends AbstractTransformingItemConverter {
+    private static final Optional<State> UNDEF = Optional.of(UnDefType.UNDEF);
+
+    private final Map<String, Optional<State>> fixedValues = new HashMap<>();
 
     public FixedValueMappingItemConverter(Consumer<State> updateState, Consumer<Command> postCommand,
             @Nullable Consumer<String> sendValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, ItemValueConverterChannelConfig channelConfig) {
         super(updateState, postCommand, sendValue, stateTransformations, commandTransformations, channelConfig);
+
+        addMapping(channelConfig.onValue);
+        addMapping(channelConfig.offValue);
+        addMapping(channelConfig.openValue);
+        addMapping(channelConfig.closedValue);
+        addMapping(channelConfig.upValue);
+        addMapping(channelConfig.downValue);
+    }
+
+    private void addMapping(@Nullable String value) {
+        if (value != null) {
+            @Nullable
+            State state = channelConfig.fixedValueToState(value);
+            fixedValues.put(value, Optional.of(Objects.requireNonNullElse(state, UnDefType.UNDEF)));
+        }
     }
 
     @Override
@@ -58,8 +78,6 @@ public class FixedValueMappingItemConverter extends AbstractTransformingItemConv
 
     @Override
     public Optional<State> toState(String string) {
-        State state = channelConfig.fixedValueToState(string);
-
-        return Optional.of(Objects.requireNonNullElse(state, UnDefType.UNDEF));
+        return Objects.requireNonNullElse(fixedValues.get(string), UNDEF);
     }
 }
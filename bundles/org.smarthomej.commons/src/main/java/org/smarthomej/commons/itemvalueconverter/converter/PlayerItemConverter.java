@@ -13,6 +13,8 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -35,12 +37,20 @@ import org.smarthomej.commons.transform.ValueTransformation;
 
 @NonNullByDefault
 public class PlayerItemConverter extends AbstractTransformingItemConverter {
+    private final Map<String, Command> fixedValues = new HashMap<>();
     private @Nullable String lastCommand; // store last command to prevent duplicate commands
 
     public PlayerItemConverter(Consumer<State> updateState, Consumer<Command> postCommand,
             @Nullable Consumer<String> sendValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, ItemValueConverterChannelConfig channelConfig) {
         super(updateState, postCommand, sendValue, stateTransformations, commandTransformations, channelConfig);
+
+        addFixedValue(fixedValues, channelConfig.playValue, PlayPauseType.PLAY);
+        addFixedValue(fixedValues, channelConfig.pauseValue, PlayPauseType.PAUSE);
+        addFixedValue(fixedValues, channelConfig.nextValue, NextPreviousType.NEXT);
+        addFixedValue(fixedValues, channelConfig.previousValue, NextPreviousType.PREVIOUS);
+        addFixedValue(fixedValues, channelConfig.rewindValue, RewindFastforwardType.REWIND);
+        addFixedValue(fixedValues, channelConfig.fastforwardValue, RewindFastforwardType.FASTFORWARD);
     }
 
     @Override
@@ -61,21 +71,7 @@ public class PlayerItemConverter extends AbstractTransformingItemConverter {
         }
         lastCommand = string;
 
-        if (string.equals(channelConfig.playValue)) {
-            return PlayPauseType.PLAY;
-        } else if (string.equals(channelConfig.pauseValue)) {
-            return PlayPauseType.PAUSE;
-        } else if (string.equals(channelConfig.nextValue)) {
-            return NextPreviousType.NEXT;
-        } else if (string.equals(channelConfig.previousValue)) {
-            return NextPreviousType.PREVIOUS;
-        } else if (string.equals(channelConfig.rewindValue)) {
-            return RewindFastforwardType.REWIND;
-        } else if (string.equals(channelConfig.fastforwardValue)) {
-            return RewindFastforwardType.FASTFORWARD;
-        }
-
-        return null;
+        return fixedValues.get(string);
     }
 
     @Override
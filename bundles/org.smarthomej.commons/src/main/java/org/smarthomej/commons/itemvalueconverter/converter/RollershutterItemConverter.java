@@ -13,7 +13,8 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -37,11 +38,17 @@ import org.smarthomej.commons.transform.ValueTransformation;
 
 @NonNullByDefault
 public class RollershutterItemConverter extends AbstractTransformingItemConverter {
+    private final Map<String, Command> fixedValues = new HashMap<>();
 
     public RollershutterItemConverter(Consumer<State> updateState, Consumer<Command> postCommand,
             @Nullable Consumer<String> sendValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, ItemValueConverterChannelConfig channelConfig) {
         super(updateState, postCommand, sendValue, stateTransformations, commandTransformations, channelConfig);
+
+        addFixedValue(fixedValues, channelConfig.upValue, UpDownType.UP);
+        addFixedValue(fixedValues, channelConfig.downValue, UpDownType.DOWN);
+        addFixedValue(fixedValues, channelConfig.moveValue, StopMoveType.MOVE);
+        addFixedValue(fixedValues, channelConfig.stopValue, StopMoveType.STOP);
     }
 
     @Override
@@ -68,34 +75,13 @@ public class RollershutterItemConverter extends AbstractTransformingItemConverte
 
     @Override
     protected @Nullable Command toCommand(String string) {
-        if (string.equals(channelConfig.upValue)) {
-            return UpDownType.UP;
-        } else if (string.equals(channelConfig.downValue)) {
-            return UpDownType.DOWN;
-        } else if (string.equals(channelConfig.moveValue)) {
-            return StopMoveType.MOVE;
-        } else if (string.equals(channelConfig.stopValue)) {
-            return StopMoveType.STOP;
-        }
-
-        return null;
+        return fixedValues.get(string);
     }
 
     @Override
     public Optional<State> toState(String string) {
-        State newState = UnDefType.UNDEF;
-        try {
-            BigDecimal value = new BigDecimal(string);
-            if (value.compareTo(PercentType.HUNDRED.toBigDecimal()) > 0) {
-                value = PercentType.HUNDRED.toBigDecimal();
-            }
-            if (value.compareTo(PercentType.ZERO.toBigDecimal()) < 0) {
-                value = PercentType.ZERO.toBigDecimal();
-            }
-            newState = new PercentType(value);
-        } catch (NumberFormatException e) {
-            // ignore
-        }
+        PercentType value = parsePercentType(string);
+        State newState = value != null ? value : UnDefType.UNDEF;
 
         return Optional.of(newState);
     }
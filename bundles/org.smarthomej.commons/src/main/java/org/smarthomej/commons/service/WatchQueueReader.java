@@ -45,10 +45,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -69,6 +71,10 @@ import org.slf4j.LoggerFactory;
 public class WatchQueueReader implements Runnable {
     private static final String THREAD_POOL_NAME = "file-processing";
     private static final int PROCESSING_DELAY = 1000; // ms
+    // modification times closer than this to the last check are not trusted, the file may still be written
+    // must be smaller than PROCESSING_DELAY, otherwise the check after a modification event never trusts them
+    private static final long MODIFICATION_TIME_RESOLUTION = 500; // ms
+    private static final int HASH_BUFFER_SIZE = 65536;
 
     protected final Logger logger = LoggerFactory.getLogger(WatchQueueReader.class);
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
@@ -77,8 +83,12 @@ public class WatchQueueReader implements Runnable {
 
     private final Map<WatchKey, Path> registeredKeys = new HashMap<>();
     private final Map<WatchKey, Set<AbstractWatchService>> keyToService = new HashMap<>();
-    private final Map<AbstractWatchService, Map<Path, byte[]>> hashes = new HashMap<>();
-    private final List<Notification> notifications = new CopyOnWriteArrayList<>();
+    private final Map<AbstractWatchService, Map<Path, FileState>> fileStates = new ConcurrentHashMap<>();
+    private final Map<NotificationKey, Notification> notifications = new ConcurrentHashMap<>();
+    // the last event processing task of each service, events of the same service are processed in order
+    private final Map<AbstractWatchService, CompletableFuture<?>> serviceQueues = new ConcurrentHashMap<>();
+
+    private final AtomicLong hashCount = new AtomicLong();
 
     private @Nullable Thread qr;
 
@@ -109,6 +119,11 @@ public class WatchQueueReader implements Runnable {
         return watchService;
     }
 
+    // used for testing to check if the content of a file was hashed
+    long getHashCount() {
+        return hashCount.get();
+    }
+
     /**
      * Customize the queue reader to process the watch events for the given directory, provided by the watch service
      *
@@ -200,12 +215,14 @@ public class WatchQueueReader implements Runnable {
                 keysToRemove.add(entry.getKey());
             }
         }
-        for (Notification notification : notifications) {
-            if (notification.service.equals(service)) {
-                notification.future.cancel(true);
-                notifications.remove(notification);
+        notifications.values().removeIf(notification -> {
+            if (notification.key.service.equals(service)) {
+                notification.cancel();
+                return true;
             }
-        }
+            return false;
+        });
+        serviceQueues.remove(service);
         if (keysToRemove.size() == keyToService.size()) {
             try {
                 WatchService watchService = this.watchService;
@@ -225,15 +242,15 @@ public class WatchQueueReader implements Runnable {
             }
             keyToService.clear();
             registeredKeys.clear();
-            hashes.clear();
-            notifications.forEach(notification -> notification.future.cancel(true));
+            fileStates.clear();
+            notifications.values().forEach(Notification::cancel);
             notifications.clear();
         } else {
             for (WatchKey key : keysToRemove) {
                 key.cancel();
                 keyToService.remove(key);
                 registeredKeys.remove(key);
-                hashes.remove(service);
+                fileStates.remove(service);
             }
         }
     }
@@ -275,7 +292,8 @@ public class WatchQueueReader implements Runnable {
                                 if (kind == ENTRY_MODIFY) {
                                     processModificationEvent(key, event, resolvedPath, services);
                                 } else {
-                                    services.forEach(s -> s.processWatchEvent(event, kind, resolvedPath));
+                                    services.forEach(s -> dispatch(s, () -> s.processWatchEvent(event, kind,
+                                            resolvedPath)));
                                 }
                             }
                             if (kind == ENTRY_CREATE && f.isDirectory()) {
@@ -302,11 +320,12 @@ public class WatchQueueReader implements Runnable {
                                     }
 
                                     services.forEach(service -> forgetChecksum(service, resolvedPath));
-                                    notifications.forEach(notification -> {
-                                        if (notification.path.equals(resolvedPath)) {
-                                            notification.future.cancel(true);
-                                            notifications.remove(notification);
+                                    notifications.values().removeIf(notification -> {
+                                        if (notification.key.path.equals(resolvedPath)) {
+                                            notification.cancel();
+                                            return true;
                                         }
+                                        return false;
                                     });
                                 }
                             }
@@ -348,35 +367,53 @@ public class WatchQueueReader implements Runnable {
         synchronized (notifications) {
             for (AbstractWatchService service : services) {
                 logger.trace("Modification event for {} ", resolvedPath);
-                removeScheduledNotifications(key, service, resolvedPath);
-                ScheduledFuture<?> future = scheduler.schedule(() -> {
+                NotificationKey notificationKey = new NotificationKey(key, service, resolvedPath);
+                Notification notification = new Notification(notificationKey);
+                Notification previousNotification = notifications.put(notificationKey, notification);
+                if (previousNotification != null) {
+                    previousNotification.cancel();
+                }
+                notification.future = scheduler.schedule(() -> {
                     logger.trace("Executing job for {}", resolvedPath);
-                    if (removeScheduledNotifications(key, service, resolvedPath)) {
+                    if (notifications.remove(notificationKey, notification)) {
                         logger.trace("Job removed itself for {}", resolvedPath);
                     } else {
                         logger.trace("Job couldn't find itself for {}", resolvedPath);
                     }
-                    if (checkAndTrackContent(service, resolvedPath)) {
-                        service.processWatchEvent(event, event.kind(), resolvedPath);
-                    } else {
-                        logger.trace("File content '{}' has not changed, skipping modification event", resolvedPath);
-                    }
+                    dispatch(service, () -> {
+                        if (checkAndTrackContent(service, resolvedPath)) {
+                            service.processWatchEvent(event, event.kind(), resolvedPath);
+                        } else {
+                            logger.trace("File content '{}' has not changed, skipping modification event",
+                                    resolvedPath);
+                        }
+                    });
                 }, PROCESSING_DELAY, TimeUnit.MILLISECONDS);
                 logger.trace("Scheduled processing of {}", resolvedPath);
-                notifications.add(new Notification(key, service, resolvedPath, future));
             }
         }
     }
 
-    private boolean removeScheduledNotifications(WatchKey key, AbstractWatchService service, Path path) {
-        Set<Notification> notifications = this.notifications.stream().filter(f -> f.matches(key, service, path))
-                .collect(Collectors.toSet());
-        if (notifications.size() > 1) {
-            logger.warn("Found more than one notification for {} / {} / {}. This is a bug.", key, service, path);
-        }
-        notifications.forEach(notification -> notification.future.cancel(true));
-        this.notifications.removeAll(notifications);
-        return !notifications.isEmpty();
+    /**
+     * Process an event of a service in the thread pool.
+     *
+     * Events of different services are processed in parallel, the events of a single service are processed in the
+     * order they were dispatched.
+     *
+     * @param service the service that processes the event
+     * @param task the processing task
+     */
+    private void dispatch(AbstractWatchService service, Runnable task) {
+        Runnable safeTask = () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Processing a watch event for '{}' failed: {}", service.getSourcePath(), e.getMessage(),
+                        e);
+            }
+        };
+        serviceQueues.compute(service, (s, queue) -> queue == null ? CompletableFuture.runAsync(safeTask, scheduler)
+                : queue.thenRunAsync(safeTask, scheduler));
     }
 
     private @Nullable Path resolvePath(WatchKey key, WatchEvent<?> event) {
@@ -403,20 +440,16 @@ public class WatchQueueReader implements Runnable {
     }
 
     private byte @Nullable [] hash(Path path) {
+        hashCount.incrementAndGet();
         try {
             MessageDigest digester = MessageDigest.getInstance("SHA-256");
-            if (!Files.exists(path)) {
-                return null;
-            }
+            // the file is streamed, so large files are not loaded into memory
             try (InputStream is = Files.newInputStream(path)) {
-                byte[] buffer = new byte[4069];
+                byte[] buffer = new byte[HASH_BUFFER_SIZE];
                 int read;
-                do {
-                    read = is.read(buffer);
-                    if (read > 0) {
-                        digester.update(buffer, 0, read);
-                    }
-                } while (read != -1);
+                while ((read = is.read(buffer)) != -1) {
+                    digester.update(buffer, 0, read);
+                }
             }
             return digester.digest();
         } catch (NoSuchAlgorithmException | IOException e) {
@@ -426,47 +459,80 @@ public class WatchQueueReader implements Runnable {
     }
 
     /**
-     * Calculate a checksum of the given file and report back whether it has changed since the last time.
+     * Check whether the content of the given file has changed since the last time and track its state.
+     *
+     * The size and modification time of the file are compared first. The content is only hashed if one of them changed
+     * (or the modification time is too recent to be trusted).
      *
      * @param service the service determining the scope
      * @param resolvedPath the file path
      * @return {@code true} if the file content has changed since the last call to this method
      */
-    private boolean checkAndTrackContent(AbstractWatchService service, Path resolvedPath) {
+    boolean checkAndTrackContent(AbstractWatchService service, Path resolvedPath) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(resolvedPath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            logger.debug("Error reading the attributes of file {}", resolvedPath, e);
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Map<Path, FileState> serviceFileStates = Objects
+                .requireNonNull(fileStates.computeIfAbsent(service, s -> new ConcurrentHashMap<>()));
+        FileState oldState = serviceFileStates.get(resolvedPath);
+
+        if (oldState != null && oldState.size == size && oldState.lastModified == lastModified
+                && oldState.checked - lastModified > MODIFICATION_TIME_RESOLUTION) {
+            // neither size nor modification time changed since a check that was made after the file was written
+            return false;
+        }
         byte[] newHash = hash(resolvedPath);
         if (newHash == null) {
+            serviceFileStates.remove(resolvedPath);
             return true;
         }
-        Map<Path, byte[]> keyHashes = Objects.requireNonNull(hashes.computeIfAbsent(service, s -> new HashMap<>()));
-        byte[] oldHash = keyHashes.put(resolvedPath, newHash);
-        return oldHash == null || !Arrays.equals(oldHash, newHash);
+        serviceFileStates.put(resolvedPath, new FileState(size, lastModified, now, newHash));
+        return oldState == null || !Arrays.equals(oldState.hash, newHash);
     }
 
     private void forgetChecksum(AbstractWatchService service, Path resolvedPath) {
-        Map<Path, byte[]> keyHashes = hashes.get(service);
-        if (keyHashes != null) {
-            keyHashes.remove(resolvedPath);
+        Map<Path, FileState> serviceFileStates = fileStates.get(service);
+        if (serviceFileStates != null) {
+            serviceFileStates.remove(resolvedPath);
         }
     }
 
     /**
-     * The {@link Notification} stores the information of a single notification
+     * The {@link FileState} stores the last known state of a file
      */
-    private static class Notification {
+    private static class FileState {
+        public final long size;
+        public final long lastModified;
+        public final long checked;
+        public final byte[] hash;
+
+        private FileState(long size, long lastModified, long checked, byte[] hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checked = checked;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * The {@link NotificationKey} identifies the pending notification of a service for a single file
+     */
+    private static class NotificationKey {
         public final WatchKey key;
         public final AbstractWatchService service;
         public final Path path;
-        public final ScheduledFuture<?> future;
 
-        private Notification(WatchKey key, AbstractWatchService service, Path path, ScheduledFuture<?> future) {
+        private NotificationKey(WatchKey key, AbstractWatchService service, Path path) {
             this.key = key;
             this.service = service;
             this.path = path;
-            this.future = future;
-        }
-
-        public boolean matches(WatchKey key, AbstractWatchService service, Path path) {
-            return this.key.equals(key) && this.service.equals(service) && this.path.equals(path);
         }
 
         @Override
@@ -475,14 +541,33 @@ public class WatchQueueReader implements Runnable {
                 return true;
             if (o == null || getClass() != o.getClass())
                 return false;
-            Notification notification = (Notification) o;
-            return key.equals(notification.key) && service.equals(notification.service)
-                    && path.equals(notification.path) && future.equals(notification.future);
+            NotificationKey notificationKey = (NotificationKey) o;
+            return key.equals(notificationKey.key) && service.equals(notificationKey.service)
+                    && path.equals(notificationKey.path);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(key, service, path, future);
+            return Objects.hash(key, service, path);
+        }
+    }
+
+    /**
+     * The {@link Notification} stores the information of a single notification
+     */
+    private static class Notification {
+        public final NotificationKey key;
+        public volatile @Nullable ScheduledFuture<?> future;
+
+        private Notification(NotificationKey key) {
+            this.key = key;
+        }
+
+        public void cancel() {
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
         }
     }
 }
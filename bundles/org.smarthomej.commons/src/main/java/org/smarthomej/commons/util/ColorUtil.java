@@ -12,6 +12,8 @@
  */
 package org.smarthomej.commons.util;
 
+import java.util.function.DoubleUnaryOperator;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
@@ -31,6 +33,12 @@ public class ColorUtil {
     public static final Gamut DEFAULT_GAMUT = new Gamut(new double[] { 0.9961, 0.0001 }, new double[] { 0, 0.9961 },
             new double[] { 0, 0.0001 });
 
+    // gamma correction tables for values between 0.0 and 1.0, values in between are interpolated linearly
+    private static final int TABLE_SIZE = 4096;
+    private static final double[] INVERSE_COMPAND_TABLE = createTable(ColorUtil::inverseCompand);
+    private static final double[] COMPAND_TABLE = createTable(ColorUtil::compand);
+    private static final ThreadLocal<double[]> POINT_BUFFER = ThreadLocal.withInitial(() -> new double[2]);
+
     private ColorUtil() {
         // prevent instantiation
     }
@@ -61,24 +69,54 @@ public class ColorUtil {
      * @return double array with the closest matching CIE 1931 colour, x, y, Y between 0.0000 and 1.0000.
      */
     public static double[] hsbToXY(HSBType hsbType, Gamut gamut) {
-        double r = inverseCompand(hsbType.getRed().doubleValue() / PercentType.HUNDRED.doubleValue());
-        double g = inverseCompand(hsbType.getGreen().doubleValue() / PercentType.HUNDRED.doubleValue());
-        double b = inverseCompand(hsbType.getBlue().doubleValue() / PercentType.HUNDRED.doubleValue());
+        double[] xyY = new double[3];
+        hsbToXY(hsbType, gamut, xyY);
+        return xyY;
+    }
+
+    /**
+     * Transform [sRGB](https://en.wikipedia.org/wiki/SRGB) {@link HSBType} to
+     * [CIE 1931](https://en.wikipedia.org/wiki/CIE_1931_color_space) `xy` without allocating a result array.
+     *
+     * @param hsbType a {@link HSBType} value
+     * @param xyY array of (at least) length 3 that receives x, y and Y between 0.0000 and 1.0000
+     */
+    public static void hsbToXY(HSBType hsbType, double[] xyY) {
+        hsbToXY(hsbType, DEFAULT_GAMUT, xyY);
+    }
+
+    /**
+     * Transform [sRGB](https://en.wikipedia.org/wiki/SRGB) {@link HSBType} to
+     * [CIE 1931](https://en.wikipedia.org/wiki/CIE_1931_color_space) `xy` without allocating a result array.
+     *
+     * @param hsbType a {@link HSBType} value
+     * @param gamut the gamut supported by the light.
+     * @param xyY array of (at least) length 3 that receives x, y and Y between 0.0000 and 1.0000
+     */
+    public static void hsbToXY(HSBType hsbType, Gamut gamut, double[] xyY) {
+        PercentType[] rgb = hsbType.toRGB();
+        double r = inverseCompandLookup(rgb[0].doubleValue() / PercentType.HUNDRED.doubleValue());
+        double g = inverseCompandLookup(rgb[1].doubleValue() / PercentType.HUNDRED.doubleValue());
+        double b = inverseCompandLookup(rgb[2].doubleValue() / PercentType.HUNDRED.doubleValue());
 
         double X = r * 0.664511 + g * 0.154324 + b * 0.162028;
         double Y = r * 0.283881 + g * 0.668433 + b * 0.047685;
         double Z = r * 0.000088 + g * 0.072310 + b * 0.986039;
 
         double sum = X + Y + Z;
-        Point p = sum == 0.0 ? new Point() : new Point(X / sum, Y / sum);
-        Point q = gamut.closest(p);
-
-        double[] xyY = new double[] { ((int) (q.x * 10000.0)) / 10000.0, ((int) (q.y * 10000.0)) / 10000.0,
-                ((int) (Y * 10000.0)) / 10000.0 };
+        if (sum == 0.0) {
+            gamut.closest(0.0, 0.0, xyY);
+        } else {
+            gamut.closest(X / sum, Y / sum, xyY);
+        }
 
-        LOGGER.trace("HSV: {} - RGB: {} - XYZ: {} {} {} - xyY: {}", hsbType, hsbType.toRGB(), X, Y, Z, xyY);
+        xyY[0] = ((int) (xyY[0] * 10000.0)) / 10000.0;
+        xyY[1] = ((int) (xyY[1] * 10000.0)) / 10000.0;
+        xyY[2] = ((int) (Y * 10000.0)) / 10000.0;
 
-        return xyY;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("HSV: {} - RGB: {} - XYZ: {} {} {} - xyY: {}", hsbType, rgb, X, Y, Z, xyY);
+        }
     }
 
     /**
@@ -107,11 +145,40 @@ public class ColorUtil {
      * @return the corresponding {@link HSBType}.
      */
     public static HSBType xyToHsv(double[] xy, Gamut gamut) {
-        Point p = gamut.closest(new Point(xy[0], xy[1]));
-        double x = p.x;
-        double y = p.y == 0.0 ? 0.000001 : p.y;
-        double z = 1.0 - x - y;
+        int[] rgb = new int[3];
+        xyToRgb(xy, gamut, rgb);
+        HSBType hsb = HSBType.fromRGB(rgb[0], rgb[1], rgb[2]);
+        LOGGER.trace("xy: {} - RGB: {} - HSB: {} ", xy, rgb, hsb);
+
+        return hsb;
+    }
+
+    /**
+     * Transform [CIE 1931](https://en.wikipedia.org/wiki/CIE_1931_color_space)
+     * `xy` to [sRGB](https://en.wikipedia.org/wiki/SRGB) without allocating a result array.
+     *
+     * @param xy the CIE 1931 xy colour, x,y between 0.0000 and 1.0000 (and optionally Y)
+     * @param rgb array of (at least) length 3 that receives r, g and b between 0 and 255
+     */
+    public static void xyToRgb(double[] xy, int[] rgb) {
+        xyToRgb(xy, DEFAULT_GAMUT, rgb);
+    }
+
+    /**
+     * Transform [CIE 1931](https://en.wikipedia.org/wiki/CIE_1931_color_space)
+     * `xy` to [sRGB](https://en.wikipedia.org/wiki/SRGB) without allocating a result array.
+     *
+     * @param xy the CIE 1931 xy colour, x,y between 0.0000 and 1.0000 (and optionally Y)
+     * @param gamut the gamut supported by the light.
+     * @param rgb array of (at least) length 3 that receives r, g and b between 0 and 255
+     */
+    public static void xyToRgb(double[] xy, Gamut gamut, int[] rgb) {
         double Y = (xy.length == 3) ? xy[2] : 1.0;
+        double[] p = POINT_BUFFER.get();
+        gamut.closest(xy[0], xy[1], p);
+        double x = p[0];
+        double y = p[1] == 0.0 ? 0.000001 : p[1];
+        double z = 1.0 - x - y;
         double X = (Y / y) * x;
         double Z = (Y / y) * z;
         double r = X * 1.656492 + Y * -0.354851 + Z * -0.255038;
@@ -134,9 +201,9 @@ public class ColorUtil {
             b /= max;
         }
 
-        r = compand(r);
-        g = compand(g);
-        b = compand(b);
+        r = compandLookup(r);
+        g = compandLookup(g);
+        b = compandLookup(b);
 
         // rescale
         max = Math.max(r, Math.max(g, b));
@@ -146,11 +213,9 @@ public class ColorUtil {
             b /= max;
         }
 
-        HSBType hsb = HSBType.fromRGB((int) Math.round(255.0 * r), (int) Math.round(255.0 * g),
-                (int) Math.round(255.0 * b));
-        LOGGER.trace("xy: {} - XYZ: {} {} {} - RGB: {} {} {} - HSB: {} ", xy, X, Y, Z, r, g, b, hsb);
-
-        return hsb;
+        rgb[0] = (int) Math.round(255.0 * r);
+        rgb[1] = (int) Math.round(255.0 * g);
+        rgb[2] = (int) Math.round(255.0 * b);
     }
 
     /**
@@ -159,10 +224,20 @@ public class ColorUtil {
      * @param value the value to process
      * @return the processed value
      */
-    private static double inverseCompand(double value) {
+    static double inverseCompand(double value) {
         return value > 0.04045 ? Math.pow((value + 0.055) / (1.0 + 0.055), 2.4) : value / 12.92;
     }
 
+    /**
+     * Gamma correction (inverse sRGB companding) with a lookup table
+     *
+     * @param value the value to process
+     * @return the processed value (deviation from {@link #inverseCompand(double)} is below 1E-6)
+     */
+    static double inverseCompandLookup(double value) {
+        return value >= 0.0 && value <= 1.0 ? lookup(INVERSE_COMPAND_TABLE, value) : inverseCompand(value);
+    }
+
     /**
      * Inverse Gamma correction (sRGB companding)
      *
@@ -173,71 +248,42 @@ public class ColorUtil {
         return value <= 0.0031308 ? 12.92 * value : (1.0 + 0.055) * Math.pow(value, (1.0 / 2.4)) - 0.055;
     }
 
-    private static class Point {
-        public final double x;
-        public final double y;
-
-        /**
-         * a default point with x/y = 0.0
-         */
-        public Point() {
-            this(0.0, 0.0);
-        }
-
-        /**
-         * a point with the given values
-         *
-         * @param x the x-value (between 0.0 and 1.0)
-         * @param y the y-value (between 0.0 and 1.0)
-         */
-        public Point(double x, double y) {
-            this.x = x;
-            this.y = y;
-        }
-
-        /**
-         * distance between this point and another point
-         *
-         * @param other the other point
-         *
-         * @return distance as double
-         */
-        public double distance(Point other) {
-            double dx = this.x - other.x;
-            double dy = this.y - other.y;
-            return Math.sqrt(dx * dx + dy * dy);
-        }
+    /**
+     * Inverse Gamma correction (sRGB companding) with a lookup table
+     *
+     * @param value the value to process
+     * @return the processed value (deviation from {@link #compand(double)} is below 1E-4)
+     */
+    static double compandLookup(double value) {
+        return value >= 0.0 && value <= 1.0 ? lookup(COMPAND_TABLE, value) : compand(value);
+    }
 
-        /**
-         * return the cross product of this tuple and the other tuple
-         *
-         * @param other the other point
-         * @return the cross product as double
-         */
-        public double crossProduct(Point other) {
-            return this.x * other.y - this.y * other.x;
+    private static double[] createTable(DoubleUnaryOperator function) {
+        double[] table = new double[TABLE_SIZE + 1];
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            table[i] = function.applyAsDouble((double) i / TABLE_SIZE);
         }
+        return table;
+    }
 
-        /**
-         * return point closest to this point on a line between a and b
-         *
-         * @param a point a
-         * @param b point b
-         * @return the point closest to this point on a-b
-         */
-        public Point closest(Point a, Point b) {
-            Point ap = new Point(this.x - a.x, this.y - a.y);
-            Point ab = new Point(b.x - a.x, b.y - a.y);
-            double t = Math.min(1.0, Math.max(0, (ap.x * ab.x + ap.y * ab.y) / (ab.x * ab.x + ab.y * ab.y)));
-
-            return new Point(a.x + t * ab.x, a.y + t * ab.y);
+    private static double lookup(double[] table, double value) {
+        double position = value * TABLE_SIZE;
+        int index = (int) position;
+        if (index >= TABLE_SIZE) {
+            return table[TABLE_SIZE];
         }
+        double fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
     }
 
     private static class Gamut {
-        public final double[] r;
-        public final double[] g;
-        public final double[] b;
+        private final double rx;
+        private final double ry;
+        private final double gx;
+        private final double gy;
+        private final double bx;
+        private final double by;
+        private final double v;
 
         /**
          * Colour [gamut](https://en.wikipedia.org/wiki/Gamut).
@@ -247,49 +293,78 @@ public class ColorUtil {
          * @param b double array with `xy` coordinates for blue, x, y between 0.0000 and 1.0000.
          */
         public Gamut(double[] r, double[] g, double[] b) {
-            this.r = r;
-            this.g = g;
-            this.b = b;
+            this.rx = r[0];
+            this.ry = r[1];
+            this.gx = g[0];
+            this.gy = g[1];
+            this.bx = b[0];
+            this.by = b[1];
+            this.v = crossProduct(gx - rx, gy - ry, bx - rx, by - ry);
         }
 
         /**
-         * return point in color gamut closest to a given point
+         * calculate the point in color gamut closest to a given point
          *
-         * @param p a color point
-         * @return the color point closest to {@param p} in this gamut
+         * @param px x-value of the color point
+         * @param py y-value of the color point
+         * @param result array of (at least) length 2 that receives the closest point
          */
-        public Point closest(Point p) {
-            Point r = new Point(this.r[0], this.r[1]);
-            Point g = new Point(this.g[0], this.g[1]);
-            Point b = new Point(this.b[0], this.b[1]);
-
-            Point v1 = new Point(g.x - r.x, g.y - r.y);
-            Point v2 = new Point(b.x - r.x, b.y - r.y);
-            Point q = new Point(p.x - r.x, p.y - r.y);
-            double v = v1.crossProduct(v2);
-            double s = q.crossProduct(v2) / v;
-            double t = v1.crossProduct(q) / v;
+        public void closest(double px, double py, double[] result) {
+            double qx = px - rx;
+            double qy = py - ry;
+            double s = crossProduct(qx, qy, bx - rx, by - ry) / v;
+            double t = crossProduct(gx - rx, gy - ry, qx, qy) / v;
             if (s >= 0.0 && t >= 0.0 && s + t <= 1.0) {
-                return p;
+                result[0] = px;
+                result[1] = py;
+                return;
             }
 
-            Point pRG = p.closest(r, g);
-            Point pGB = p.closest(g, b);
-            Point pBR = p.closest(b, r);
-            double dRG = p.distance(pRG);
-            double dGB = p.distance(pGB);
-            double dBR = p.distance(pBR);
-
-            double min = dRG;
-            Point retVal = pRG;
-            if (dGB < min) {
-                min = dGB;
-                retVal = pGB;
+            closest(px, py, rx, ry, gx, gy, result);
+            double minX = result[0];
+            double minY = result[1];
+            double min = distance(px, py, minX, minY);
+
+            closest(px, py, gx, gy, bx, by, result);
+            double d = distance(px, py, result[0], result[1]);
+            if (d < min) {
+                min = d;
+                minX = result[0];
+                minY = result[1];
             }
-            if (dBR < min) {
-                retVal = pBR;
+
+            closest(px, py, bx, by, rx, ry, result);
+            d = distance(px, py, result[0], result[1]);
+            if (d < min) {
+                minX = result[0];
+                minY = result[1];
             }
-            return retVal;
+            result[0] = minX;
+            result[1] = minY;
+        }
+
+        /**
+         * calculate the point closest to p on a line between a and b
+         */
+        private static void closest(double px, double py, double ax, double ay, double bx, double by,
+                double[] result) {
+            double apx = px - ax;
+            double apy = py - ay;
+            double abx = bx - ax;
+            double aby = by - ay;
+            double t = Math.min(1.0, Math.max(0, (apx * abx + apy * aby) / (abx * abx + aby * aby)));
+            result[0] = ax + t * abx;
+            result[1] = ay + t * aby;
+        }
+
+        private static double crossProduct(double ax, double ay, double bx, double by) {
+            return ax * by - ay * bx;
+        }
+
+        private static double distance(double ax, double ay, double bx, double by) {
+            double dx = ax - bx;
+            double dy = ay - by;
+            return Math.sqrt(dx * dx + dy * dy);
         }
     }
 }
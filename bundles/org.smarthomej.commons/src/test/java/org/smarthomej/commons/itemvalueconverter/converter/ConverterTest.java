@@ -13,6 +13,7 @@
  */
 package org.smarthomej.commons.itemvalueconverter.converter;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -190,6 +191,38 @@ public class ConverterTest {
         Mockito.verify(updateState).accept(new PercentType(67));
     }
 
+    @Test
+    public void dimmerItemConverter() {
+        ItemValueConverterChannelConfig cfg = new ItemValueConverterChannelConfig();
+        cfg.onValue = "ON";
+        cfg.offValue = "OFF";
+        cfg.increaseValue = "UP";
+        cfg.decreaseValue = "DOWN";
+        cfg.step = BigDecimal.TEN;
+        DimmerItemConverter converter = new DimmerItemConverter(updateState, postCommand, sendHttpValue,
+                NoOpValueTransformation.getInstance(), NoOpValueTransformation.getInstance(), cfg);
+
+        // fixed values
+        Assertions.assertEquals(Optional.of(PercentType.HUNDRED), converter.toState("ON"));
+        Assertions.assertEquals(Optional.of(new PercentType(90)), converter.toState("DOWN"));
+        Assertions.assertEquals(Optional.of(PercentType.HUNDRED), converter.toState("UP"));
+        Assertions.assertEquals(Optional.of(PercentType.ZERO), converter.toState("OFF"));
+        Assertions.assertEquals(Optional.of(PercentType.ZERO), converter.toState("DOWN"));
+
+        // numeric values
+        Assertions.assertEquals(Optional.of(new PercentType(42)), converter.toState("42"));
+        Assertions.assertEquals(Optional.of(new PercentType(new BigDecimal("12.5"))), converter.toState("12.5"));
+        Assertions.assertEquals(Optional.of(PercentType.HUNDRED), converter.toState("250"));
+        Assertions.assertEquals(Optional.of(PercentType.ZERO), converter.toState("-5"));
+
+        // no valid value
+        Assertions.assertEquals(Optional.of(UnDefType.UNDEF), converter.toState("foo"));
+        Assertions.assertEquals(Optional.of(UnDefType.UNDEF), converter.toState(""));
+
+        // increase without previous state
+        Assertions.assertEquals(Optional.of(UnDefType.UNDEF), converter.toState("UP"));
+    }
+
     public GenericItemConverter createConverter(Function<String, State> fcn) {
         return new GenericItemConverter(fcn, updateState, postCommand, sendHttpValue,
                 NoOpValueTransformation.getInstance(), NoOpValueTransformation.getInstance(),
@@ -26,6 +26,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchEvent.Kind;
+import java.nio.file.attribute.FileTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -192,6 +193,32 @@ public class AbstractWatchServiceTest extends JavaTest {
         assertNoEventsAreProcessed(watchService);
     }
 
+    @Test
+    public void testUnchangedFileIsNotHashedAgain() throws Exception {
+        RelativeWatchService watchService = new RelativeWatchService(WATCHED_DIRECTORY, true);
+        this.watchService = watchService;
+        WatchQueueReader watchQueueReader = watchService.watchQueueReader;
+
+        // modification events are processed with a delay, so the file was written some time before the check
+        Path file = Paths.get(WATCHED_DIRECTORY, "unchangedFile");
+        Files.writeString(file, "content");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 2000));
+
+        long hashCount = watchQueueReader.getHashCount();
+        assertThat(watchQueueReader.checkAndTrackContent(watchService, file), is(true));
+        assertThat(watchQueueReader.getHashCount(), is(hashCount + 1));
+
+        // neither size nor modification time changed
+        assertThat(watchQueueReader.checkAndTrackContent(watchService, file), is(false));
+        assertThat(watchQueueReader.getHashCount(), is(hashCount + 1));
+
+        // same size but a new modification time
+        Files.writeString(file, "changed");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 1000));
+        assertThat(watchQueueReader.checkAndTrackContent(watchService, file), is(true));
+        assertThat(watchQueueReader.getHashCount(), is(hashCount + 2));
+    }
+
     private void assertNoEventsAreProcessed(RelativeWatchService watchService) throws Exception {
         // Wait for a possible event for the maximum timeout
         Thread.sleep(noEventTimeoutInSeconds * 1000);
@@ -12,11 +12,14 @@
  */
 package org.smarthomej.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -49,4 +52,28 @@ public class ColorUtilTest {
         assertTrue(deltaSat <= 1.0);
         assertTrue(deltaBri <= 1.0);
     }
+
+    @ParameterizedTest
+    @MethodSource("colors")
+    public void bufferVariantTest(HSBType hsb) {
+        double[] xyY = new double[3];
+        ColorUtil.hsbToXY(hsb, xyY);
+        assertArrayEquals(ColorUtil.hsbToXY(hsb), xyY);
+
+        int[] rgb = new int[3];
+        ColorUtil.xyToRgb(xyY, rgb);
+        assertEquals(ColorUtil.xyToHsv(xyY), HSBType.fromRGB(rgb[0], rgb[1], rgb[2]));
+    }
+
+    @Test
+    public void lookupAccuracyTest() {
+        for (int i = 0; i <= 100000; i++) {
+            double value = i / 100000.0;
+            assertEquals(ColorUtil.inverseCompand(value), ColorUtil.inverseCompandLookup(value), 1E-6);
+            assertEquals(ColorUtil.compand(value), ColorUtil.compandLookup(value), 1E-4);
+        }
+        // values outside the table are calculated
+        assertEquals(ColorUtil.compand(1.5), ColorUtil.compandLookup(1.5));
+        assertEquals(ColorUtil.inverseCompand(-0.1), ColorUtil.inverseCompandLookup(-0.1));
+    }
 }